@@ -0,0 +1,63 @@
+#!/usr/bin/env bash
+#
+# Compara el arranque y la memoria de la aplicación en la JVM y como imagen nativa.
+#
+#   mvn -DskipTests package                       -> target/SpringTokensUniverse-*.jar
+#   mvn -Pnative native:compile -DskipTests       -> target/spring-tokens-universe
+#   scripts/compare-startup.sh [repeticiones] [argumentos de la aplicación...]
+#
+# Cada arranque se mide desde que se lanza el proceso hasta que /actuator/health responde UP, y después se lee
+# VmRSS de /proc/<pid>/status (solo Linux). Los dos binarios reciben los mismos argumentos, por ejemplo
+# --spring.datasource.url=... para apuntar a otra base de datos. El tiempo que informa Spring Boot en el log
+# ("Started ... in") y la métrica application.ready.time no incluyen el arranque de la JVM; este script sí.
+#
+set -euo pipefail
+
+ROOT="$(cd "$(dirname "$0")/.." && pwd)"
+RUNS="${1:-5}"
+shift || true
+PORT="${PORT:-8081}"
+JAR="$(ls "$ROOT"/target/SpringTokensUniverse-*.jar 2>/dev/null | head -n 1 || true)"
+NATIVE="$ROOT/target/spring-tokens-universe"
+
+[[ -n "$JAR" ]] || { echo "No se encuentra el jar: mvn -DskipTests package" >&2; exit 1; }
+[[ -x "$NATIVE" ]] || { echo "No se encuentra la imagen nativa: mvn -Pnative native:compile -DskipTests" >&2; exit 1; }
+
+now_ms() {
+    date +%s%3N
+}
+
+# Arranca el comando, espera a /actuator/health y escribe "milisegundos rss_kb".
+measure() {
+    local start pid rss
+    start="$(now_ms)"
+    "$@" --server.port="$PORT" > /dev/null 2>&1 &
+    pid=$!
+    until curl -sf "http://localhost:$PORT/actuator/health" | grep -q '"UP"'; do
+        if ! kill -0 "$pid" 2> /dev/null; then
+            echo "La aplicación terminó antes de arrancar: $*" >&2
+            exit 1
+        fi
+        sleep 0.01
+    done
+    local elapsed=$(( $(now_ms) - start ))
+    rss="$(awk '/VmRSS/ {print $2}' "/proc/$pid/status")"
+    kill "$pid"
+    wait "$pid" 2> /dev/null || true
+    echo "$elapsed $rss"
+}
+
+report() {
+    local name="$1"
+    shift
+    local total_ms=0 total_rss=0 result
+    for ((run = 1; run <= RUNS; run++)); do
+        result="$(measure "$@")"
+        total_ms=$(( total_ms + ${result% *} ))
+        total_rss=$(( total_rss + ${result#* } ))
+    done
+    printf '%-8s arranque medio: %6d ms   RSS medio: %7d MB\n' "$name" $(( total_ms / RUNS )) $(( total_rss / RUNS / 1024 ))
+}
+
+report "jvm" java -jar "$JAR" "$@"
+report "native" "$NATIVE" "$@"
@@ -0,0 +1,106 @@
+package com.universe.benchmark;
+
+import com.universe.config.security.authority.AuthorityRegistry;
+import com.universe.config.security.authority.AuthoritySet;
+import com.universe.config.security.authority.CompactAuthorityCodec;
+import com.universe.config.security.authority.InternedAuthorityAuthorizationManager;
+import com.universe.config.security.authority.JwtAuthentication;
+import com.universe.service.UserDetailServiceImpl;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.authorization.AuthorityAuthorizationManager;
+import org.springframework.security.authorization.AuthorizationDecision;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Compara las formas de convertir el claim de autoridades en objetos GrantedAuthority
+ * (AuthorityUtils, AuthorityRegistry.intern y el claim compacto) y de comprobar una autoridad
+ * (AuthorityAuthorizationManager recorriendo la lista frente a InternedAuthorityAuthorizationManager consultando un bit).
+ * @author Jose Navarro
+ * @version 1.0.0
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@State(Scope.Benchmark)
+public class AuthorityParsingBenchmark {
+
+    private ConfigurableApplicationContext context;
+
+    private AuthorityRegistry authorityRegistry;
+
+    private CompactAuthorityCodec compactAuthorityCodec;
+
+    private String authoritiesClaim;
+
+    private String compactAuthoritiesClaim;
+
+    private AuthorityAuthorizationManager<Object> authorityListManager;
+
+    private InternedAuthorityAuthorizationManager<Object> authoritySetManager;
+
+    private Authentication listAuthentication;
+
+    private Authentication setAuthentication;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        this.context = BenchmarkApplication.start(WebApplicationType.NONE);
+        BenchmarkApplication.createUser(this.context);
+
+        this.authorityRegistry = this.context.getBean(AuthorityRegistry.class);
+        this.compactAuthorityCodec = this.context.getBean(CompactAuthorityCodec.class);
+
+        UserDetails userDetails = this.context.getBean(UserDetailServiceImpl.class).loadUserByUsername(BenchmarkApplication.USERNAME);
+        this.authoritiesClaim = userDetails.getAuthorities().stream().map(GrantedAuthority::getAuthority).collect(Collectors.joining(","));
+        AuthoritySet authoritySet = this.authorityRegistry.internGrantedAuthorities(userDetails.getAuthorities());
+        this.compactAuthoritiesClaim = this.compactAuthorityCodec.encode(authoritySet);
+
+        this.authorityListManager = AuthorityAuthorizationManager.hasAuthority("DELETE");
+        this.authoritySetManager = this.authorityRegistry.hasAuthority("DELETE");
+        this.listAuthentication = new UsernamePasswordAuthenticationToken(BenchmarkApplication.USERNAME, null,
+                AuthorityUtils.commaSeparatedStringToAuthorityList(this.authoritiesClaim));
+        this.setAuthentication = new JwtAuthentication(BenchmarkApplication.USERNAME, authoritySet, "benchmark", Instant.MAX);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        this.context.close();
+    }
+
+    @Benchmark
+    public List<GrantedAuthority> parseWithAuthorityUtils() {
+        return AuthorityUtils.commaSeparatedStringToAuthorityList(this.authoritiesClaim);
+    }
+
+    @Benchmark
+    public AuthoritySet parseWithRegistry() {
+        return this.authorityRegistry.intern(this.authoritiesClaim);
+    }
+
+    @Benchmark
+    public AuthoritySet parseCompactClaim() {
+        return this.compactAuthorityCodec.decode(this.compactAuthoritiesClaim);
+    }
+
+    @Benchmark
+    public AuthorizationDecision authorizeWithAuthorityList() {
+        return this.authorityListManager.check(() -> this.listAuthentication, this);
+    }
+
+    @Benchmark
+    public AuthorizationDecision authorizeWithAuthoritySet() {
+        return this.authoritySetManager.check(() -> this.setAuthentication, this);
+    }
+}
@@ -0,0 +1,93 @@
+package com.universe.benchmark;
+
+import com.universe.config.security.EndpointAuthorizationRules.EndpointRule;
+import com.universe.config.security.authority.AuthorityRegistry;
+import com.universe.config.security.authority.JwtAuthentication;
+import com.universe.config.security.authorization.AuthorizationRuleTable;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.http.HttpMethod;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.security.authorization.AuthorityAuthorizationManager;
+import org.springframework.security.authorization.AuthorizationDecision;
+import org.springframework.security.authorization.AuthorizationManager;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.web.access.intercept.RequestAuthorizationContext;
+import org.springframework.security.web.access.intercept.RequestMatcherDelegatingAuthorizationManager;
+import org.springframework.security.web.util.matcher.AntPathRequestMatcher;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compara la autorización de una petición con 1000 reglas: RequestMatcherDelegatingAuthorizationManager prueba los
+ * AntPathRequestMatcher uno a uno en orden de declaración, AuthorizationRuleTable recorre el trie segmento a segmento.
+ * late_match coincide con la última regla declarada y no_match no coincide con ninguna (el peor caso para la lista).
+ * @author Jose Navarro
+ * @version 1.0.0
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@State(Scope.Benchmark)
+public class AuthorizationRuleTableBenchmark {
+
+    private static final int RULES = 1000;
+
+    @Param({"late_match", "no_match"})
+    private String path;
+
+    private ConfigurableApplicationContext context;
+
+    private AuthorizationRuleTable ruleTable;
+
+    private RequestMatcherDelegatingAuthorizationManager sequentialManager;
+
+    private Authentication authentication;
+
+    private MockHttpServletRequest request;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        this.context = BenchmarkApplication.start(WebApplicationType.NONE);
+        AuthorityRegistry authorityRegistry = this.context.getBean(AuthorityRegistry.class);
+
+        List<EndpointRule> endpointRules = new ArrayList<>(RULES);
+        RequestMatcherDelegatingAuthorizationManager.Builder builder = RequestMatcherDelegatingAuthorizationManager.builder();
+        for (int i = 0; i < RULES; i++) {
+            String pattern = "/api/v1/resource-" + i + "/{id}/items/**";
+            endpointRules.add(new EndpointRule(HttpMethod.GET, pattern, "READ"));
+            AuthorizationManager<RequestAuthorizationContext> authorityManager = AuthorityAuthorizationManager.hasAuthority("READ");
+            builder.add(new AntPathRequestMatcher(pattern, HttpMethod.GET.name()), authorityManager);
+        }
+        this.ruleTable = AuthorizationRuleTable.compile(endpointRules, authorityRegistry);
+        this.sequentialManager = builder.build();
+
+        this.authentication = new JwtAuthentication(BenchmarkApplication.USERNAME, authorityRegistry.intern("READ"), "benchmark", Instant.MAX);
+        String requestPath = "late_match".equals(this.path)
+                ? "/api/v1/resource-" + (RULES - 1) + "/42/items/7"
+                : "/api/v2/unknown/42";
+        this.request = new MockHttpServletRequest(HttpMethod.GET.name(), requestPath);
+        this.request.setServletPath(requestPath);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        this.context.close();
+    }
+
+    @Benchmark
+    public AuthorizationDecision sequentialMatchers() {
+        return this.sequentialManager.check(() -> this.authentication, this.request);
+    }
+
+    @Benchmark
+    public boolean ruleTable() {
+        AuthorizationRuleTable.Rule rule = this.ruleTable.lookup(this.request.getMethod(), this.request.getRequestURI());
+        return rule != null && rule.isGranted(this.authentication);
+    }
+}
@@ -0,0 +1,58 @@
+package com.universe.benchmark;
+
+import com.universe.SpringTokensUniverseApplication;
+import com.universe.controller.dto.AuthCreateRoleRequest;
+import com.universe.controller.dto.AuthCreateUserRequest;
+import com.universe.controller.dto.AuthResponse;
+import com.universe.service.UserDetailServiceImpl;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Arranca la aplicación real para los benchmarks, contra una base de datos H2 en memoria (una por arranque)
+ * y sin el log de SQL. Las propiedades se pasan como argumentos de línea de comandos para que tengan prioridad
+ * sobre application.properties.
+ * El límite de intentos de login se desactiva, porque todos los logins usan el mismo usuario y la misma dirección.
+ * Los benchmarks que no necesitan HTTP la arrancan sin servidor web (WebApplicationType.NONE).
+ * @author Jose Navarro
+ * @version 1.0.0
+ */
+public final class BenchmarkApplication {
+
+    public static final String USERNAME = "benchmark";
+
+    public static final String PASSWORD = "benchmark-password";
+
+    private BenchmarkApplication() {
+    }
+
+    public static ConfigurableApplicationContext start(WebApplicationType webApplicationType, String... properties) {
+        List<String> arguments = new ArrayList<>(List.of(
+                "spring.datasource.url=jdbc:h2:mem:" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1",
+                "spring.datasource.driver-class-name=org.h2.Driver",
+                "spring.datasource.username=sa",
+                "spring.datasource.password=",
+                "spring.jpa.show-sql=false",
+                "spring.main.banner-mode=off",
+                "security.login.rate-limit.enabled=false",
+                "logging.level.root=WARN"));
+        arguments.addAll(List.of(properties));
+
+        return new SpringApplicationBuilder(SpringTokensUniverseApplication.class)
+                .web(webApplicationType)
+                .run(arguments.stream().map("--"::concat).toArray(String[]::new));
+    }
+
+    /**
+     * Crea el usuario de los benchmarks (rol ADMIN, todos los permisos) y devuelve la respuesta del registro con su token.
+     */
+    public static AuthResponse createUser(ConfigurableApplicationContext context) {
+        return context.getBean(UserDetailServiceImpl.class)
+                .createUser(new AuthCreateUserRequest(USERNAME, PASSWORD, new AuthCreateRoleRequest(List.of("ADMIN"))));
+    }
+}
@@ -0,0 +1,65 @@
+package com.universe.benchmark;
+
+import com.auth0.jwt.JWT;
+import com.auth0.jwt.algorithms.Algorithm;
+import com.auth0.jwt.interfaces.DecodedJWT;
+import com.universe.util.PrototypeHmacAlgorithm;
+import org.openjdk.jmh.annotations.*;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compara la firma y la verificación HMAC de Algorithm.HMAC256 (un Mac nuevo por operación)
+ * con PrototypeHmacAlgorithm (un clon de un Mac ya inicializado), sin el coste de construir el JSON del token.
+ * @author Jose Navarro
+ * @version 1.0.0
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@State(Scope.Benchmark)
+public class HmacAlgorithmBenchmark {
+
+    private static final String SECRET = "benchmark-secret-benchmark-secret-benchmark-secret";
+
+    @Param({"auth0", "prototype"})
+    public String implementation;
+
+    private Algorithm algorithm;
+
+    private byte[] headerBytes;
+
+    private byte[] payloadBytes;
+
+    private DecodedJWT decodedJWT;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        this.algorithm = "auth0".equals(this.implementation)
+                ? Algorithm.HMAC256(SECRET)
+                : PrototypeHmacAlgorithm.hmac256(SECRET);
+
+        String token = JWT.create()
+                .withIssuer("AUTH0JWT-BACKEND")
+                .withSubject(BenchmarkApplication.USERNAME)
+                .withClaim("authorities", "ROLE_ADMIN,CREATE,READ,UPDATE,DELETE")
+                .sign(this.algorithm);
+        this.decodedJWT = JWT.decode(token);
+        this.headerBytes = Base64.getUrlEncoder().withoutPadding().encode(this.decodedJWT.getHeader().getBytes(StandardCharsets.UTF_8));
+        this.payloadBytes = Base64.getUrlEncoder().withoutPadding().encode(this.decodedJWT.getPayload().getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Benchmark
+    public byte[] sign() {
+        return this.algorithm.sign(this.headerBytes, this.payloadBytes);
+    }
+
+    @Benchmark
+    public DecodedJWT verify() {
+        this.algorithm.verify(this.decodedJWT);
+        return this.decodedJWT;
+    }
+}
@@ -0,0 +1,98 @@
+package com.universe.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Prueba de carga HTTP de /auth/log-in y /method/get con 64 clientes concurrentes,
+ * para comparar las latencias (percentiles de SampleTime) de cada modo de ejecución:
+ * servlet con el pool de hilos de Tomcat, servlet con hilos virtuales (perfil virtual-threads, requiere Java 21)
+ * y la variante reactiva (perfil reactive, WebFlux sobre Reactor Netty).
+ * El modo virtual-threads falla en una JVM anterior a Java 21, donde Spring ignora spring.threads.virtual.enabled
+ * y se estarían midiendo hilos de plataforma.
+ * Solo se acepta la respuesta 200: un 503 (pool de hashing saturado) es un rechazo rápido que bajaría los percentiles del login,
+ * así que detiene la prueba. Con los 64 clientes nunca hay más peticiones pendientes que security.password.hashing.queue-capacity.
+ * @author Jose Navarro
+ * @version 1.0.0
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 10)
+@Threads(64)
+@State(Scope.Benchmark)
+public class HttpLoadBenchmark {
+
+    @Param({"servlet", "virtual-threads", "reactive"})
+    public String mode;
+
+    private ConfigurableApplicationContext context;
+
+    private HttpClient httpClient;
+
+    private HttpRequest methodGetRequest;
+
+    private HttpRequest loginRequest;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        if ("virtual-threads".equals(this.mode) && Runtime.version().feature() < 21) {
+            throw new IllegalStateException("The virtual-threads mode requires Java 21, this JVM is " + Runtime.version());
+        }
+        WebApplicationType webApplicationType = "reactive".equals(this.mode) ? WebApplicationType.REACTIVE : WebApplicationType.SERVLET;
+        String profile = "servlet".equals(this.mode) ? "default" : this.mode;
+
+        this.context = BenchmarkApplication.start(webApplicationType, "server.port=0", "spring.profiles.active=" + profile);
+        String token = BenchmarkApplication.createUser(this.context).jwt();
+        URI baseUri = URI.create("http://localhost:" + this.context.getEnvironment().getProperty("local.server.port"));
+
+        this.httpClient = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(5)).build();
+        this.methodGetRequest = HttpRequest.newBuilder(baseUri.resolve("/method/get"))
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + token)
+                .GET()
+                .build();
+        this.loginRequest = HttpRequest.newBuilder(baseUri.resolve("/auth/log-in"))
+                .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                .POST(HttpRequest.BodyPublishers.ofString("{\"username\":\"" + BenchmarkApplication.USERNAME
+                        + "\",\"password\":\"" + BenchmarkApplication.PASSWORD + "\"}"))
+                .build();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        this.context.close();
+    }
+
+    @Benchmark
+    public int methodGet() throws IOException, InterruptedException {
+        return this.send(this.methodGetRequest);
+    }
+
+    @Benchmark
+    public int login() throws IOException, InterruptedException {
+        return this.send(this.loginRequest);
+    }
+
+    private int send(HttpRequest request) throws IOException, InterruptedException {
+        HttpResponse<Void> response = this.httpClient.send(request, HttpResponse.BodyHandlers.discarding());
+        if (response.statusCode() == 503) {
+            throw new IllegalStateException(request.uri() + " was rejected by the password hashing pool; "
+                    + "use fewer client threads or a larger security.password.hashing.queue-capacity");
+        }
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException(request.uri() + " returned " + response.statusCode());
+        }
+        return response.statusCode();
+    }
+}
@@ -0,0 +1,90 @@
+package com.universe.benchmark;
+
+import com.auth0.jwt.interfaces.DecodedJWT;
+import com.universe.config.security.authority.AuthoritySet;
+import com.universe.service.UserDetailServiceImpl;
+import com.universe.util.JwtUtils;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.spec.ECGenParameterSpec;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mide JwtUtils.createToken y JwtUtils.validateToken con cada algoritmo de firma (HS256, RS256, ES256)
+ * y con el claim de autoridades clásico o compacto (security.jwt.authorities.compact).
+ * @author Jose Navarro
+ * @version 1.0.0
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@State(Scope.Benchmark)
+public class JwtTokenBenchmark {
+
+    @Param({"HS256", "RS256", "ES256"})
+    public String signingAlgorithm;
+
+    @Param({"false", "true"})
+    public String compactAuthorities;
+
+    private ConfigurableApplicationContext context;
+
+    private JwtUtils jwtUtils;
+
+    private Authentication authentication;
+
+    private String token;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        List<String> properties = new ArrayList<>(List.of(
+                "security.jwt.signing.algorithm=" + this.signingAlgorithm,
+                "security.jwt.authorities.compact=" + this.compactAuthorities));
+        if ("ES256".equals(this.signingAlgorithm)) {
+            KeyPairGenerator generator = KeyPairGenerator.getInstance("EC");
+            generator.initialize(new ECGenParameterSpec("secp256r1"));
+            KeyPair keyPair = generator.generateKeyPair();
+            properties.add("security.jwt.key.private=" + Base64.getEncoder().encodeToString(keyPair.getPrivate().getEncoded()));
+            properties.add("security.jwt.key.public=" + Base64.getEncoder().encodeToString(keyPair.getPublic().getEncoded()));
+        }
+
+        this.context = BenchmarkApplication.start(WebApplicationType.NONE, properties.toArray(String[]::new));
+        BenchmarkApplication.createUser(this.context);
+
+        UserDetails userDetails = this.context.getBean(UserDetailServiceImpl.class).loadUserByUsername(BenchmarkApplication.USERNAME);
+        this.authentication = new UsernamePasswordAuthenticationToken(userDetails.getUsername(), null, userDetails.getAuthorities());
+        this.jwtUtils = this.context.getBean(JwtUtils.class);
+        this.token = this.jwtUtils.createToken(this.authentication);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        this.context.close();
+    }
+
+    @Benchmark
+    public String createToken() {
+        return this.jwtUtils.createToken(this.authentication);
+    }
+
+    @Benchmark
+    public DecodedJWT validateToken() {
+        return this.jwtUtils.validateToken(this.token);
+    }
+
+    @Benchmark
+    public AuthoritySet validateTokenAndExtractAuthorities() {
+        return this.jwtUtils.extractAuthorities(this.jwtUtils.validateToken(this.token));
+    }
+}
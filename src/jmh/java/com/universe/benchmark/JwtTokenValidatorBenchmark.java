@@ -0,0 +1,83 @@
+package com.universe.benchmark;
+
+import com.universe.config.security.cache.VerifiedTokenCache;
+import com.universe.config.security.filter.JwtAuthenticationResolver;
+import com.universe.config.security.filter.JwtTokenValidator;
+import jakarta.servlet.FilterChain;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mide el camino completo de JwtTokenValidator.doFilterInternal para una petición con token:
+ * con la caché de tokens verificados caliente (warm) y sin ella (cold, se invalida la entrada antes de cada llamada),
+ * incluida la comprobación de revocación.
+ * @author Jose Navarro
+ * @version 1.0.0
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@State(Scope.Benchmark)
+public class JwtTokenValidatorBenchmark {
+
+    private static final FilterChain NO_OP_CHAIN = (request, response) -> {
+    };
+
+    @Param({"warm", "cold"})
+    public String cache;
+
+    private ConfigurableApplicationContext context;
+
+    private JwtTokenValidator jwtTokenValidator;
+
+    private VerifiedTokenCache verifiedTokenCache;
+
+    private String token;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        this.context = BenchmarkApplication.start(WebApplicationType.NONE);
+        this.token = BenchmarkApplication.createUser(this.context).jwt();
+        this.jwtTokenValidator = new JwtTokenValidator(this.context.getBean(JwtAuthenticationResolver.class));
+        this.verifiedTokenCache = this.context.getBean(VerifiedTokenCache.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        this.context.close();
+    }
+
+    @State(Scope.Thread)
+    public static class Exchange {
+
+        private MockHttpServletRequest request;
+
+        private MockHttpServletResponse response;
+
+        @Setup(Level.Trial)
+        public void setUp(JwtTokenValidatorBenchmark benchmark) {
+            this.request = new MockHttpServletRequest("GET", "/method/get");
+            this.request.addHeader(HttpHeaders.AUTHORIZATION, "Bearer " + benchmark.token);
+            this.response = new MockHttpServletResponse();
+        }
+    }
+
+    @Benchmark
+    public Object doFilter(Exchange exchange) throws Exception {
+        if ("cold".equals(this.cache)) {
+            this.verifiedTokenCache.invalidate(this.token);
+        }
+        this.jwtTokenValidator.doFilter(exchange.request, exchange.response, NO_OP_CHAIN);
+        Object authentication = SecurityContextHolder.getContext().getAuthentication();
+        SecurityContextHolder.clearContext();
+        return authentication;
+    }
+}
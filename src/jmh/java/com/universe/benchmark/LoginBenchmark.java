@@ -0,0 +1,76 @@
+package com.universe.benchmark;
+
+import com.universe.controller.dto.AuthLoginRequest;
+import com.universe.controller.dto.AuthResponse;
+import com.universe.service.UserDetailServiceImpl;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mide el login contra la base de datos H2 en memoria con distintos costes de BCrypt y con o sin la caché de UserDetails:
+ * authenticate (búsqueda del usuario y comparación de la contraseña) y loginUser (además emite el token de acceso y el refresh token).
+ * Con varios hilos (-t) muestra también el comportamiento del pool de hashing cuando se satura.
+ * @author Jose Navarro
+ * @version 1.0.0
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@State(Scope.Benchmark)
+public class LoginBenchmark {
+
+    @Param({"10", "12"})
+    public String bcryptStrength;
+
+    @Param({"caffeine", "none"})
+    public String userDetailsCache;
+
+    private ConfigurableApplicationContext context;
+
+    private UserDetailServiceImpl userDetailService;
+
+    private AuthLoginRequest loginRequest;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        this.context = BenchmarkApplication.start(WebApplicationType.NONE,
+                "security.password.bcrypt.strength=" + this.bcryptStrength,
+                "security.user-details.cache.type=" + this.userDetailsCache);
+        this.checkBcryptStrength();
+        BenchmarkApplication.createUser(this.context);
+        this.userDetailService = this.context.getBean(UserDetailServiceImpl.class);
+        this.loginRequest = new AuthLoginRequest(BenchmarkApplication.USERNAME, BenchmarkApplication.PASSWORD);
+    }
+
+    /**
+     * Falla si el PasswordEncoder no usa el coste del parámetro, para que una propiedad mal escrita no mida dos veces el mismo coste.
+     */
+    private void checkBcryptStrength() {
+        String hash = this.context.getBean(PasswordEncoder.class).encode(BenchmarkApplication.PASSWORD);
+        String expectedCost = String.format("$%02d$", Integer.parseInt(this.bcryptStrength));
+        if (!hash.contains(expectedCost)) {
+            throw new IllegalStateException("BCrypt strength " + this.bcryptStrength + " was not applied: " + hash.substring(0, Math.min(hash.length(), 16)));
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        this.context.close();
+    }
+
+    @Benchmark
+    public Authentication authenticate() {
+        return this.userDetailService.authenticate(BenchmarkApplication.USERNAME, BenchmarkApplication.PASSWORD);
+    }
+
+    @Benchmark
+    public AuthResponse loginUser() {
+        return this.userDetailService.loginUser(this.loginRequest, "127.0.0.1").join();
+    }
+}
@@ -0,0 +1,43 @@
+package com.universe.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mide el arranque completo de la aplicación contra H2 en memoria: migraciones de Flyway, validación del esquema de Hibernate,
+ * carga de las cachés al arrancar (UsernameNegativeCache, RoleMembershipIndex, RoleHierarchy...) y, con SERVLET, el arranque de Tomcat.
+ * Cada fork mide un único arranque (SingleShotTime) sin calentamiento, en una JVM nueva sin clases cargadas ni código compilado por el JIT:
+ * es el arranque en frío que se compara con startup.time-budget. El contexto se cierra fuera de la medida.
+ * @author Jose Navarro
+ * @version 1.0.0
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 0)
+@Measurement(iterations = 1)
+@Fork(15)
+@State(Scope.Benchmark)
+public class StartupBenchmark {
+
+    @Param({"NONE", "SERVLET"})
+    public WebApplicationType webApplicationType;
+
+    private ConfigurableApplicationContext context;
+
+    @TearDown(Level.Iteration)
+    public void tearDown() {
+        if (this.context != null) {
+            this.context.close();
+            this.context = null;
+        }
+    }
+
+    @Benchmark
+    public ConfigurableApplicationContext start() {
+        this.context = BenchmarkApplication.start(this.webApplicationType, "server.port=0");
+        return this.context;
+    }
+}
@@ -0,0 +1,73 @@
+package com.universe.benchmark;
+
+import com.universe.service.TokenRevocationService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mide el coste por petición de TokenRevocationService.isRevoked con la lista de revocación vacía o con muchas entradas:
+ * para un token no revocado (el caso común, lo resuelve el filtro de Bloom) y para uno revocado (se confirma en el mapa).
+ * @author Jose Navarro
+ * @version 1.0.0
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@State(Scope.Benchmark)
+public class TokenRevocationBenchmark {
+
+    private static final int LOOKUPS = 1024;
+
+    @Param({"0", "10000"})
+    public int revokedTokens;
+
+    private ConfigurableApplicationContext context;
+
+    private TokenRevocationService tokenRevocationService;
+
+    private final String[] activeTokenIds = new String[LOOKUPS];
+
+    private String revokedTokenId;
+
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        this.context = BenchmarkApplication.start(WebApplicationType.NONE);
+        this.tokenRevocationService = this.context.getBean(TokenRevocationService.class);
+
+        Instant expiresAt = Instant.now().plus(Duration.ofHours(1));
+        for (int i = 0; i < this.revokedTokens; i++) {
+            this.tokenRevocationService.revoke(UUID.randomUUID().toString(), BenchmarkApplication.USERNAME, expiresAt);
+        }
+        this.revokedTokenId = UUID.randomUUID().toString();
+        this.tokenRevocationService.revoke(this.revokedTokenId, BenchmarkApplication.USERNAME, expiresAt);
+
+        for (int i = 0; i < LOOKUPS; i++) {
+            this.activeTokenIds[i] = UUID.randomUUID().toString();
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        this.context.close();
+    }
+
+    @Benchmark
+    public boolean isRevokedActiveToken() {
+        this.next = (this.next + 1) & (LOOKUPS - 1);
+        return this.tokenRevocationService.isRevoked(this.activeTokenIds[this.next]);
+    }
+
+    @Benchmark
+    public boolean isRevokedRevokedToken() {
+        return this.tokenRevocationService.isRevoked(this.revokedTokenId);
+    }
+}
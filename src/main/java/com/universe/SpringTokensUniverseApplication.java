@@ -1,111 +1,22 @@
 package com.universe;
 
-import com.universe.persistence.entity.PermissionEntity;
-import com.universe.persistence.entity.RoleEntity;
-import com.universe.persistence.entity.RoleEnum;
-import com.universe.persistence.entity.UserEntity;
-import com.universe.persistence.repository.UserRepository;
-import org.springframework.boot.CommandLineRunner;
+import com.universe.config.NativeRuntimeHints;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
-import org.springframework.context.annotation.Bean;
-import java.util.List;
-import java.util.Set;
-
+import org.springframework.context.annotation.ImportRuntimeHints;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * El esquema y los datos iniciales (permisos, roles y usuarios de ejemplo) los crean las migraciones de Flyway
+ * en src/main/resources/db/migration antes de que arranque JPA.
+ * NativeRuntimeHints añade los hints de reflexión y recursos que necesita la imagen nativa (perfil Maven native).
+ */
 @SpringBootApplication
+@EnableScheduling
+@ImportRuntimeHints(NativeRuntimeHints.class)
 public class SpringTokensUniverseApplication {
 
     public static void main(String[] args) {
         SpringApplication.run(SpringTokensUniverseApplication.class, args);
     }
-
-    @Bean
-    CommandLineRunner init(UserRepository userRepository) {
-        return args -> {
-            /* Create PERMISSIONS */
-            PermissionEntity createPermission = PermissionEntity.builder()
-                    .name("CREATE")
-                    .build();
-
-            PermissionEntity readPermission = PermissionEntity.builder()
-                    .name("READ")
-                    .build();
-
-            PermissionEntity updatePermission = PermissionEntity.builder()
-                    .name("UPDATE")
-                    .build();
-
-            PermissionEntity deletePermission = PermissionEntity.builder()
-                    .name("DELETE")
-                    .build();
-
-            PermissionEntity refactorPermission = PermissionEntity.builder()
-                    .name("REFACTOR")
-                    .build();
-
-            /* Create ROLES */
-            RoleEntity roleAdmin = RoleEntity.builder()
-                    .roleEnum(RoleEnum.ADMIN)
-                    .permissionList(Set.of(createPermission, readPermission, updatePermission, deletePermission))
-                    .build();
-
-            RoleEntity roleUser = RoleEntity.builder()
-                    .roleEnum(RoleEnum.USER)
-                    .permissionList(Set.of(createPermission, readPermission))
-                    .build();
-
-            RoleEntity roleInvited = RoleEntity.builder()
-                    .roleEnum(RoleEnum.INVITED)
-                    .permissionList(Set.of(readPermission))
-                    .build();
-
-            RoleEntity roleDeveloper = RoleEntity.builder()
-                    .roleEnum(RoleEnum.DEVELOPER)
-                    .permissionList(Set.of(createPermission, readPermission, updatePermission, deletePermission, refactorPermission))
-                    .build();
-
-            /* CREATE USERS */
-            UserEntity userSantiago = UserEntity.builder()
-                    .username("santiago")
-                    .password("$2a$10$cMY29RPYoIHMJSuwRfoD3eQxU1J5Rww4VnNOUOAEPqCBshkNfrEf6")
-                    .isEnabled(true)
-                    .accountNoExpired(true)
-                    .accountNoLocked(true)
-                    .credentialNoExpired(true)
-                    .roles(Set.of(roleAdmin))
-                    .build();
-
-            UserEntity userDaniel = UserEntity.builder()
-                    .username("daniel")
-                    .password("$2a$10$cMY29RPYoIHMJSuwRfoD3eQxU1J5Rww4VnNOUOAEPqCBshkNfrEf6")
-                    .isEnabled(true)
-                    .accountNoExpired(true)
-                    .accountNoLocked(true)
-                    .credentialNoExpired(true)
-                    .roles(Set.of(roleUser))
-                    .build();
-
-            UserEntity userAndrea = UserEntity.builder()
-                    .username("andrea")
-                    .password("$2a$10$cMY29RPYoIHMJSuwRfoD3eQxU1J5Rww4VnNOUOAEPqCBshkNfrEf6")
-                    .isEnabled(true)
-                    .accountNoExpired(true)
-                    .accountNoLocked(true)
-                    .credentialNoExpired(true)
-                    .roles(Set.of(roleInvited))
-                    .build();
-
-            UserEntity userAnyi = UserEntity.builder()
-                    .username("anyi")
-                    .password("$2a$10$cMY29RPYoIHMJSuwRfoD3eQxU1J5Rww4VnNOUOAEPqCBshkNfrEf6")
-                    .isEnabled(true)
-                    .accountNoExpired(true)
-                    .accountNoLocked(true)
-                    .credentialNoExpired(true)
-                    .roles(Set.of(roleDeveloper))
-                    .build();
-
-            userRepository.saveAll(List.of(userSantiago, userDaniel, userAndrea, userAnyi));
-        };
-    }
 }
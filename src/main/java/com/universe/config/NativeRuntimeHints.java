@@ -0,0 +1,65 @@
+package com.universe.config;
+
+import com.universe.controller.dto.AuthCreateRoleRequest;
+import com.universe.controller.dto.AuthCreateUserRequest;
+import com.universe.controller.dto.AuthLoginRequest;
+import com.universe.controller.dto.AuthLogoutRequest;
+import com.universe.controller.dto.AuthRefreshRequest;
+import com.universe.controller.dto.AuthResponse;
+import com.universe.controller.dto.AuthorizationRuleRequest;
+import com.universe.controller.dto.AuthorizationRuleResponse;
+import com.universe.controller.dto.RoleResponse;
+import com.universe.controller.dto.RoleUpdateParentsRequest;
+import com.universe.controller.dto.RoleUpdatePermissionsRequest;
+import com.universe.controller.dto.TokenRevokeRequest;
+import com.universe.controller.dto.UserImportError;
+import com.universe.controller.dto.UserImportRequest;
+import com.universe.controller.dto.UserImportResponse;
+import com.universe.persistence.entity.AuthorizationRuleEntity;
+import com.universe.persistence.entity.PermissionEntity;
+import com.universe.persistence.entity.RefreshTokenEntity;
+import com.universe.persistence.entity.RevokedTokenEntity;
+import com.universe.persistence.entity.RoleEntity;
+import com.universe.persistence.entity.RoleEnum;
+import com.universe.persistence.entity.UserEntity;
+import org.springframework.aot.hint.BindingReflectionHintsRegistrar;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+
+import java.util.List;
+
+/**
+ * Hints de la imagen nativa (perfil Maven native) para lo que el procesamiento AOT de Spring no deduce por sí solo.
+ * (1) Entidades JPA: Hibernate las instancia y rellena por reflexión (constructor sin argumentos de Lombok y campos privados).
+ *     RoleEnum se lee con @Enumerated(EnumType.STRING).
+ * (2) DTOs: los records que Jackson lee y escribe, con sus componentes y los tipos anidados (BindingReflectionHintsRegistrar).
+ * (3) Recursos: las migraciones de Flyway de db/migration/common y db/migration/{vendor}, que no coinciden con el patrón
+ *     db/migration/* que registra Spring Boot.
+ * Se registra con @ImportRuntimeHints en SpringTokensUniverseApplication; en la JVM no tiene efecto.
+ * @author Jose Navarro
+ * @version 1.0.0
+ */
+public class NativeRuntimeHints implements RuntimeHintsRegistrar {
+
+    private static final List<Class<?>> ENTITIES = List.of(UserEntity.class, RoleEntity.class, PermissionEntity.class,
+            RefreshTokenEntity.class, RevokedTokenEntity.class, AuthorizationRuleEntity.class);
+
+    private static final Class<?>[] DTOS = {AuthCreateRoleRequest.class, AuthCreateUserRequest.class, AuthLoginRequest.class,
+            AuthLogoutRequest.class, AuthRefreshRequest.class, AuthResponse.class, AuthorizationRuleRequest.class,
+            AuthorizationRuleResponse.class, RoleResponse.class, RoleUpdateParentsRequest.class, RoleUpdatePermissionsRequest.class,
+            TokenRevokeRequest.class, UserImportError.class, UserImportRequest.class, UserImportResponse.class};
+
+    private final BindingReflectionHintsRegistrar bindingRegistrar = new BindingReflectionHintsRegistrar();
+
+    @Override
+    public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+        ENTITIES.forEach(entity -> hints.reflection().registerType(entity,
+                MemberCategory.INVOKE_DECLARED_CONSTRUCTORS, MemberCategory.DECLARED_FIELDS, MemberCategory.INVOKE_DECLARED_METHODS));
+        hints.reflection().registerType(RoleEnum.class, MemberCategory.PUBLIC_FIELDS, MemberCategory.INVOKE_PUBLIC_METHODS);
+
+        this.bindingRegistrar.registerReflectionHints(hints.reflection(), DTOS);
+
+        hints.resources().registerPattern("db/migration/*/*.sql");
+    }
+}
@@ -0,0 +1,22 @@
+package com.universe.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.web.embedded.netty.NettyReactiveWebServerFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * En modo reactivo usa Reactor Netty como servidor. Como Tomcat también está en el classpath (spring-boot-starter-web),
+ * sin este bean Spring Boot ejecutaría la aplicación reactiva sobre Tomcat.
+ * @author Jose Navarro
+ * @version 1.0.0
+ */
+@Configuration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveWebServerConfig {
+
+    @Bean
+    NettyReactiveWebServerFactory nettyReactiveWebServerFactory() {
+        return new NettyReactiveWebServerFactory();
+    }
+}
@@ -0,0 +1,39 @@
+package com.universe.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Compara el tiempo de arranque (desde el inicio de SpringApplication.run hasta ApplicationReadyEvent) con startup.time-budget
+ * y avisa en el log si lo supera. El mismo tiempo está en la métrica application.ready.time del actuator y StartupBenchmark lo mide
+ * contra H2 para comparar entre versiones.
+ * @author Jose Navarro
+ * @version 1.0.0
+ */
+@Component
+public class StartupTimeBudget {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(StartupTimeBudget.class);
+
+    @Value("${startup.time-budget:PT10S}")
+    private Duration timeBudget;
+
+    @EventListener
+    public void applicationReady(ApplicationReadyEvent event) {
+        Duration timeTaken = event.getTimeTaken();
+        if (timeTaken == null) {
+            return;
+        }
+        if (timeTaken.compareTo(this.timeBudget) > 0) {
+            LOGGER.warn("Startup took {} ms, over the budget of {} ms", timeTaken.toMillis(), this.timeBudget.toMillis());
+        } else {
+            LOGGER.info("Startup took {} ms (budget {} ms)", timeTaken.toMillis(), this.timeBudget.toMillis());
+        }
+    }
+}
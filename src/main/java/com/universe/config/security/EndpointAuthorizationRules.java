@@ -0,0 +1,64 @@
+package com.universe.config.security;
+
+import com.universe.config.security.authority.AuthorityRegistry;
+import org.springframework.http.HttpMethod;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Reglas de autorización de los EndPoints definidas en la configuración, compartidas por la cadena de filtros servlet (SecurityConfig)
+ * y la reactiva (ReactiveSecurityConfig), para que las dos variantes protejan las mismas rutas de la misma forma.
+ * Cada regla indica el método HTTP, el patrón de la ruta y la autoridad requerida (null si el EndPoint es público).
+ * RuleTableAuthorizationManager las compila en un AuthorizationRuleTable; tienen prioridad sobre las de la tabla authorization_rules.
+ * Las rutas que no coinciden con ninguna regla se deniegan.
+ * @author Jose Navarro
+ * @version 1.0.0
+ */
+@Component
+public class EndpointAuthorizationRules {
+
+    private static final String ADMIN = AuthorityRegistry.ROLE_PREFIX.concat("ADMIN");
+
+    private final List<EndpointRule> rules = List.of(
+            // EndPoints publicos
+            EndpointRule.permitAll(HttpMethod.POST, "/auth/**"),
+            EndpointRule.permitAll(HttpMethod.GET, "/.well-known/jwks.json"),
+
+            // EndPoints Privados
+            EndpointRule.hasAuthority(HttpMethod.GET, "/method/get", "READ"),
+            EndpointRule.hasAuthority(HttpMethod.POST, "/method/post", "CREATE"),
+            EndpointRule.hasAuthority(HttpMethod.DELETE, "/method/delete", "DELETE"),
+            EndpointRule.hasAuthority(HttpMethod.PUT, "/method/put", "UPDATE"),
+
+            // EndPoints de administracion
+            EndpointRule.hasAuthority(HttpMethod.PUT, "/roles/*/permissions", ADMIN),
+            EndpointRule.hasAuthority(HttpMethod.PUT, "/roles/*/parents", ADMIN),
+            EndpointRule.hasAuthority(HttpMethod.POST, "/admin/tokens/revoke", ADMIN),
+            EndpointRule.hasAuthority(HttpMethod.DELETE, "/admin/users/*", ADMIN),
+            EndpointRule.hasAuthority(HttpMethod.POST, "/admin/users/import", ADMIN),
+            EndpointRule.hasAuthority(HttpMethod.GET, "/admin/authorization-rules", ADMIN),
+            EndpointRule.hasAuthority(HttpMethod.POST, "/admin/authorization-rules", ADMIN),
+            EndpointRule.hasAuthority(HttpMethod.DELETE, "/admin/authorization-rules/*", ADMIN),
+            EndpointRule.permitAll(HttpMethod.GET, "/actuator/health"),
+            EndpointRule.hasAuthority(HttpMethod.GET, "/actuator/**", ADMIN));
+
+    public List<EndpointRule> rules() {
+        return this.rules;
+    }
+
+    public record EndpointRule(HttpMethod method, String pattern, String authority) {
+
+        static EndpointRule permitAll(HttpMethod method, String pattern) {
+            return new EndpointRule(method, pattern, null);
+        }
+
+        static EndpointRule hasAuthority(HttpMethod method, String pattern, String authority) {
+            return new EndpointRule(method, pattern, authority);
+        }
+
+        public boolean isPublic() {
+            return this.authority == null;
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package com.universe.config.security;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.crypto.password.Pbkdf2PasswordEncoder;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+
+/**
+ * Esta clase configura el PasswordEncoder de la aplicación.
+ * @author Jose Navarro
+ * @version 1.0.0
+ */
+@Configuration
+public class PasswordEncoderConfig {
+
+    public static final String BCRYPT_ID = "bcrypt";
+
+    public static final String PBKDF2_ID = "pbkdf2";
+
+    @Value("${security.password.encoder.id:bcrypt}")
+    private String encoderId;
+
+    @Value("${security.password.bcrypt.strength:10}")
+    private int bcryptStrength;
+
+    @Value("${security.password.pbkdf2.iterations:310000}")
+    private int pbkdf2Iterations;
+
+    /**
+     * (1) public PasswordEncoder passwordEncoder():
+     * Este método devuelve un DelegatingPasswordEncoder, que guarda cada contraseña con el prefijo del algoritmo usado ({bcrypt}, {pbkdf2})
+     * y al comparar elige el algoritmo según ese prefijo. Así conviven contraseñas codificadas con distintos algoritmos y costes.
+     * (2) security.password.encoder.id: Algoritmo con el que se codifican las contraseñas nuevas (bcrypt o pbkdf2).
+     * (3) security.password.bcrypt.strength y security.password.pbkdf2.iterations: Coste de cada algoritmo.
+     * Subir el coste hace cada login más lento y más caro en CPU; bajarlo hace lo contrario.
+     * (4) setDefaultPasswordEncoderForMatches(new BCryptPasswordEncoder()):
+     * Las contraseñas guardadas sin prefijo (por ejemplo, los usuarios iniciales con $2a$10$) se comparan como BCrypt.
+     * (5) upgradeEncoding(...) indica si una contraseña guardada usa un algoritmo o un coste distinto al configurado.
+     * En ese caso UserDetailServiceImpl la vuelve a codificar después de un login correcto, sin tener que restablecer las contraseñas.
+     * BCryptPasswordEncoder solo lo indica si el coste guardado es menor; StrengthBCryptPasswordEncoder compara por desigualdad,
+     * así que bajar security.password.bcrypt.strength también llega a los usuarios existentes.
+     */
+    @Bean
+    public PasswordEncoder passwordEncoder() {
+        Map<String, PasswordEncoder> encoders = new HashMap<>();
+        encoders.put(BCRYPT_ID, new StrengthBCryptPasswordEncoder(this.bcryptStrength));
+        encoders.put(PBKDF2_ID, new Pbkdf2PasswordEncoder("", 16, this.pbkdf2Iterations, Pbkdf2PasswordEncoder.SecretKeyFactoryAlgorithm.PBKDF2WithHmacSHA256));
+
+        DelegatingPasswordEncoder passwordEncoder = new DelegatingPasswordEncoder(this.encoderId, encoders);
+        passwordEncoder.setDefaultPasswordEncoderForMatches(new BCryptPasswordEncoder());
+        return passwordEncoder;
+    }
+
+    /**
+     * BCryptPasswordEncoder que pide volver a codificar cualquier hash con un coste distinto al configurado, mayor o menor.
+     */
+    static class StrengthBCryptPasswordEncoder extends BCryptPasswordEncoder {
+
+        private static final Pattern BCRYPT_COST = Pattern.compile("\\A\\$2[aby]?\\$(\\d\\d)\\$");
+
+        private final int strength;
+
+        StrengthBCryptPasswordEncoder(int strength) {
+            super(strength);
+            this.strength = strength;
+        }
+
+        @Override
+        public boolean upgradeEncoding(String encodedPassword) {
+            Matcher matcher = encodedPassword == null ? null : BCRYPT_COST.matcher(encodedPassword);
+            if (matcher == null || !matcher.find()) {
+                return super.upgradeEncoding(encodedPassword);
+            }
+            return Integer.parseInt(matcher.group(1)) != this.strength;
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package com.universe.config.security;
+
+import com.universe.config.security.authorization.RuleTableAuthorizationManager;
+import com.universe.config.security.filter.JwtAuthenticationResolver;
+import com.universe.config.security.filter.ReactiveJwtTokenValidator;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.security.authorization.AuthorizationDecision;
+import org.springframework.security.config.annotation.web.reactive.EnableWebFluxSecurity;
+import org.springframework.security.config.web.server.SecurityWebFiltersOrder;
+import org.springframework.security.config.web.server.ServerHttpSecurity;
+import org.springframework.security.web.server.SecurityWebFilterChain;
+import org.springframework.security.web.server.authentication.HttpStatusServerEntryPoint;
+import org.springframework.security.web.server.context.NoOpServerSecurityContextRepository;
+import reactor.core.publisher.Mono;
+
+
+/**
+ * Variante reactiva (WebFlux) de SecurityConfig, para desplegar la aplicación sin un hilo por conexión.
+ * Se activa con el perfil "reactive" (spring.main.web-application-type=reactive).
+ * (1) csrf, httpBasic y formLogin desactivados, y NoOpServerSecurityContextRepository: igual que la política STATELESS de la versión servlet,
+ *     no se guarda ningún contexto de seguridad entre peticiones.
+ * (2) authorizeExchange(exchange -> {...}): Aplica las mismas reglas que la cadena servlet, con la misma tabla precompilada
+ *     de RuleTableAuthorizationManager y comprobando el BitSet del AuthoritySet. Lo demás se deniega.
+ * (3) exceptionHandling: Sin autenticación responde 403 (Forbidden), como el punto de entrada por defecto de la versión servlet.
+ * (4) addFilterAt(new ReactiveJwtTokenValidator(jwtAuthenticationResolver), SecurityWebFiltersOrder.AUTHENTICATION):
+ *     Valida el token JWT con el mismo JwtAuthenticationResolver que JwtTokenValidator.
+ * @author Jose Navarro
+ * @version 1.0.0
+ */
+@Configuration
+@EnableWebFluxSecurity
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveSecurityConfig {
+
+    @Autowired
+    private JwtAuthenticationResolver jwtAuthenticationResolver;
+
+    @Autowired
+    private RuleTableAuthorizationManager ruleTableAuthorizationManager;
+
+    @Bean
+    SecurityWebFilterChain securityWebFilterChain(ServerHttpSecurity serverHttpSecurity) {
+        return serverHttpSecurity
+                .csrf(ServerHttpSecurity.CsrfSpec::disable)
+                .httpBasic(ServerHttpSecurity.HttpBasicSpec::disable)
+                .formLogin(ServerHttpSecurity.FormLoginSpec::disable)
+                .securityContextRepository(NoOpServerSecurityContextRepository.getInstance())
+                .authorizeExchange(exchange -> exchange.anyExchange().access((authentication, context) -> {
+                    ServerHttpRequest request = context.getExchange().getRequest();
+                    String method = request.getMethod().name();
+                    String path = request.getPath().pathWithinApplication().value();
+                    return authentication
+                            .map(currentAuthentication -> ruleTableAuthorizationManager.isGranted(currentAuthentication, method, path))
+                            .switchIfEmpty(Mono.fromSupplier(() -> ruleTableAuthorizationManager.isGranted(null, method, path)))
+                            .map(AuthorizationDecision::new);
+                }))
+                .exceptionHandling(exceptionHandling -> exceptionHandling
+                        .authenticationEntryPoint(new HttpStatusServerEntryPoint(HttpStatus.FORBIDDEN)))
+                .addFilterAt(new ReactiveJwtTokenValidator(jwtAuthenticationResolver), SecurityWebFiltersOrder.AUTHENTICATION)
+                .build();
+    }
+}
@@ -1,14 +1,15 @@
 package com.universe.config.security;
 
+import com.universe.config.security.authorization.RuleTableAuthorizationManager;
+import com.universe.config.security.filter.JwtAuthenticationResolver;
 import com.universe.config.security.filter.JwtTokenValidator;
 import com.universe.service.UserDetailServiceImpl;
-import com.universe.util.JwtUtils;
 import jakarta.servlet.http.HttpServletRequest;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpHeaders;
-import org.springframework.http.HttpMethod;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.AuthenticationProvider;
 import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
@@ -17,7 +18,6 @@ import org.springframework.security.config.annotation.authentication.configurati
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.http.SessionCreationPolicy;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.www.BasicAuthenticationFilter;
@@ -31,6 +31,7 @@ import java.util.Collections;
  * Esta clase se encarga de configurar la seguridad de la aplicación para proteger los EndPoints
  * y permitir el acceso a los usuarios con los roles adecuados ademas de configurar el filtro
  * que valida el token JWT.
+ * Solo se carga cuando la aplicación se ejecuta como aplicación servlet; la variante reactiva está en ReactiveSecurityConfig.
  * @author Jose Navarro
  * @version 1.0.0
  */
@@ -38,10 +39,14 @@ import java.util.Collections;
 
 @Configuration
 @EnableWebSecurity
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 public class SecurityConfig {
 
     @Autowired
-    private JwtUtils jwtUtils;
+    private JwtAuthenticationResolver jwtAuthenticationResolver;
+
+    @Autowired
+    private RuleTableAuthorizationManager ruleTableAuthorizationManager;
     
     /**
      * Este método securityFilterChain es una configuración de seguridad en una aplicación Spring Boot. Aquí está lo que hace cada parte:
@@ -52,13 +57,16 @@ public class SecurityConfig {
      *      Esto puede ser necesario para ciertas APIs.
      * (4) sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS)): 
      *      Configura la política de creación de sesiones para ser sin estado. Esto significa que la aplicación no mantendrá ninguna información de sesión entre las solicitudes.
-     * (5) authorizeHttpRequests(http -> {...}): Configura las autorizaciones para las solicitudes HTTP.
-     *     En este caso, se están configurando varios endpoints para que sean accesibles solo por usuarios con ciertos permisos.
-     *     Por ejemplo, http.requestMatchers(HttpMethod.GET, "/method/get").hasAuthority("READ") significa que solo los usuarios con la autoridad "READ" pueden hacer solicitudes GET a "/method/get".
-     * (6) http.anyRequest().denyAll(): 
-     *     Esto significa que cualquier solicitud que no coincida con las anteriores será denegada.
-     * (7) addFilterBefore(new JwtTokenValidator(jwtUtils), BasicAuthenticationFilter.class):
-     *    Añade un filtro personalizado JwtTokenValidator antes del filtro BasicAuthenticationFilter. Este filtro personalizado probablemente verifica los tokens JWT en las solicitudes.
+     * (5) authorizeHttpRequests(http -> http.anyRequest().access(ruleTableAuthorizationManager)): Configura las autorizaciones para las solicitudes HTTP.
+     *     Todas las peticiones las decide RuleTableAuthorizationManager, que busca la regla del método y la ruta en una tabla precompilada
+     *     (reglas de EndpointAuthorizationRules y de la tabla authorization_rules) en lugar de evaluar los requestMatchers uno a uno.
+     *     Por ejemplo, la regla de GET "/method/get" con la autoridad "READ" significa que solo los usuarios con la autoridad "READ" pueden hacer solicitudes GET a "/method/get".
+     *     La comprobación se hace contra el BitSet del AuthoritySet que construye JwtTokenValidator, sin recorrer la lista de autoridades.
+     *     Los endpoints de administración (/roles/**, /admin/** y /actuator/**, salvo /actuator/health) solo están disponibles para el rol ADMIN.
+     * (6) Cualquier solicitud que no coincida con ninguna regla será denegada.
+     * (7) addFilterBefore(new JwtTokenValidator(jwtAuthenticationResolver), BasicAuthenticationFilter.class):
+     *    Añade un filtro personalizado JwtTokenValidator antes del filtro BasicAuthenticationFilter. Este filtro verifica los tokens JWT en las solicitudes,
+     *    guarda en VerifiedTokenCache los que ya fueron verificados y responde 401 a los revocados, a los no válidos y a las cabeceras que no son "Bearer " (ver JwtAuthenticationResolver).
      * (8) build(): Construye y devuelve el objeto SecurityFilterChain.
      */
     @Bean
@@ -66,19 +74,8 @@ public class SecurityConfig {
         return httpSecurity
                 .csrf(csrf -> csrf.disable())
                 .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
-                .authorizeHttpRequests(http -> {
-                    // EndPoints publicos
-                    http.requestMatchers(HttpMethod.POST, "/auth/**").permitAll();
-
-                    // EndPoints Privados
-                    http.requestMatchers(HttpMethod.GET, "/method/get").hasAuthority("READ");
-                    http.requestMatchers(HttpMethod.POST, "/method/post").hasAuthority("CREATE");
-                    http.requestMatchers(HttpMethod.DELETE, "/method/delete").hasAuthority("DELETE");
-                    http.requestMatchers(HttpMethod.PUT, "/method/put").hasAuthority("UPDATE");
-
-                    http.anyRequest().denyAll();
-                })
-                .addFilterBefore(new JwtTokenValidator(jwtUtils), BasicAuthenticationFilter.class)
+                .authorizeHttpRequests(http -> http.anyRequest().access(ruleTableAuthorizationManager))
+                .addFilterBefore(new JwtTokenValidator(jwtAuthenticationResolver), BasicAuthenticationFilter.class)
                 .build();
     }
 
@@ -99,37 +96,26 @@ public class SecurityConfig {
     }
 
     /**
-     * (1) public AuthenticationProvider authenticationProvider(UserDetailServiceImpl userDetailService):
+     * (1) public AuthenticationProvider authenticationProvider(UserDetailServiceImpl userDetailService, PasswordEncoder passwordEncoder):
      * Este método devuelve un objeto AuthenticationProvider que es una interfaz para autenticar al usuario.
      * Toma un parámetro: un objeto UserDetailServiceImpl que es una clase de servicio que implementa la interfaz UserDetailsService de Spring Security.
      * (2) DaoAuthenticationProvider provider = new DaoAuthenticationProvider();:
      * Crea un objeto DaoAuthenticationProvider que es una implementación de AuthenticationProvider.
-     * (3) provider.setPasswordEncoder(passwordEncoder());:
-     * Configura el PasswordEncoder para el proveedor de autenticación.
+     * (3) provider.setPasswordEncoder(passwordEncoder);:
+     * Configura el PasswordEncoder (definido en PasswordEncoderConfig) para el proveedor de autenticación.
      * (4) provider.setUserDetailsService(userDetailService);:
      * Configura el UserDetailsService para el proveedor de autenticación.
+     * provider.setUserDetailsPasswordService(userDetailService);:
+     * Permite que el proveedor vuelva a codificar la contraseña cuando el PasswordEncoder indica que está desactualizada.
      * (5) return provider;:
      * Devuelve el proveedor de autenticación configurado.
      */
     @Bean
-    public AuthenticationProvider authenticationProvider(UserDetailServiceImpl userDetailService) {
+    public AuthenticationProvider authenticationProvider(UserDetailServiceImpl userDetailService, PasswordEncoder passwordEncoder) {
         DaoAuthenticationProvider provider = new DaoAuthenticationProvider();
-        provider.setPasswordEncoder(passwordEncoder());
+        provider.setPasswordEncoder(passwordEncoder);
         provider.setUserDetailsService(userDetailService);
+        provider.setUserDetailsPasswordService(userDetailService);
         return provider;
     }
-
-    /**
-     * (1) public PasswordEncoder passwordEncoder(): 
-     * Este método devuelve un objeto PasswordEncoder que es una interfaz para codificar contraseñas. 
-     * En Spring Security, se utiliza para codificar (o "hash") las contraseñas antes de almacenarlas y para comparar las contraseñas proporcionadas por el usuario con las contraseñas almacenadas
-     * (2) return new BCryptPasswordEncoder();:
-     * Este método devuelve una nueva instancia de BCryptPasswordEncoder, 
-     * que es una implementación de PasswordEncoder que utiliza el algoritmo BCrypt para codificar las contraseñas. 
-     * BCrypt es un algoritmo de hash fuerte para contraseñas.
-     */
-    @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
-    }
 }
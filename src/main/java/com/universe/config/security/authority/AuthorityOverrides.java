@@ -0,0 +1,69 @@
+package com.universe.config.security.authority;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Autoridades vigentes de los usuarios afectados por un cambio de permisos de un rol.
+ * Los tokens emitidos antes del cambio llevan en el claim las autoridades anteriores; JwtAuthenticationResolver usa las de aquí
+ * en lugar de las del claim para cualquier token del usuario, así el cambio se aplica sin esperar a que el usuario vuelva a iniciar sesión.
+ * (1) Cada entrada dura security.jwt.access-token.ttl desde el cambio: pasado ese tiempo todos los tokens anteriores han expirado
+ *     y los nuevos ya llevan las autoridades correctas. La tarea periódica borra las entradas vencidas.
+ * (2) version() aumenta con cada cambio; el resolver la lee antes de construir un Authentication y, si cambió mientras tanto,
+ *     no deja el resultado en VerifiedTokenCache, porque podría haberse construido con las autoridades anteriores.
+ * find(String) es una lectura de un ConcurrentHashMap, normalmente vacío, sin consultas a la base de datos.
+ * @author Jose Navarro
+ * @version 1.0.0
+ */
+@Component
+public class AuthorityOverrides {
+
+    @Value("${security.jwt.access-token.ttl:PT30M}")
+    private Duration accessTokenTtl;
+
+    private final Map<String, AuthorityOverride> overrides = new ConcurrentHashMap<>();
+
+    private final AtomicLong version = new AtomicLong();
+
+    public long version() {
+        return this.version.get();
+    }
+
+    /**
+     * @return Las autoridades vigentes del usuario, o null si deben usarse las del token.
+     */
+    public AuthoritySet find(String username) {
+        AuthorityOverride override = this.overrides.get(username);
+        return override == null || override.expiresAt().isBefore(Instant.now()) ? null : override.authorities();
+    }
+
+    public void override(Map<String, AuthoritySet> authoritiesByUser) {
+        Instant expiresAt = Instant.now().plus(this.accessTokenTtl);
+        authoritiesByUser.forEach((username, authorities) -> this.overrides.put(username, new AuthorityOverride(authorities, expiresAt)));
+        this.version.incrementAndGet();
+    }
+
+    public void remove(String username) {
+        this.overrides.remove(username);
+    }
+
+    public int size() {
+        return this.overrides.size();
+    }
+
+    @Scheduled(fixedDelayString = "${security.authorities.overrides.purge-interval:PT1M}")
+    public void purgeExpired() {
+        Instant now = Instant.now();
+        this.overrides.values().removeIf(override -> override.expiresAt().isBefore(now));
+    }
+
+    private record AuthorityOverride(AuthoritySet authorities, Instant expiresAt) {
+    }
+}
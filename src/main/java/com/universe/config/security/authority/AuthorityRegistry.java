@@ -0,0 +1,167 @@
+package com.universe.config.security.authority;
+
+import com.universe.persistence.entity.RoleEnum;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Registro de autoridades de la aplicación. Asigna a cada nombre de autoridad (ROLE_ADMIN, READ, CREATE...) una posición fija
+ * y convierte el claim "authorities" de los tokens en un AuthoritySet compartido.
+ * (1) Al arrancar se registran los roles de RoleEnum con el prefijo ROLE_ y los permisos de security.authorities.permissions.
+ *     Cualquier otra autoridad que aparezca después recibe la siguiente posición libre.
+ * (2) intern(String) devuelve siempre la misma instancia para la misma cadena del claim, y también para cadenas distintas
+ *     que contienen las mismas autoridades, por lo que en régimen normal no se crea ninguna colección por petición.
+ *     El número de cadenas recordadas está limitado por security.authorities.max-interned.
+ * (3) hasAuthority(String) crea un AuthorizationManager que comprueba la autoridad por su posición en el BitSet.
+ * (4) Las posiciones registradas al arrancar forman el catálogo (catalogSize() y catalog(), en orden de posición). Son iguales en todos
+ *     los nodos con la misma configuración, por eso son las únicas que se pueden usar en el claim compacto.
+ * @author Jose Navarro
+ * @version 1.0.0
+ */
+@Component
+public class AuthorityRegistry {
+
+    public static final String ROLE_PREFIX = "ROLE_";
+
+    @Value("${security.authorities.permissions:CREATE,READ,UPDATE,DELETE,REFACTOR}")
+    private List<String> permissionNames;
+
+    @Value("${security.authorities.max-interned:1024}")
+    private int maxInterned;
+
+    private final Map<String, RegisteredAuthority> registered = new ConcurrentHashMap<>();
+
+    private final Map<Integer, RegisteredAuthority> registeredByPosition = new ConcurrentHashMap<>();
+
+    private final AtomicInteger nextPosition = new AtomicInteger();
+
+    private final Map<String, AuthoritySet> internedByClaim = new ConcurrentHashMap<>();
+
+    private final Map<BitSet, AuthoritySet> internedByBits = new ConcurrentHashMap<>();
+
+    private List<String> catalog = List.of();
+
+    @PostConstruct
+    public void init() {
+        for (RoleEnum role : RoleEnum.values()) {
+            this.register(ROLE_PREFIX.concat(role.name()));
+        }
+        this.permissionNames.forEach(this::register);
+
+        List<String> catalogNames = new ArrayList<>();
+        for (int position = 0; position < this.nextPosition.get(); position++) {
+            catalogNames.add(this.registeredByPosition.get(position).authority().getAuthority());
+        }
+        this.catalog = List.copyOf(catalogNames);
+    }
+
+    public int register(String authority) {
+        return this.registered.computeIfAbsent(authority, name -> {
+            RegisteredAuthority registeredAuthority = new RegisteredAuthority(this.nextPosition.getAndIncrement(), new SimpleGrantedAuthority(name));
+            this.registeredByPosition.put(registeredAuthority.position(), registeredAuthority);
+            return registeredAuthority;
+        }).position();
+    }
+
+    public int catalogSize() {
+        return this.catalog.size();
+    }
+
+    public List<String> catalog() {
+        return this.catalog;
+    }
+
+    public int positionOf(String authority) {
+        RegisteredAuthority registeredAuthority = this.registered.get(authority);
+        return registeredAuthority == null ? -1 : registeredAuthority.position();
+    }
+
+    public AuthoritySet intern(String commaSeparatedAuthorities) {
+        String claim = commaSeparatedAuthorities == null ? "" : commaSeparatedAuthorities;
+
+        AuthoritySet authoritySet = this.internedByClaim.get(claim);
+        if (authoritySet != null) {
+            return authoritySet;
+        }
+
+        authoritySet = this.intern(List.of(StringUtils.tokenizeToStringArray(claim, ",")));
+        if (this.internedByClaim.size() < this.maxInterned) {
+            this.internedByClaim.putIfAbsent(claim, authoritySet);
+        }
+        return authoritySet;
+    }
+
+    public AuthoritySet intern(Collection<String> authorityNames) {
+        BitSet bits = new BitSet();
+        List<GrantedAuthority> authorities = new ArrayList<>(authorityNames.size());
+
+        for (String authorityName : authorityNames) {
+            int position = this.register(authorityName);
+            if (!bits.get(position)) {
+                bits.set(position);
+                authorities.add(this.registered.get(authorityName).authority());
+            }
+        }
+
+        AuthoritySet existing = this.internedByBits.get(bits);
+        if (existing != null) {
+            return existing;
+        }
+
+        AuthoritySet authoritySet = new AuthoritySet(authorities.toArray(GrantedAuthority[]::new), bits);
+        if (this.internedByBits.size() >= this.maxInterned) {
+            return authoritySet;
+        }
+        existing = this.internedByBits.putIfAbsent(bits, authoritySet);
+        return existing == null ? authoritySet : existing;
+    }
+
+    /**
+     * Devuelve el AuthoritySet compartido para un conjunto de posiciones. Lanza IllegalArgumentException si alguna posición no está registrada.
+     */
+    public AuthoritySet intern(BitSet positions) {
+        AuthoritySet existing = this.internedByBits.get(positions);
+        if (existing != null) {
+            return existing;
+        }
+
+        List<String> authorityNames = new ArrayList<>(positions.cardinality());
+        for (int position = positions.nextSetBit(0); position >= 0; position = positions.nextSetBit(position + 1)) {
+            RegisteredAuthority registeredAuthority = this.registeredByPosition.get(position);
+            if (registeredAuthority == null) {
+                throw new IllegalArgumentException("Unknown authority position " + position);
+            }
+            authorityNames.add(registeredAuthority.authority().getAuthority());
+        }
+        return this.intern(authorityNames);
+    }
+
+    public AuthoritySet internGrantedAuthorities(Iterable<? extends GrantedAuthority> grantedAuthorities) {
+        List<String> authorityNames = new ArrayList<>();
+        grantedAuthorities.forEach(grantedAuthority -> authorityNames.add(grantedAuthority.getAuthority()));
+        return this.intern(authorityNames);
+    }
+
+    public <T> InternedAuthorityAuthorizationManager<T> hasAuthority(String authority) {
+        return new InternedAuthorityAuthorizationManager<>(authority, this.register(authority));
+    }
+
+    public <T> InternedAuthorityAuthorizationManager<T> hasRole(String role) {
+        return this.hasAuthority(ROLE_PREFIX.concat(role));
+    }
+
+    private record RegisteredAuthority(int position, GrantedAuthority authority) {
+    }
+}
@@ -0,0 +1,55 @@
+package com.universe.config.security.authority;
+
+import org.springframework.security.core.GrantedAuthority;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.util.AbstractList;
+import java.util.BitSet;
+import java.util.RandomAccess;
+
+/**
+ * Conjunto inmutable de autoridades obtenido desde AuthorityRegistry.
+ * Se comporta como una lista de GrantedAuthority para que Spring Security la pueda recorrer normalmente,
+ * pero además guarda un BitSet con la posición de cada autoridad en el registro,
+ * lo que permite comprobar una autoridad con hasPosition(position) sin comparar cadenas ni crear objetos.
+ * Las instancias se comparten entre peticiones y entre usuarios con las mismas autoridades.
+ * @author Jose Navarro
+ * @version 1.0.0
+ */
+public final class AuthoritySet extends AbstractList<GrantedAuthority> implements RandomAccess, Serializable {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    private final GrantedAuthority[] authorities;
+
+    private final BitSet bits;
+
+    AuthoritySet(GrantedAuthority[] authorities, BitSet bits) {
+        this.authorities = authorities;
+        this.bits = bits;
+    }
+
+    @Override
+    public GrantedAuthority get(int index) {
+        return this.authorities[index];
+    }
+
+    @Override
+    public int size() {
+        return this.authorities.length;
+    }
+
+    public boolean hasPosition(int position) {
+        return position >= 0 && this.bits.get(position);
+    }
+
+    public BitSet toBitSet() {
+        return (BitSet) this.bits.clone();
+    }
+
+    BitSet bits() {
+        return this.bits;
+    }
+}
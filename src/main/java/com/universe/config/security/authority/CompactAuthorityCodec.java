@@ -0,0 +1,95 @@
+package com.universe.config.security.authority;
+
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Codifica un AuthoritySet en el formato compacto del claim de autoridades y lo decodifica de vuelta.
+ * El formato es "VERSION-CATALOGO.BITS":
+ * (1) VERSION es el número de versión del formato (hoy "1").
+ * (2) CATALOGO es la huella del catálogo de AuthorityRegistry: los primeros 4 bytes del SHA-256 de sus nombres en orden de posición,
+ *     en Base64 URL. Un nodo con otros permisos o con los mismos en otro orden tiene otra huella y rechaza el claim,
+ *     en lugar de leer los mismos bits como otras autoridades.
+ * (3) BITS es el BitSet de posiciones del catálogo en Base64 URL sin relleno.
+ * Por ejemplo, un usuario ADMIN con CREATE, READ, UPDATE y DELETE ocupa "1-xxxxxx.8Q" en lugar de "ROLE_ADMIN,CREATE,READ,UPDATE,DELETE".
+ * @author Jose Navarro
+ * @version 1.0.0
+ */
+@Component
+public class CompactAuthorityCodec {
+
+    public static final String VERSION = "1";
+
+    private static final int FINGERPRINT_BYTES = 4;
+
+    private static final int MAX_DECODED = 1024;
+
+    @Autowired
+    private AuthorityRegistry authorityRegistry;
+
+    private final Map<String, AuthoritySet> decoded = new ConcurrentHashMap<>();
+
+    private String prefix;
+
+    @PostConstruct
+    public void init() {
+        this.prefix = VERSION + "-" + fingerprint(this.authorityRegistry.catalog()) + ".";
+    }
+
+    /**
+     * Devuelve el claim compacto o null si alguna autoridad no pertenece al catálogo y el token debe usar el formato separado por comas.
+     */
+    public String encode(AuthoritySet authorities) {
+        BitSet bits = authorities.bits();
+        if (bits.length() > this.authorityRegistry.catalogSize()) {
+            return null;
+        }
+        return this.prefix.concat(Base64.getUrlEncoder().withoutPadding().encodeToString(bits.toByteArray()));
+    }
+
+    /**
+     * Convierte el claim compacto en el AuthoritySet compartido.
+     * Lanza IllegalArgumentException si la versión, la huella del catálogo o el contenido no son válidos.
+     */
+    public AuthoritySet decode(String claim) {
+        if (claim == null || !claim.startsWith(this.prefix)) {
+            throw new IllegalArgumentException("Unsupported compact authorities format or authority catalog");
+        }
+
+        AuthoritySet authorities = this.decoded.get(claim);
+        if (authorities != null) {
+            return authorities;
+        }
+
+        BitSet bits = BitSet.valueOf(Base64.getUrlDecoder().decode(claim.substring(this.prefix.length())));
+        if (bits.length() > this.authorityRegistry.catalogSize()) {
+            throw new IllegalArgumentException("Compact authorities reference positions outside the catalog");
+        }
+
+        authorities = this.authorityRegistry.intern(bits);
+        if (this.decoded.size() < MAX_DECODED) {
+            this.decoded.putIfAbsent(claim, authorities);
+        }
+        return authorities;
+    }
+
+    static String fingerprint(List<String> catalog) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(String.join(",", catalog).getBytes(StandardCharsets.UTF_8));
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(Arrays.copyOf(hash, FINGERPRINT_BYTES));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
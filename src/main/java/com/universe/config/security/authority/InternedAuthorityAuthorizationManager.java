@@ -0,0 +1,65 @@
+package com.universe.config.security.authority;
+
+import org.springframework.security.authorization.AuthorizationDecision;
+import org.springframework.security.authorization.AuthorizationManager;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+
+import java.util.Collection;
+import java.util.function.Supplier;
+
+/**
+ * AuthorizationManager equivalente a hasAuthority(...) que, cuando las autoridades del usuario son un AuthoritySet,
+ * resuelve la decisión consultando un bit en lugar de recorrer la lista comparando cadenas.
+ * Las dos decisiones posibles son constantes, así que comprobar una autoridad no crea objetos.
+ * Para cualquier otro tipo de Authentication se comporta igual que la comprobación estándar de Spring Security.
+ * @author Jose Navarro
+ * @version 1.0.0
+ */
+public final class InternedAuthorityAuthorizationManager<T> implements AuthorizationManager<T> {
+
+    private static final AuthorizationDecision GRANTED = new AuthorizationDecision(true);
+
+    private static final AuthorizationDecision DENIED = new AuthorizationDecision(false);
+
+    private final String authority;
+
+    private final int position;
+
+    InternedAuthorityAuthorizationManager(String authority, int position) {
+        this.authority = authority;
+        this.position = position;
+    }
+
+    @Override
+    public AuthorizationDecision check(Supplier<Authentication> authentication, T object) {
+        return this.isGranted(authentication.get()) ? GRANTED : DENIED;
+    }
+
+    public boolean isGranted(Authentication authentication) {
+        if (authentication == null || !authentication.isAuthenticated()) {
+            return false;
+        }
+
+        Collection<? extends GrantedAuthority> authorities = authentication.getAuthorities();
+        if (authorities instanceof AuthoritySet authoritySet) {
+            return authoritySet.hasPosition(this.position);
+        }
+
+        for (GrantedAuthority grantedAuthority : authorities) {
+            if (this.authority.equals(grantedAuthority.getAuthority())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public String getAuthority() {
+        return this.authority;
+    }
+
+    @Override
+    public String toString() {
+        return "InternedAuthorityAuthorizationManager[authority=" + this.authority + ", position=" + this.position + "]";
+    }
+}
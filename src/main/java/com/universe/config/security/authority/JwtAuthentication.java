@@ -0,0 +1,102 @@
+package com.universe.config.security.authority;
+
+import org.springframework.security.core.Authentication;
+
+import java.io.Serial;
+import java.time.Instant;
+import java.util.Objects;
+
+/**
+ * Authentication inmutable construido a partir de un token JWT ya verificado.
+ * A diferencia de UsernamePasswordAuthenticationToken no copia las autoridades:
+ * devuelve directamente el AuthoritySet compartido obtenido desde AuthorityRegistry.
+ * Al ser inmutable se puede guardar en VerifiedTokenCache y reutilizar entre peticiones.
+ * Conserva también el jti y la expiración del token para poder revocarlo (TokenRevocationService).
+ * @author Jose Navarro
+ * @version 1.0.0
+ */
+public final class JwtAuthentication implements Authentication {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    private final String username;
+
+    private final AuthoritySet authorities;
+
+    private final String tokenId;
+
+    private final Instant expiresAt;
+
+    public JwtAuthentication(String username, AuthoritySet authorities, String tokenId, Instant expiresAt) {
+        this.username = username;
+        this.authorities = authorities;
+        this.tokenId = tokenId;
+        this.expiresAt = expiresAt;
+    }
+
+    public String getTokenId() {
+        return this.tokenId;
+    }
+
+    public Instant getExpiresAt() {
+        return this.expiresAt;
+    }
+
+    @Override
+    public AuthoritySet getAuthorities() {
+        return this.authorities;
+    }
+
+    @Override
+    public Object getCredentials() {
+        return null;
+    }
+
+    @Override
+    public Object getDetails() {
+        return null;
+    }
+
+    @Override
+    public Object getPrincipal() {
+        return this.username;
+    }
+
+    @Override
+    public boolean isAuthenticated() {
+        return true;
+    }
+
+    @Override
+    public void setAuthenticated(boolean isAuthenticated) {
+        throw new IllegalArgumentException("JwtAuthentication is immutable and always authenticated");
+    }
+
+    @Override
+    public String getName() {
+        return this.username;
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        if (this == other) {
+            return true;
+        }
+        if (!(other instanceof JwtAuthentication that)) {
+            return false;
+        }
+        return this.username.equals(that.username) && this.authorities.equals(that.authorities)
+                && Objects.equals(this.tokenId, that.tokenId);
+    }
+
+    @Override
+    public int hashCode() {
+        return this.username.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return "JwtAuthentication[username=" + this.username + ", authorities=" + this.authorities + "]";
+    }
+}
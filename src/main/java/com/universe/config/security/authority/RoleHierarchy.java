@@ -0,0 +1,186 @@
+package com.universe.config.security.authority;
+
+import com.universe.persistence.entity.PermissionEntity;
+import com.universe.persistence.repository.RoleRepository;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Jerarquía de roles (tabla role_inheritance) con las autoridades efectivas de cada rol ya calculadas.
+ * (1) Un rol hereda los permisos de sus roles padre y, transitivamente, de los padres de estos. No hereda su ROLE_:
+ *     DEVELOPER hereda los permisos de ADMIN pero no pasa las reglas que exigen ROLE_ADMIN.
+ * (2) reload() lee los roles con sus permisos (una consulta con join fetch) y las relaciones de herencia (otra consulta), calcula el cierre transitivo
+ *     y guarda por cada rol un BitSet con las posiciones de AuthorityRegistry de su ROLE_ y de todos sus permisos.
+ *     Se ejecuta al arrancar (@PostConstruct), cuando cambia un rol (PermissionChangeService) y cada security.authorities.roles.reload-interval.
+ * (3) authoritiesOf(Collection) une los BitSet de los roles de un usuario y devuelve el AuthoritySet compartido del registro,
+ *     sin recorrer la jerarquía ni consultar la base de datos. Lo usan loadUserByUsername y la creación de usuarios,
+ *     así que los tokens llevan ya las autoridades efectivas.
+ *     Un rol que no está en la jerarquía solo aporta su ROLE_ y se registra una vez en el log; no se recarga la jerarquía
+ *     en el login, porque con un ciclo en la base de datos cada login repetiría una recarga que se rechaza.
+ * (4) Una jerarquía con ciclos no se acepta: RoleService bloquea los roles y, dentro de la misma transacción, comprueba con
+ *     checkParents la jerarquía que hay en la base de datos con los padres nuevos. Si aun así la base de datos tiene un ciclo
+ *     (por ejemplo, editada a mano), reload() lo registra y conserva la jerarquía anterior.
+ * @author Jose Navarro
+ * @version 1.0.0
+ */
+@Component
+public class RoleHierarchy {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(RoleHierarchy.class);
+
+    @Autowired
+    private RoleRepository roleRepository;
+
+    @Autowired
+    private AuthorityRegistry authorityRegistry;
+
+    private volatile Graph graph = new Graph(Map.of(), Map.of());
+
+    private final Set<String> unknownRoles = ConcurrentHashMap.newKeySet();
+
+    @PostConstruct
+    public void init() {
+        this.reload();
+    }
+
+    @Scheduled(fixedDelayString = "${security.authorities.roles.reload-interval:PT5M}",
+            initialDelayString = "${security.authorities.roles.reload-interval:PT5M}")
+    public synchronized void reload() {
+        Map<String, Set<String>> permissionsByRole = new HashMap<>();
+        roleRepository.findAllWithPermissions().forEach(role -> permissionsByRole.put(role.getRoleEnum().name(),
+                role.getPermissionList().stream().map(PermissionEntity::getName).collect(Collectors.toSet())));
+
+        Map<String, Set<String>> parentsByRole = readParents();
+
+        Map<String, Set<String>> ancestorsByRole;
+        try {
+            ancestorsByRole = ancestors(permissionsByRole.keySet(), parentsByRole);
+        } catch (IllegalStateException exception) {
+            LOGGER.error("Ignoring the role hierarchy, keeping the previous one", exception);
+            return;
+        }
+
+        Map<String, BitSet> closures = new HashMap<>();
+        ancestorsByRole.forEach((role, ancestors) -> {
+            BitSet bits = new BitSet();
+            bits.set(authorityRegistry.register(AuthorityRegistry.ROLE_PREFIX.concat(role)));
+            permissionsByRole.getOrDefault(role, Set.of()).forEach(permission -> bits.set(authorityRegistry.register(permission)));
+            ancestors.forEach(ancestor -> permissionsByRole.getOrDefault(ancestor, Set.of())
+                    .forEach(permission -> bits.set(authorityRegistry.register(permission))));
+            closures.put(role, bits);
+        });
+        this.graph = new Graph(closures, ancestorsByRole);
+        this.unknownRoles.clear();
+    }
+
+    /**
+     * Autoridades efectivas de un usuario con los roles indicados (nombres de RoleEnum, sin el prefijo ROLE_).
+     */
+    public AuthoritySet authoritiesOf(Collection<String> roleNames) {
+        Graph current = this.graph;
+        BitSet bits = new BitSet();
+        for (String roleName : roleNames) {
+            BitSet closure = current.closures().get(roleName);
+            if (closure != null) {
+                bits.or(closure);
+            } else {
+                if (this.unknownRoles.add(roleName)) {
+                    LOGGER.warn("The role {} is not in the role hierarchy, granting only its {} authority until the next reload",
+                            roleName, AuthorityRegistry.ROLE_PREFIX.concat(roleName));
+                }
+                bits.set(authorityRegistry.register(AuthorityRegistry.ROLE_PREFIX.concat(roleName)));
+            }
+        }
+        return authorityRegistry.intern(bits);
+    }
+
+    /**
+     * El rol indicado y todos los roles que heredan de él, es decir, los roles cuyas autoridades cambian si cambia este.
+     */
+    public Set<String> rolesInheriting(String roleName) {
+        Set<String> roles = new HashSet<>();
+        roles.add(roleName);
+        this.graph.ancestors().forEach((role, ancestors) -> {
+            if (ancestors.contains(roleName)) {
+                roles.add(role);
+            }
+        });
+        return roles;
+    }
+
+    /**
+     * Lanza IllegalArgumentException si dar al rol esos padres crearía un ciclo en la jerarquía.
+     * Lee las relaciones de herencia de la base de datos y no de la jerarquía en memoria, que puede estar desactualizada:
+     * hay que llamarlo dentro de la transacción que guarda los padres y con los roles bloqueados (RoleRepository.findAllForUpdate).
+     */
+    public void checkParents(String roleName, Collection<String> parentRoleNames) {
+        Map<String, Set<String>> parentsByRole = readParents();
+        parentsByRole.put(roleName, new HashSet<>(parentRoleNames));
+        try {
+            ancestors(Set.of(roleName), parentsByRole);
+        } catch (IllegalStateException exception) {
+            throw new IllegalArgumentException("The role " + roleName + " cannot inherit from " + parentRoleNames + " because it would create a cycle.");
+        }
+    }
+
+    private Map<String, Set<String>> readParents() {
+        Map<String, Set<String>> parentsByRole = new HashMap<>();
+        roleRepository.findRoleInheritance().forEach(inheritance -> parentsByRole
+                .computeIfAbsent(inheritance.getRoleEnum().name(), role -> new HashSet<>())
+                .add(inheritance.getParentRoleEnum().name()));
+        return parentsByRole;
+    }
+
+    /**
+     * Calcula los ancestros (padres, padres de los padres...) de cada rol con una búsqueda en profundidad memorizada.
+     * @throws IllegalStateException si la jerarquía tiene un ciclo.
+     */
+    static Map<String, Set<String>> ancestors(Set<String> roles, Map<String, Set<String>> parentsByRole) {
+        Map<String, Set<String>> ancestorsByRole = new HashMap<>();
+        Set<String> allRoles = new HashSet<>(roles);
+        parentsByRole.values().forEach(allRoles::addAll);
+        for (String role : allRoles) {
+            collectAncestors(role, parentsByRole, ancestorsByRole, new HashSet<>());
+        }
+        return ancestorsByRole;
+    }
+
+    private static Set<String> collectAncestors(String role, Map<String, Set<String>> parentsByRole,
+                                                Map<String, Set<String>> ancestorsByRole, Set<String> visiting) {
+        Set<String> known = ancestorsByRole.get(role);
+        if (known != null) {
+            return known;
+        }
+        if (!visiting.add(role)) {
+            throw new IllegalStateException("The role hierarchy has a cycle through " + role);
+        }
+        Set<String> ancestors = new HashSet<>();
+        for (String parent : parentsByRole.getOrDefault(role, Set.of())) {
+            ancestors.add(parent);
+            ancestors.addAll(collectAncestors(parent, parentsByRole, ancestorsByRole, visiting));
+        }
+        visiting.remove(role);
+        Set<String> immutableAncestors = Set.copyOf(ancestors);
+        ancestorsByRole.put(role, immutableAncestors);
+        return immutableAncestors;
+    }
+
+    /**
+     * Estado inmutable de la jerarquía: autoridades efectivas (posiciones del registro) y ancestros de cada rol.
+     */
+    private record Graph(Map<String, BitSet> closures, Map<String, Set<String>> ancestors) {
+    }
+}
@@ -0,0 +1,172 @@
+package com.universe.config.security.authorization;
+
+import com.universe.config.security.EndpointAuthorizationRules.EndpointRule;
+import com.universe.config.security.authority.AuthorityRegistry;
+import com.universe.config.security.authority.InternedAuthorityAuthorizationManager;
+import org.springframework.security.core.Authentication;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Tabla de reglas de autorización precompilada: un árbol de segmentos de ruta (trie) por método HTTP.
+ * Resolver una petición recorre la ruta una sola vez, segmento a segmento, así que el coste depende de la longitud de la ruta
+ * y no del número de reglas (a diferencia de requestMatchers, que se evalúan en orden hasta que uno coincide).
+ * (1) Patrones admitidos: segmentos literales, "*" o "{variable}" (un segmento cualquiera) y "**" como último segmento (el resto de la ruta, incluso vacío).
+ * (2) Si varias reglas coinciden gana la más específica: un segmento literal antes que "*", y "*" antes que "**".
+ * (3) Cada regla guarda el InternedAuthorityAuthorizationManager de su autoridad, así que la decisión es comprobar un bit del AuthoritySet.
+ *     Una regla sin autoridad es pública. Una ruta sin regla se deniega.
+ * (4) Las reglas con el método ANY se aplican a cualquier método, pero solo si no coincide ninguna regla del método de la petición,
+ *     aunque esa regla sea menos específica.
+ * La tabla es inmutable: para cambiar las reglas se compila una tabla nueva y se sustituye (ver RuleTableAuthorizationManager).
+ * @author Jose Navarro
+ * @version 1.0.0
+ */
+public final class AuthorizationRuleTable {
+
+    public static final String ANY_METHOD = "ANY";
+
+    private static final String SINGLE_SEGMENT_WILDCARD = "*";
+
+    private static final String REMAINDER_WILDCARD = "**";
+
+    private final Map<String, Node> roots;
+
+    private final int size;
+
+    private AuthorizationRuleTable(Map<String, Node> roots, int size) {
+        this.roots = roots;
+        this.size = size;
+    }
+
+    /**
+     * Compila las reglas en una tabla. Si dos reglas tienen el mismo método y patrón, prevalece la última.
+     * @throws IllegalArgumentException si algún patrón no es válido.
+     */
+    public static AuthorizationRuleTable compile(Iterable<EndpointRule> endpointRules, AuthorityRegistry authorityRegistry) {
+        Map<String, Node> roots = new HashMap<>();
+        int size = 0;
+        for (EndpointRule endpointRule : endpointRules) {
+            InternedAuthorityAuthorizationManager<Object> authorizationManager = endpointRule.isPublic()
+                    ? null
+                    : authorityRegistry.hasAuthority(endpointRule.authority());
+            Rule rule = new Rule(endpointRule, authorizationManager);
+
+            Node node = roots.computeIfAbsent(endpointRule.method().name(), method -> new Node());
+            String[] segments = segments(endpointRule.pattern());
+            for (int i = 0; i < segments.length; i++) {
+                String segment = segments[i];
+                if (REMAINDER_WILDCARD.equals(segment)) {
+                    node.remainderRule = rule;
+                    node = null;
+                    break;
+                }
+                if (SINGLE_SEGMENT_WILDCARD.equals(segment) || isVariable(segment)) {
+                    if (node.wildcard == null) {
+                        node.wildcard = new Node();
+                    }
+                    node = node.wildcard;
+                } else {
+                    node = node.children.computeIfAbsent(segment, literal -> new Node());
+                }
+            }
+            if (node != null) {
+                node.rule = rule;
+            }
+            size++;
+        }
+        return new AuthorizationRuleTable(roots, size);
+    }
+
+    /**
+     * Comprueba que el patrón se puede compilar ("**" solo como último segmento).
+     */
+    public static void validatePattern(String pattern) {
+        segments(pattern);
+    }
+
+    /**
+     * Devuelve la regla más específica para el método y la ruta, o null si ninguna coincide.
+     */
+    public Rule lookup(String method, String path) {
+        Node root = this.roots.get(method);
+        Rule rule = root == null ? null : match(root, path, 0);
+        if (rule != null) {
+            return rule;
+        }
+        Node anyMethodRoot = this.roots.get(ANY_METHOD);
+        return anyMethodRoot == null ? null : match(anyMethodRoot, path, 0);
+    }
+
+    public int size() {
+        return this.size;
+    }
+
+    private static Rule match(Node node, String path, int start) {
+        int length = path.length();
+        while (start < length && path.charAt(start) == '/') {
+            start++;
+        }
+        if (start == length) {
+            return node.rule != null ? node.rule : node.remainderRule;
+        }
+
+        int end = path.indexOf('/', start);
+        if (end < 0) {
+            end = length;
+        }
+
+        Node literal = node.children.isEmpty() ? null : node.children.get(path.substring(start, end));
+        if (literal != null) {
+            Rule rule = match(literal, path, end);
+            if (rule != null) {
+                return rule;
+            }
+        }
+        if (node.wildcard != null) {
+            Rule rule = match(node.wildcard, path, end);
+            if (rule != null) {
+                return rule;
+            }
+        }
+        return node.remainderRule;
+    }
+
+    private static String[] segments(String pattern) {
+        String[] segments = Arrays.stream(pattern.split("/"))
+                .filter(segment -> !segment.isEmpty())
+                .toArray(String[]::new);
+        for (int i = 0; i < segments.length - 1; i++) {
+            if (REMAINDER_WILDCARD.equals(segments[i])) {
+                throw new IllegalArgumentException("'**' is only allowed as the last segment: " + pattern);
+            }
+        }
+        return segments;
+    }
+
+    private static boolean isVariable(String segment) {
+        return segment.length() > 2 && segment.charAt(0) == '{' && segment.charAt(segment.length() - 1) == '}';
+    }
+
+    /**
+     * Regla compilada: la definición original y el AuthorizationManager de su autoridad (null si es pública).
+     */
+    public record Rule(EndpointRule endpointRule, InternedAuthorityAuthorizationManager<Object> authorizationManager) {
+
+        public boolean isGranted(Authentication authentication) {
+            return this.authorizationManager == null || this.authorizationManager.isGranted(authentication);
+        }
+    }
+
+    private static final class Node {
+
+        private final Map<String, Node> children = new HashMap<>();
+
+        private Node wildcard;
+
+        private Rule rule;
+
+        private Rule remainderRule;
+    }
+}
@@ -0,0 +1,130 @@
+package com.universe.config.security.authorization;
+
+import com.universe.config.security.EndpointAuthorizationRules;
+import com.universe.config.security.EndpointAuthorizationRules.EndpointRule;
+import com.universe.config.security.authority.AuthorityRegistry;
+import com.universe.persistence.repository.AuthorizationRuleRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.servlet.http.HttpServletRequest;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpMethod;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.authorization.AuthorizationDecision;
+import org.springframework.security.authorization.AuthorizationManager;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.web.access.intercept.RequestAuthorizationContext;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * AuthorizationManager de todas las peticiones: resuelve la regla del método y la ruta en un AuthorizationRuleTable
+ * en lugar de evaluar una cadena de requestMatchers en orden.
+ * (1) Las reglas son las de EndpointAuthorizationRules más las de la tabla authorization_rules (AuthorizationRuleRepository),
+ *     compiladas en dos tablas. Primero se busca en la de configuración y solo si ninguna regla coincide en la de la base de datos,
+ *     así que desde el API de administración no se puede abrir ni cambiar una ruta protegida por la configuración (/admin/**, /actuator/**...).
+ *     Las reglas de la base de datos sin autoridad se ignoran: solo la configuración puede declarar rutas públicas.
+ * (2) reload() compila una tabla nueva de la base de datos y la publica con una escritura volatile: las peticiones en curso terminan con la tabla anterior
+ *     y no hace falta reconstruir la cadena de filtros. Se llama al arrancar, después de cada cambio desde el API de administración
+ *     y periódicamente (security.authorization.rules.reload-interval) para recoger los cambios hechos en otros nodos.
+ * (3) Si una recarga falla (por ejemplo un patrón no válido en la base de datos) se mantiene la tabla anterior.
+ * @author Jose Navarro
+ * @version 1.0.0
+ */
+@Component
+public class RuleTableAuthorizationManager implements AuthorizationManager<RequestAuthorizationContext> {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(RuleTableAuthorizationManager.class);
+
+    private static final AuthorizationDecision GRANTED = new AuthorizationDecision(true);
+
+    private static final AuthorizationDecision DENIED = new AuthorizationDecision(false);
+
+    @Autowired
+    private EndpointAuthorizationRules endpointAuthorizationRules;
+
+    @Autowired
+    private AuthorizationRuleRepository authorizationRuleRepository;
+
+    @Autowired
+    private AuthorityRegistry authorityRegistry;
+
+    private AuthorizationRuleTable configuredRuleTable;
+
+    private volatile AuthorizationRuleTable databaseRuleTable;
+
+    @PostConstruct
+    public void init() {
+        this.configuredRuleTable = AuthorizationRuleTable.compile(this.endpointAuthorizationRules.rules(), this.authorityRegistry);
+        this.databaseRuleTable = this.compileDatabaseRules();
+    }
+
+    @Scheduled(fixedDelayString = "${security.authorization.rules.reload-interval:PT1M}")
+    public void reload() {
+        try {
+            this.databaseRuleTable = this.compileDatabaseRules();
+        } catch (RuntimeException exception) {
+            LOGGER.warn("Could not reload the authorization rules, keeping the previous table", exception);
+        }
+    }
+
+    @Override
+    public AuthorizationDecision check(Supplier<Authentication> authentication, RequestAuthorizationContext context) {
+        HttpServletRequest request = context.getRequest();
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        AuthorizationRuleTable.Rule rule = this.lookup(request.getMethod(), path);
+        return rule != null && rule.isGranted(authentication.get()) ? GRANTED : DENIED;
+    }
+
+    /**
+     * Decisión para un método y una ruta, usada también por la cadena reactiva. authentication puede ser null.
+     */
+    public boolean isGranted(Authentication authentication, String method, String path) {
+        AuthorizationRuleTable.Rule rule = this.lookup(method, path);
+        return rule != null && rule.isGranted(authentication);
+    }
+
+    /**
+     * Regla de configuración que ya cubre el patrón para el método (para ANY, para alguno de los métodos), o null si no hay ninguna.
+     * Una regla de la base de datos con ese patrón nunca se aplicaría, porque la de configuración tiene prioridad.
+     */
+    public EndpointRule configuredRule(String method, String pattern) {
+        List<String> methods = AuthorizationRuleTable.ANY_METHOD.equals(method)
+                ? Arrays.stream(HttpMethod.values()).map(HttpMethod::name).toList()
+                : List.of(method);
+        for (String candidate : methods) {
+            AuthorizationRuleTable.Rule rule = this.configuredRuleTable.lookup(candidate, pattern);
+            if (rule != null) {
+                return rule.endpointRule();
+            }
+        }
+        return null;
+    }
+
+    public int size() {
+        return this.configuredRuleTable.size() + this.databaseRuleTable.size();
+    }
+
+    private AuthorizationRuleTable.Rule lookup(String method, String path) {
+        AuthorizationRuleTable.Rule rule = this.configuredRuleTable.lookup(method, path);
+        return rule != null ? rule : this.databaseRuleTable.lookup(method, path);
+    }
+
+    private AuthorizationRuleTable compileDatabaseRules() {
+        List<EndpointRule> rules = new ArrayList<>();
+        this.authorizationRuleRepository.findAll().forEach(ruleEntity -> {
+            if (!StringUtils.hasText(ruleEntity.getAuthority())) {
+                LOGGER.warn("Ignoring authorization rule {} {} without authority", ruleEntity.getHttpMethod(), ruleEntity.getPathPattern());
+                return;
+            }
+            rules.add(new EndpointRule(HttpMethod.valueOf(ruleEntity.getHttpMethod()), ruleEntity.getPathPattern(), ruleEntity.getAuthority()));
+        });
+        return AuthorizationRuleTable.compile(rules, this.authorityRegistry);
+    }
+}
@@ -0,0 +1,146 @@
+package com.universe.config.security.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.Authentication;
+import org.springframework.stereotype.Component;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Date;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Esta clase guarda los tokens JWT que ya fueron verificados junto con el objeto Authentication construido a partir de ellos,
+ * de modo que un mismo token enviado varias veces solo pague la verificación de la firma y el parseo de las autoridades la primera vez.
+ * (1) La clave de la caché es el SHA-256 del token, así nunca se guarda el token en claro.
+ * (2) Cada entrada expira exactamente en el "exp" del token, por lo que un token vencido nunca se devuelve desde la caché.
+ * (3) El tamaño máximo se configura con security.jwt.cache.max-size; al superarlo se desalojan las entradas menos usadas.
+ * (4) stats() expone los contadores de aciertos, fallos y desalojos.
+ * (5) invalidateUsers(Set) borra de una pasada las entradas de varios usuarios, para aplicar un cambio de permisos.
+ * @author Jose Navarro
+ * @version 1.0.0
+ */
+@Component
+public class VerifiedTokenCache {
+
+    /**
+     * Prototipo que nunca se usa directamente: cada resumen trabaja sobre un clon, que sirve igual en hilos de plataforma
+     * y en hilos virtuales (donde un ThreadLocal se reconstruiría en cada petición).
+     */
+    private static final MessageDigest SHA_256 = sha256Prototype();
+
+    @Value("${security.jwt.cache.max-size:10000}")
+    private long maxSize;
+
+    private Cache<TokenDigest, VerifiedToken> cache;
+
+    @PostConstruct
+    public void init() {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(this.maxSize)
+                .expireAfter(new TokenExpiry())
+                .recordStats()
+                .build();
+    }
+
+    public Authentication get(String token) {
+        VerifiedToken verifiedToken = this.cache.getIfPresent(TokenDigest.of(token));
+        return verifiedToken == null ? null : verifiedToken.authentication();
+    }
+
+    public void put(String token, Authentication authentication, Date expiresAt) {
+        if (expiresAt == null || expiresAt.getTime() <= System.currentTimeMillis()) {
+            return;
+        }
+        this.cache.put(TokenDigest.of(token), new VerifiedToken(authentication, expiresAt.getTime()));
+    }
+
+    public void invalidate(String token) {
+        this.cache.invalidate(TokenDigest.of(token));
+    }
+
+    public void invalidateUsers(Set<String> usernames) {
+        if (usernames.isEmpty()) {
+            return;
+        }
+        this.cache.asMap().values().removeIf(verifiedToken -> usernames.contains(verifiedToken.authentication().getName()));
+    }
+
+    public void invalidateAll() {
+        this.cache.invalidateAll();
+    }
+
+    public long estimatedSize() {
+        return this.cache.estimatedSize();
+    }
+
+    public CacheStats stats() {
+        return this.cache.stats();
+    }
+
+    /**
+     * Authentication ya construido para un token y el instante (epoch millis) en el que el token expira.
+     */
+    public record VerifiedToken(Authentication authentication, long expiresAtMillis) {
+    }
+
+    private static MessageDigest sha256Prototype() {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.clone();
+            return digest;
+        } catch (NoSuchAlgorithmException | CloneNotSupportedException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    private static MessageDigest newSha256() {
+        try {
+            return (MessageDigest) SHA_256.clone();
+        } catch (CloneNotSupportedException e) {
+            throw new IllegalStateException("Unable to clone SHA-256", e);
+        }
+    }
+
+    /**
+     * SHA-256 de un token guardado como cuatro long, que evita mantener el token o su representación en texto en memoria.
+     */
+    record TokenDigest(long a, long b, long c, long d) {
+
+        static TokenDigest of(String token) {
+            MessageDigest digest = newSha256();
+            ByteBuffer hash = ByteBuffer.wrap(digest.digest(token.getBytes(StandardCharsets.UTF_8)));
+            return new TokenDigest(hash.getLong(), hash.getLong(), hash.getLong(), hash.getLong());
+        }
+    }
+
+    /**
+     * Hace que cada entrada viva exactamente hasta el "exp" de su token; leerla no extiende su vida.
+     */
+    private static final class TokenExpiry implements Expiry<TokenDigest, VerifiedToken> {
+
+        @Override
+        public long expireAfterCreate(TokenDigest key, VerifiedToken value, long currentTime) {
+            long remainingMillis = Math.max(0, value.expiresAtMillis() - System.currentTimeMillis());
+            return TimeUnit.MILLISECONDS.toNanos(remainingMillis);
+        }
+
+        @Override
+        public long expireAfterUpdate(TokenDigest key, VerifiedToken value, long currentTime, long currentDuration) {
+            return this.expireAfterCreate(key, value, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(TokenDigest key, VerifiedToken value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
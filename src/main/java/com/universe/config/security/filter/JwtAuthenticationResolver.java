@@ -0,0 +1,127 @@
+package com.universe.config.security.filter;
+
+import com.auth0.jwt.exceptions.JWTVerificationException;
+import com.auth0.jwt.interfaces.DecodedJWT;
+import com.universe.config.security.authority.AuthorityOverrides;
+import com.universe.config.security.authority.AuthoritySet;
+import com.universe.config.security.authority.JwtAuthentication;
+import com.universe.config.security.cache.VerifiedTokenCache;
+import com.universe.config.security.metrics.AuthenticationMetrics;
+import com.universe.service.TokenRevocationService;
+import com.universe.util.JwtUtils;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.security.core.Authentication;
+import org.springframework.stereotype.Component;
+
+/**
+ * Convierte el valor de la cabecera Authorization en el objeto Authentication del usuario.
+ * Lo comparten el filtro servlet (JwtTokenValidator) y el reactivo (ReactiveJwtTokenValidator), así que las dos variantes
+ * aplican exactamente la misma verificación, la misma caché de tokens verificados y la misma lista de revocación.
+ * No hace operaciones bloqueantes: la verificación es CPU y la revocación y los cambios de permisos (AuthorityOverrides) se consultan en memoria.
+ * @author Jose Navarro
+ * @version 1.0.0
+ */
+@Component
+public class JwtAuthenticationResolver {
+
+    private static final String BEARER_PREFIX = "Bearer ";
+
+    @Autowired
+    private JwtUtils jwtUtils;
+
+    @Autowired
+    private VerifiedTokenCache verifiedTokenCache;
+
+    @Autowired
+    private TokenRevocationService tokenRevocationService;
+
+    @Autowired
+    private AuthorityOverrides authorityOverrides;
+
+    @Autowired
+    private AuthenticationMetrics authenticationMetrics;
+
+    /**
+     * @param authorizationHeader Valor de la cabecera Authorization ("Bearer " seguido del token JWT).
+     * @return El objeto de autenticación del token.
+     * @throws JWTVerificationException Si la cabecera no es "Bearer " seguido de un token, o si el token no es válido o fue revocado.
+     */
+    public Authentication resolve(String authorizationHeader) {
+        /**
+         * Si la cabecera no empieza por el prefijo "Bearer " (sin distinguir mayúsculas, como indica la RFC 6750)
+         * o no trae nada detrás, la petición se trata como un token mal formado en lugar de fallar al recortarla.
+         */
+        if (authorizationHeader.length() <= BEARER_PREFIX.length()
+                || !authorizationHeader.regionMatches(true, 0, BEARER_PREFIX, 0, BEARER_PREFIX.length())) {
+            authenticationMetrics.tokenFailure(AuthenticationMetrics.FailureReason.MALFORMED);
+            throw new JWTVerificationException("Token invalid, not Authorized");
+        }
+
+        /**
+         * Elimina el prefijo "Bearer " de la cabecera de autorización para quedarse solo con el token JWT.
+         */
+        String jwtToken = authorizationHeader.substring(BEARER_PREFIX.length());
+
+        /**
+         * Si el token ya fue verificado antes y no ha expirado, reutiliza el objeto de autenticacion guardado
+         * y se evita verificar la firma, leer los claims y construir las autoridades otra vez.
+         */
+        Authentication authenticationToken = verifiedTokenCache.get(jwtToken);
+
+        if (authenticationToken == null) {
+            long overridesVersion = authorityOverrides.version();
+
+            /**
+             * Extrae el nombre de ususaio y los roles del token JWT decodificado
+             */
+            DecodedJWT decodedJWT = jwtUtils.validateToken(jwtToken);
+
+            /**
+             * Extrae el nombre de usuario del token JWT decodificado y lo almacena en la variable "username".
+             */
+            String username = jwtUtils.extractUsername(decodedJWT);
+
+            /**
+             * Obtiene del registro el conjunto de autoridades compartido que corresponde al claim del token,
+             * en lugar de construir una coleccion nueva de Objetos GrantedAuthority en cada peticion.
+             * Se aceptan tanto el claim compacto como la cadena separada por comas.
+             */
+            AuthoritySet authorities = jwtUtils.extractAuthorities(decodedJWT);
+
+            /**
+             * Si los permisos de alguno de sus roles cambiaron despues de emitir el token, se usan las autoridades vigentes del usuario.
+             */
+            AuthoritySet currentAuthorities = authorityOverrides.find(username);
+            if (currentAuthorities != null) {
+                authorities = currentAuthorities;
+            }
+
+            /**
+             * Crea un nuevo objeto de autenticacion con el onmbre de usuaruio y las autoridades extraidas del token JWT
+             * y lo guarda en la cache hasta que el token expire.
+             */
+            authenticationToken = new JwtAuthentication(username, authorities, decodedJWT.getId(), decodedJWT.getExpiresAtAsInstant());
+            verifiedTokenCache.put(jwtToken, authenticationToken, decodedJWT.getExpiresAt());
+
+            /**
+             * Si cambiaron permisos mientras se construia, la entrada puede tener las autoridades anteriores y no se conserva.
+             */
+            if (authorityOverrides.version() != overridesVersion) {
+                verifiedTokenCache.invalidate(jwtToken);
+            }
+        }
+
+        /**
+         * Comprueba si el token fue revocado (logout o revocacion de un administrador), tambien cuando viene de la cache.
+         * Para los tokens no revocados el filtro de Bloom responde sin consultar la base de datos.
+         */
+        if (authenticationToken instanceof JwtAuthentication jwtAuthentication
+                && tokenRevocationService.isRevoked(jwtAuthentication.getTokenId())) {
+            verifiedTokenCache.invalidate(jwtToken);
+            authenticationMetrics.tokenFailure(AuthenticationMetrics.FailureReason.REVOKED);
+            throw new JWTVerificationException("Token revoked, not Authorized");
+        }
+
+        return authenticationToken;
+    }
+}
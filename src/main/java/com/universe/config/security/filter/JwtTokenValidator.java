@@ -1,22 +1,17 @@
 package com.universe.config.security.filter;
 
-import com.auth0.jwt.interfaces.DecodedJWT;
-import com.universe.util.JwtUtils;
+import com.auth0.jwt.exceptions.JWTVerificationException;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.http.HttpHeaders;
 import org.springframework.lang.NonNull;
-import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
-import org.springframework.security.core.GrantedAuthority;
-import org.springframework.security.core.authority.AuthorityUtils;
 import org.springframework.security.core.context.SecurityContext;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.filter.OncePerRequestFilter;
 import java.io.IOException;
-import java.util.Collection;
 
 /**
  * Esta clase se encarga de validar el token JWT que se encuentra en el header de la petición
@@ -27,11 +22,11 @@ import java.util.Collection;
 
 public class JwtTokenValidator extends OncePerRequestFilter {
 
-    private JwtUtils jwtUtils;
+    private JwtAuthenticationResolver jwtAuthenticationResolver;
 
-    public JwtTokenValidator(JwtUtils jwtUtils) {
+    public JwtTokenValidator(JwtAuthenticationResolver jwtAuthenticationResolver) {
 
-        this.jwtUtils = jwtUtils;
+        this.jwtAuthenticationResolver = jwtAuthenticationResolver;
     }
 
     /**
@@ -54,35 +49,23 @@ public class JwtTokenValidator extends OncePerRequestFilter {
         if (jwtToken != null) {
 
             /**
-             * Eliminia los primero 7 caracteres del token JWT. Esto se hace generalmente para elminiar el prefijo
-             * "Bearer" que emilio el token JWT. en el encabezado de autorización.
+             * Valida el token (o lo toma de la cache de tokens verificados), comprueba que no este revocado
+             * y obtiene el objeto de autenticacion con el nombre de usuario y las autoridades.
+             * Si la cabecera no es "Bearer " seguida de un token valido responde 401 (Unauthorized) sin continuar la cadena,
+             * igual que ReactiveJwtTokenValidator.
              */
-            jwtToken = jwtToken.substring(7);
-
-            /**
-             * Extrae el nombre de ususaio y los roles del token JWT decodificado
-             */
-            DecodedJWT decodedJWT = jwtUtils.validateToken(jwtToken);
-
-            /**
-             * Extrae el nombre de usuario del token JWT decodificado y lo almacena en la variable "username".
-             */
-            String username = jwtUtils.extractUsername(decodedJWT);
-            String stringAuthorities = jwtUtils.getSpecificClaim(decodedJWT, "authorities").asString();
-
-            /**
-             * Convierte la lista de autoridades de una cadena separada por comas a una coleccion de Objetos GrantedAuthority.
-             */
-            Collection<? extends GrantedAuthority> authorities = AuthorityUtils.commaSeparatedStringToAuthorityList(stringAuthorities);
+            Authentication authenticationToken;
+            try {
+                authenticationToken = jwtAuthenticationResolver.resolve(jwtToken);
+            } catch (JWTVerificationException exception) {
+                response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
+                return;
+            }
 
             /**
              * Crea un nuevo contexto de seguridad vacio
              */
             SecurityContext context = SecurityContextHolder.createEmptyContext();
-            /**
-             * Crea un nuevo objeto de autenticacion con el onmbre de usuaruio y las autoridades extraidas del token JWT
-             */
-            Authentication authenticationToken = new UsernamePasswordAuthenticationToken(username, null, authorities);
             /**
              * Establece el contecto de seguridad en el SecurityContextHolder,
              * que es una clase que almacena los detalles de la autenticacion.
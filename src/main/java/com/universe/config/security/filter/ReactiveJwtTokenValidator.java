@@ -0,0 +1,50 @@
+package com.universe.config.security.filter;
+
+import com.auth0.jwt.exceptions.JWTVerificationException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.lang.NonNull;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.ReactiveSecurityContextHolder;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+
+/**
+ * Versión reactiva de JwtTokenValidator: valida el token JWT de la cabecera Authorization
+ * y deja la autenticación en el contexto de Reactor (ReactiveSecurityContextHolder) en lugar de en un ThreadLocal.
+ * La validación la hace el mismo JwtAuthenticationResolver que usa el filtro servlet y no bloquea el hilo del event loop.
+ * Si la cabecera no es "Bearer " seguida de un token, o el token no es válido o fue revocado, responde 401 (Unauthorized) sin continuar la cadena.
+ * @author Jose Navarro
+ * @version 1.0.0
+ */
+public class ReactiveJwtTokenValidator implements WebFilter {
+
+    private final JwtAuthenticationResolver jwtAuthenticationResolver;
+
+    public ReactiveJwtTokenValidator(JwtAuthenticationResolver jwtAuthenticationResolver) {
+        this.jwtAuthenticationResolver = jwtAuthenticationResolver;
+    }
+
+    @Override
+    @NonNull
+    public Mono<Void> filter(@NonNull ServerWebExchange exchange, @NonNull WebFilterChain chain) {
+        String jwtToken = exchange.getRequest().getHeaders().getFirst(HttpHeaders.AUTHORIZATION);
+
+        if (jwtToken == null) {
+            return chain.filter(exchange);
+        }
+
+        Authentication authenticationToken;
+        try {
+            authenticationToken = jwtAuthenticationResolver.resolve(jwtToken);
+        } catch (JWTVerificationException exception) {
+            exchange.getResponse().setStatusCode(HttpStatus.UNAUTHORIZED);
+            return exchange.getResponse().setComplete();
+        }
+
+        return chain.filter(exchange)
+                .contextWrite(ReactiveSecurityContextHolder.withAuthentication(authenticationToken));
+    }
+}
@@ -2,14 +2,21 @@ package com.universe.controller;
 
 import com.universe.controller.dto.AuthCreateUserRequest;
 import com.universe.controller.dto.AuthLoginRequest;
+import com.universe.controller.dto.AuthLogoutRequest;
+import com.universe.controller.dto.AuthRefreshRequest;
 import com.universe.controller.dto.AuthResponse;
 import com.universe.service.UserDetailServiceImpl;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.concurrent.CompletableFuture;
+
 
 /**
  * (1) @RestController: Esta anotación indica que la clase es un controlador REST. Esto significa que los métodos de la clase manejarán las solicitudes HTTP y devolverán respuestas HTTP.
@@ -23,10 +30,18 @@ import org.springframework.web.bind.annotation.*;
  * (6) @PostMapping("/log-in"): Similar a @PostMapping("/sign-up"), esta anotación indica que el método login manejará las solicitudes POST a la ruta "/auth/log-in".
  * (7) public ResponseEntity<AuthResponse> login(@RequestBody @Valid AuthLoginRequest userRequest): 
  *     Este método es similar al método register, pero toma un AuthLoginRequest como entrada y llama al método loginUser del servicio userDetailService. 
- *     Devuelve una ResponseEntity con el AuthResponse devuelto por loginUser y un código de estado HTTP de 200 (OK).
+ *     Devuelve un CompletableFuture con la ResponseEntity del AuthResponse y un código de estado HTTP de 200 (OK);
+ *     Spring MVC procesa la respuesta de forma asíncrona, así que el hilo de Tomcat no espera a que termine la comparación de la contraseña.
+ *     La dirección del cliente se usa para el límite de intentos por IP; si se supera responde 429 (Too Many Requests).
+ * (8) @PostMapping("/refresh"): Este método toma un AuthRefreshRequest y llama al método refreshToken del servicio userDetailService.
+ *     Devuelve un jwt nuevo y el siguiente refresh token con un código de estado HTTP de 200 (OK). El refresh token enviado deja de ser válido.
+ * (9) @PostMapping("/log-out"): Revoca el token de acceso de la cabecera Authorization y, si se envía en el cuerpo, la familia del refresh token.
+ *     Sin un token de acceso válido responde 401 (Unauthorized).
+ * Solo se carga en la aplicación servlet; la variante reactiva es ReactiveAuthenticationController.
  */
 @RestController
 @RequestMapping("/auth")
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 public class AuthenticationController {
 
     @Autowired
@@ -37,8 +52,16 @@ public class AuthenticationController {
         return new ResponseEntity<>(this.userDetailService.createUser(userRequest), HttpStatus.CREATED);
     }
     @PostMapping("/log-in")
-    public ResponseEntity<AuthResponse> login(@RequestBody @Valid AuthLoginRequest userRequest){
-        return new ResponseEntity<>(this.userDetailService.loginUser(userRequest), HttpStatus.OK);
+    public CompletableFuture<ResponseEntity<AuthResponse>> login(@RequestBody @Valid AuthLoginRequest userRequest, HttpServletRequest request){
+        return this.userDetailService.loginUser(userRequest, request.getRemoteAddr()).thenApply(authResponse -> new ResponseEntity<>(authResponse, HttpStatus.OK));
+    }
+    @PostMapping("/refresh")
+    public ResponseEntity<AuthResponse> refresh(@RequestBody @Valid AuthRefreshRequest refreshRequest){
+        return new ResponseEntity<>(this.userDetailService.refreshToken(refreshRequest), HttpStatus.OK);
+    }
+    @PostMapping("/log-out")
+    public ResponseEntity<AuthResponse> logout(Authentication authentication, @RequestBody(required = false) AuthLogoutRequest logoutRequest){
+        return new ResponseEntity<>(this.userDetailService.logoutUser(authentication, logoutRequest), HttpStatus.OK);
     }
 
 }
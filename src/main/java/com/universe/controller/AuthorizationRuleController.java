@@ -0,0 +1,45 @@
+package com.universe.controller;
+
+import com.universe.controller.dto.AuthorizationRuleRequest;
+import com.universe.controller.dto.AuthorizationRuleResponse;
+import com.universe.service.AuthorizationRuleService;
+import jakarta.validation.Valid;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+
+/**
+ * (1) @RequestMapping("/admin/authorization-rules"): Todas las rutas definidas en este controlador estarán prefijadas con "/admin/authorization-rules".
+ * (2) @GetMapping: Devuelve las reglas de autorización guardadas en la base de datos (las de configuración no se incluyen).
+ * (3) @PostMapping: Crea una regla y responde con un código de estado HTTP de 201 (CREATED). La regla se aplica desde la siguiente petición.
+ * (4) @DeleteMapping("/{id}"): Elimina una regla y responde con un código de estado HTTP de 204 (No Content).
+ * Solo los usuarios con el rol ADMIN pueden llamarlos (ver EndpointAuthorizationRules).
+ */
+@RestController
+@RequestMapping("/admin/authorization-rules")
+public class AuthorizationRuleController {
+
+    @Autowired
+    private AuthorizationRuleService authorizationRuleService;
+
+    @GetMapping
+    public ResponseEntity<List<AuthorizationRuleResponse>> findRules(){
+        return new ResponseEntity<>(this.authorizationRuleService.findRules(), HttpStatus.OK);
+    }
+
+    @PostMapping
+    public ResponseEntity<AuthorizationRuleResponse> createRule(@RequestBody @Valid AuthorizationRuleRequest ruleRequest){
+        return new ResponseEntity<>(this.authorizationRuleService.createRule(ruleRequest), HttpStatus.CREATED);
+    }
+
+    @DeleteMapping("/{id}")
+    public ResponseEntity<Void> deleteRule(@PathVariable Long id){
+        this.authorizationRuleService.deleteRule(id);
+        return ResponseEntity.noContent().build();
+    }
+
+}
@@ -0,0 +1,36 @@
+package com.universe.controller;
+
+import com.universe.util.JwtUtils;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+
+/**
+ * (1) @GetMapping("/.well-known/jwks.json"): Publica las claves públicas con las que se verifican los tokens, en formato JWK Set (RFC 7517).
+ *     Los demás servicios pueden descargarlas una vez, guardarlas en caché y verificar los tokens localmente sin llamar a este servicio.
+ *     Con HS256 la lista de claves está vacía, porque el secreto HMAC nunca se publica.
+ * (2) CacheControl.maxAge(5 minutos): Indica a los clientes cuánto tiempo pueden reutilizar la respuesta antes de volver a pedirla.
+ */
+@RestController
+public class JwksController {
+
+    private static final long MAX_AGE_MINUTES = 5;
+
+    @Autowired
+    private JwtUtils jwtUtils;
+
+    @GetMapping("/.well-known/jwks.json")
+    public ResponseEntity<Map<String, List<Map<String, Object>>>> jwks(){
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.maxAge(MAX_AGE_MINUTES, TimeUnit.MINUTES).cachePublic())
+                .body(Map.of("keys", this.jwtUtils.publicJwks()));
+    }
+
+}
@@ -0,0 +1,58 @@
+package com.universe.controller;
+
+import com.universe.controller.dto.AuthCreateUserRequest;
+import com.universe.controller.dto.AuthLoginRequest;
+import com.universe.controller.dto.AuthLogoutRequest;
+import com.universe.controller.dto.AuthRefreshRequest;
+import com.universe.controller.dto.AuthResponse;
+import com.universe.service.ReactiveUserDetailServiceImpl;
+import jakarta.validation.Valid;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
+
+import java.net.InetSocketAddress;
+
+
+/**
+ * Versión reactiva de AuthenticationController, con las mismas rutas y las mismas respuestas.
+ * Solo se carga cuando la aplicación se ejecuta como aplicación reactiva (perfil "reactive").
+ * (1) Cada método devuelve un Mono: el hilo del event loop nunca espera a la base de datos ni a BCrypt,
+ *     porque ReactiveUserDetailServiceImpl ejecuta ese trabajo en otros hilos.
+ * (2) @PostMapping("/log-in"): La dirección del cliente se usa para el límite de intentos por IP, como en AuthenticationController.
+ * (3) @PostMapping("/log-out"): La autenticación se toma del contexto reactivo que deja ReactiveJwtTokenValidator.
+ * @author Jose Navarro
+ * @version 1.0.0
+ */
+@RestController
+@RequestMapping("/auth")
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveAuthenticationController {
+
+    @Autowired
+    private ReactiveUserDetailServiceImpl reactiveUserDetailService;
+
+    @PostMapping("/sign-up")
+    public Mono<ResponseEntity<AuthResponse>> register(@RequestBody @Valid AuthCreateUserRequest userRequest){
+        return this.reactiveUserDetailService.createUser(userRequest).map(authResponse -> new ResponseEntity<>(authResponse, HttpStatus.CREATED));
+    }
+    @PostMapping("/log-in")
+    public Mono<ResponseEntity<AuthResponse>> login(@RequestBody @Valid AuthLoginRequest userRequest, ServerHttpRequest request){
+        InetSocketAddress remoteAddress = request.getRemoteAddress();
+        String clientAddress = remoteAddress == null ? null : remoteAddress.getHostString();
+        return this.reactiveUserDetailService.loginUser(userRequest, clientAddress).map(authResponse -> new ResponseEntity<>(authResponse, HttpStatus.OK));
+    }
+    @PostMapping("/refresh")
+    public Mono<ResponseEntity<AuthResponse>> refresh(@RequestBody @Valid AuthRefreshRequest refreshRequest){
+        return this.reactiveUserDetailService.refreshToken(refreshRequest).map(authResponse -> new ResponseEntity<>(authResponse, HttpStatus.OK));
+    }
+    @PostMapping("/log-out")
+    public Mono<ResponseEntity<AuthResponse>> logout(@RequestBody(required = false) AuthLogoutRequest logoutRequest){
+        return this.reactiveUserDetailService.logoutUser(logoutRequest).map(authResponse -> new ResponseEntity<>(authResponse, HttpStatus.OK));
+    }
+
+}
@@ -0,0 +1,40 @@
+package com.universe.controller;
+
+import com.universe.controller.dto.RoleResponse;
+import com.universe.controller.dto.RoleUpdateParentsRequest;
+import com.universe.controller.dto.RoleUpdatePermissionsRequest;
+import com.universe.service.RoleService;
+import jakarta.validation.Valid;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+
+/**
+ * (1) @RestController: Esta anotación indica que la clase es un controlador REST.
+ * (2) @RequestMapping("/roles"): Todas las rutas definidas en este controlador estarán prefijadas con "/roles".
+ * (3) @PutMapping("/{roleName}/permissions"): El método updatePermissions reemplaza los permisos del rol indicado en la ruta
+ *     con los de RoleUpdatePermissionsRequest y devuelve el rol actualizado con un código de estado HTTP de 200 (OK).
+ * (4) @PutMapping("/{roleName}/parents"): El método updateParents reemplaza los roles de los que hereda el rol indicado
+ *     con los de RoleUpdateParentsRequest y devuelve el rol actualizado con un código de estado HTTP de 200 (OK).
+ *     Solo los usuarios con el rol ADMIN pueden llamarlos (ver SecurityConfig).
+ */
+@RestController
+@RequestMapping("/roles")
+public class RoleController {
+
+    @Autowired
+    private RoleService roleService;
+
+    @PutMapping("/{roleName}/permissions")
+    public ResponseEntity<RoleResponse> updatePermissions(@PathVariable String roleName, @RequestBody @Valid RoleUpdatePermissionsRequest updateRequest){
+        return new ResponseEntity<>(this.roleService.updatePermissions(roleName, updateRequest), HttpStatus.OK);
+    }
+
+    @PutMapping("/{roleName}/parents")
+    public ResponseEntity<RoleResponse> updateParents(@PathVariable String roleName, @RequestBody @Valid RoleUpdateParentsRequest updateRequest){
+        return new ResponseEntity<>(this.roleService.updateParents(roleName, updateRequest), HttpStatus.OK);
+    }
+
+}
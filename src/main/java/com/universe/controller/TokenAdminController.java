@@ -0,0 +1,31 @@
+package com.universe.controller;
+
+import com.universe.controller.dto.TokenRevokeRequest;
+import com.universe.service.TokenRevocationService;
+import jakarta.validation.Valid;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+
+/**
+ * (1) @RestController: Esta anotación indica que la clase es un controlador REST.
+ * (2) @RequestMapping("/admin/tokens"): Todas las rutas definidas en este controlador estarán prefijadas con "/admin/tokens".
+ * (3) @PostMapping("/revoke"): El método revoke revoca el token de acceso con el jti indicado en TokenRevokeRequest
+ *     (y los refresh tokens del usuario, si se indica) y responde con un código de estado HTTP de 204 (No Content).
+ *     Solo los usuarios con el rol ADMIN pueden llamarlo (ver SecurityConfig).
+ */
+@RestController
+@RequestMapping("/admin/tokens")
+public class TokenAdminController {
+
+    @Autowired
+    private TokenRevocationService tokenRevocationService;
+
+    @PostMapping("/revoke")
+    public ResponseEntity<Void> revoke(@RequestBody @Valid TokenRevokeRequest revokeRequest){
+        this.tokenRevocationService.revoke(revokeRequest);
+        return ResponseEntity.noContent().build();
+    }
+
+}
@@ -0,0 +1,28 @@
+package com.universe.controller;
+
+import com.universe.service.UserDetailServiceImpl;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+
+/**
+ * (1) @RestController: Esta anotación indica que la clase es un controlador REST.
+ * (2) @RequestMapping("/admin/users"): Todas las rutas definidas en este controlador estarán prefijadas con "/admin/users".
+ * (3) @DeleteMapping("/{username}"): El método delete borra el usuario, revoca sus refresh tokens y responde con un código de estado HTTP de 204 (No Content).
+ *     Solo los usuarios con el rol ADMIN pueden llamarlo (ver EndpointAuthorizationRules).
+ */
+@RestController
+@RequestMapping("/admin/users")
+public class UserAdminController {
+
+    @Autowired
+    private UserDetailServiceImpl userDetailService;
+
+    @DeleteMapping("/{username}")
+    public ResponseEntity<Void> delete(@PathVariable String username){
+        this.userDetailService.deleteUser(username);
+        return ResponseEntity.noContent().build();
+    }
+
+}
@@ -0,0 +1,49 @@
+package com.universe.controller;
+
+import com.universe.controller.dto.UserImportRequest;
+import com.universe.controller.dto.UserImportResponse;
+import com.universe.service.UserImportService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+
+
+/**
+ * (1) @RequestMapping("/admin/users/import"): Importación masiva de usuarios. Solo los usuarios con el rol ADMIN pueden llamarla (ver EndpointAuthorizationRules).
+ * (2) @PostMapping(consumes = "application/json"): Recibe un array de UserImportRequest.
+ * (3) @PostMapping(consumes = "text/csv"): Recibe un CSV (username,password,roles) que se lee en streaming, sin cargarlo entero en memoria.
+ * Las dos responden con un código de estado HTTP de 200 (OK) y un UserImportResponse con los usuarios creados y los errores de cada fila,
+ * aunque alguna fila falle.
+ * Solo se carga en la aplicación servlet, porque la lectura del CSV es bloqueante.
+ * UserImportService se inyecta con @Lazy: su pool de hashing solo se crea con la primera importación, no al arrancar.
+ */
+@RestController
+@RequestMapping("/admin/users/import")
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class UserImportController {
+
+    private static final String TEXT_CSV_VALUE = "text/csv";
+
+    @Autowired
+    @Lazy
+    private UserImportService userImportService;
+
+    @PostMapping(consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<UserImportResponse> importJson(@RequestBody List<UserImportRequest> userRequests){
+        return new ResponseEntity<>(this.userImportService.importUsers(userRequests), HttpStatus.OK);
+    }
+
+    @PostMapping(consumes = TEXT_CSV_VALUE)
+    public ResponseEntity<UserImportResponse> importCsv(InputStream csv) throws IOException {
+        return new ResponseEntity<>(this.userImportService.importCsv(csv), HttpStatus.OK);
+    }
+
+}
@@ -0,0 +1,49 @@
+package com.universe.controller.advice;
+
+import com.universe.controller.dto.AuthResponse;
+import com.universe.service.exception.LoginRateLimitedException;
+import com.universe.service.exception.PasswordHashingOverloadedException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.AuthenticationException;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+
+
+/**
+ * Esta clase convierte las excepciones de los controladores en respuestas HTTP.
+ * Las respuestas se escriben directamente, sin pasar por el endpoint /error, que SecurityConfig deniega (anyRequest().denyAll()).
+ * (1) PasswordHashingOverloadedException: responde 503 (Service Unavailable) con la cabecera Retry-After,
+ *     para que el cliente reintente el login más tarde en lugar de esperar a que se libere el pool de hashing.
+ * (2) AuthenticationException: responde 401 (Unauthorized) cuando las credenciales o el refresh token no son válidos,
+ *     o la cuenta está bloqueada o deshabilitada.
+ * (3) LoginRateLimitedException: responde 429 (Too Many Requests) con la cabecera Retry-After en segundos (redondeada hacia arriba),
+ *     el tiempo que falta para que el límite de la dirección IP o del usuario vuelva a admitir un intento.
+ */
+@RestControllerAdvice
+public class GlobalExceptionHandler {
+
+    private static final String RETRY_AFTER_SECONDS = "1";
+
+    @ExceptionHandler(PasswordHashingOverloadedException.class)
+    public ResponseEntity<AuthResponse> handlePasswordHashingOverloaded(PasswordHashingOverloadedException exception) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, RETRY_AFTER_SECONDS)
+                .body(new AuthResponse(null, exception.getMessage(), null, null, false));
+    }
+
+    @ExceptionHandler(AuthenticationException.class)
+    public ResponseEntity<AuthResponse> handleAuthentication(AuthenticationException exception) {
+        return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
+                .body(new AuthResponse(null, exception.getMessage(), null, null, false));
+    }
+
+    @ExceptionHandler(LoginRateLimitedException.class)
+    public ResponseEntity<AuthResponse> handleLoginRateLimited(LoginRateLimitedException exception) {
+        long retryAfterSeconds = Math.max(1, (exception.getRetryAfter().toMillis() + 999) / 1000);
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds))
+                .body(new AuthResponse(null, exception.getMessage(), null, null, false));
+    }
+}
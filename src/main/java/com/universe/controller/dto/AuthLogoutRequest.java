@@ -0,0 +1,8 @@
+package com.universe.controller.dto;
+
+/**
+ * (1) String refreshToken: Este campo es opcional y representa el refresh token de la sesión que se cierra.
+ * Si se envía, se revoca toda su familia además del token de acceso, de modo que la sesión no se puede renovar con /auth/refresh.
+ */
+public record AuthLogoutRequest(String refreshToken) {
+}
@@ -0,0 +1,11 @@
+package com.universe.controller.dto;
+
+import jakarta.validation.constraints.NotBlank;
+
+/**
+ * (1) @NotBlank String refreshToken: Este campo representa el refresh token recibido en el último login o refresh.
+ * La anotación @NotBlank indica que este campo no puede ser nulo y
+ * debe contener al menos un carácter que no sea un espacio en blanco.
+ */
+public record AuthRefreshRequest(@NotBlank String refreshToken) {
+}
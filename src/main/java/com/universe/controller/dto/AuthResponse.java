@@ -4,12 +4,12 @@ import com.fasterxml.jackson.annotation.JsonPropertyOrder;
 
 
 /**
- * La anotación @JsonPropertyOrder({"username", "message", "status", "jwt"}) 
+ * La anotación @JsonPropertyOrder({"username", "message", "status", "jwt", "refreshToken"}) 
  * se utiliza para especificar el orden en que las propiedades deben ser serializadas.
  * En este caso, cuando este objeto se convierte a JSON, las propiedades se ordenarán en este orden:
- * username, message, status, jwt.
+ * username, message, status, jwt, refreshToken.
  */
-@JsonPropertyOrder({"username", "message", "status", "jwt"})
+@JsonPropertyOrder({"username", "message", "status", "jwt", "refreshToken"})
 public record AuthResponse(
         /**
          * String username: Este campo representa el nombre de usuario.
@@ -26,6 +26,10 @@ public record AuthResponse(
          * que es un estándar para la creación de tokens de acceso que permiten la propagación de identidad y privilegios.
         */
         String jwt,
+        /**
+         * Este campo representa el refresh token de un solo uso que permite obtener un nuevo jwt en /auth/refresh.
+        */
+        String refreshToken,
         /**
          * Este campo representa el estado de una operación, generalmente si fue exitosa o no.
         */
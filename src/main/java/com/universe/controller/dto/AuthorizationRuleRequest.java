@@ -0,0 +1,14 @@
+package com.universe.controller.dto;
+
+import jakarta.validation.constraints.NotBlank;
+
+/**
+ * (1) @NotBlank String httpMethod: Este campo representa el método HTTP de la regla (GET, POST, PUT, DELETE...) o ANY para cualquier método.
+ * (2) @NotBlank String pathPattern: Este campo representa el patrón de la ruta, con segmentos literales, "*" o "{variable}" y "**" al final.
+ * (3) @NotBlank String authority: Este campo representa la autoridad requerida (un permiso o un rol con el prefijo ROLE_).
+ * Es obligatorio: desde el API de administración no se pueden crear EndPoints públicos.
+ */
+public record AuthorizationRuleRequest(@NotBlank String httpMethod,
+                                       @NotBlank String pathPattern,
+                                       @NotBlank String authority) {
+}
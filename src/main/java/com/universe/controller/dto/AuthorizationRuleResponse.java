@@ -0,0 +1,13 @@
+package com.universe.controller.dto;
+
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+
+/**
+ * Representa una regla de autorización guardada en la base de datos.
+ */
+@JsonPropertyOrder({"id", "httpMethod", "pathPattern", "authority"})
+public record AuthorizationRuleResponse(Long id,
+                                        String httpMethod,
+                                        String pathPattern,
+                                        String authority) {
+}
@@ -0,0 +1,24 @@
+package com.universe.controller.dto;
+
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+import java.util.List;
+
+/**
+ * La anotación @JsonPropertyOrder({"roleName", "permissionListName", "parentRoleListName"})
+ * se utiliza para especificar el orden en que las propiedades deben ser serializadas.
+ */
+@JsonPropertyOrder({"roleName", "permissionListName", "parentRoleListName"})
+public record RoleResponse(
+        /**
+         * String roleName: Este campo representa el nombre del rol.
+         */
+        String roleName,
+        /**
+         * List<String> permissionListName: Este campo representa los permisos propios del rol después de la operación, sin los heredados.
+         */
+        List<String> permissionListName,
+        /**
+         * List<String> parentRoleListName: Este campo representa los roles de los que el rol hereda los permisos.
+         */
+        List<String> parentRoleListName) {
+}
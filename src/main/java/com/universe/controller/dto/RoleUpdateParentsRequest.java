@@ -0,0 +1,12 @@
+package com.universe.controller.dto;
+
+import jakarta.validation.constraints.NotNull;
+import java.util.List;
+
+/**
+ * (1) @NotNull List<String> parentRoleListName: Este campo representa la lista completa de roles de los que heredará el rol.
+ * La anotación @NotNull indica que la lista no puede ser nula; una lista vacía deja el rol sin herencia.
+ * Los roles que no aparezcan en la lista dejan de ser padres del rol.
+ */
+public record RoleUpdateParentsRequest(@NotNull List<String> parentRoleListName) {
+}
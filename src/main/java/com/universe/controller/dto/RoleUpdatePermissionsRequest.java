@@ -0,0 +1,12 @@
+package com.universe.controller.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import java.util.List;
+
+/**
+ * (1) @NotEmpty List<String> permissionListName: Este campo representa la lista completa de permisos que tendrá el rol.
+ * La anotación @NotEmpty indica que la lista no puede ser nula ni estar vacía.
+ * Los permisos que no aparezcan en la lista se le quitan al rol.
+ */
+public record RoleUpdatePermissionsRequest(@NotEmpty List<String> permissionListName) {
+}
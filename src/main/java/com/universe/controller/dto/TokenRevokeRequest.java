@@ -0,0 +1,10 @@
+package com.universe.controller.dto;
+
+import jakarta.validation.constraints.NotBlank;
+
+/**
+ * (1) @NotBlank String jti: Este campo representa el identificador (claim jti) del token de acceso que se quiere revocar.
+ * (2) String username: Este campo es opcional. Si se envía, se revocan también todos los refresh tokens de ese usuario.
+ */
+public record TokenRevokeRequest(@NotBlank String jti, String username) {
+}
@@ -0,0 +1,9 @@
+package com.universe.controller.dto;
+
+/**
+ * Error de una fila de la importación masiva: el número de fila (empezando en 1, o la línea del CSV), el usuario y el motivo.
+ */
+public record UserImportError(int row,
+                              String username,
+                              String message) {
+}
@@ -0,0 +1,16 @@
+package com.universe.controller.dto;
+
+import java.util.List;
+
+/**
+ * Una fila de la importación masiva de usuarios (/admin/users/import).
+ * Los campos no se validan con anotaciones: UserImportService valida cada fila y devuelve sus errores en UserImportResponse,
+ * en lugar de rechazar toda la importación con un 400.
+ * (1) String username: El nombre de usuario, que no puede existir ya.
+ * (2) String password: La contraseña en claro; se guarda codificada con el PasswordEncoder configurado.
+ * (3) List<String> roles: Los roles del usuario (ADMIN, USER, INVITED, DEVELOPER).
+ */
+public record UserImportRequest(String username,
+                                String password,
+                                List<String> roles) {
+}
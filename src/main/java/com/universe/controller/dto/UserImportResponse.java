@@ -0,0 +1,15 @@
+package com.universe.controller.dto;
+
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+
+import java.util.List;
+
+/**
+ * Resultado de la importación masiva: filas leídas, usuarios creados, filas con error y el detalle de cada error.
+ */
+@JsonPropertyOrder({"total", "created", "failed", "errors"})
+public record UserImportResponse(int total,
+                                 int created,
+                                 int failed,
+                                 List<UserImportError> errors) {
+}
@@ -0,0 +1,32 @@
+package com.universe.persistence.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+/**
+ * Regla de autorización de un EndPoint guardada en la base de datos: método HTTP, patrón de ruta y autoridad requerida
+ * (el nombre de un PermissionEntity o un rol con el prefijo ROLE_), que es obligatoria. El método puede ser ANY (cualquier método).
+ * Se suman a las reglas de EndpointAuthorizationRules, que tienen prioridad: solo se aplican a las rutas que la configuración no cubre.
+ */
+@Setter
+@Getter
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@Entity
+@Table(name = "authorization_rules", uniqueConstraints = @UniqueConstraint(columnNames = {"http_method", "path_pattern"}))
+public class AuthorizationRuleEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "http_method", nullable = false, length = 10)
+    private String httpMethod;
+
+    @Column(name = "path_pattern", nullable = false)
+    private String pathPattern;
+
+    @Column(nullable = false)
+    private String authority;
+}
@@ -0,0 +1,44 @@
+package com.universe.persistence.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.Instant;
+
+/**
+ * Refresh token emitido a un usuario. Nunca se guarda el token en claro, solo su SHA-256 (tokenHash).
+ * Cada refresh token se puede usar una sola vez: al usarlo se marca como usado (used) y se emite otro de la misma familia (familyId).
+ * Si un token ya usado se vuelve a presentar, se asume que fue robado y se revoca toda la familia (revoked).
+ */
+@Setter
+@Getter
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@Entity
+@Table(name = "refresh_tokens")
+public class RefreshTokenEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "token_hash", unique = true, nullable = false, updatable = false, length = 64)
+    private String tokenHash;
+
+    @Column(nullable = false, updatable = false)
+    private String username;
+
+    @Column(name = "family_id", nullable = false, updatable = false, length = 36)
+    private String familyId;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private Instant createdAt;
+
+    @Column(name = "expires_at", nullable = false, updatable = false)
+    private Instant expiresAt;
+
+    private boolean used;
+
+    private boolean revoked;
+}
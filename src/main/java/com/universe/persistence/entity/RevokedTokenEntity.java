@@ -0,0 +1,32 @@
+package com.universe.persistence.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.Instant;
+
+/**
+ * Token de acceso revocado antes de su expiración, identificado por su jti.
+ * La fila solo es necesaria hasta expiresAt: a partir de ese momento el token ya no es válido y la fila se elimina.
+ */
+@Setter
+@Getter
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@Entity
+@Table(name = "revoked_tokens")
+public class RevokedTokenEntity {
+
+    @Id
+    @Column(length = 36)
+    private String jti;
+
+    private String username;
+
+    @Column(name = "revoked_at", nullable = false)
+    private Instant revokedAt;
+
+    @Column(name = "expires_at", nullable = false)
+    private Instant expiresAt;
+}
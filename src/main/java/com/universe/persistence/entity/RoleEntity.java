@@ -2,6 +2,8 @@ package com.universe.persistence.entity;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
 import java.util.HashSet;
 import java.util.Set;
 
@@ -18,12 +20,24 @@ public class RoleEntity {
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
-    @Column(name = "role_name")
+    /**
+     * Se guarda como VARCHAR y no como el tipo ENUM nativo de MySQL/H2, para que añadir un rol no requiera cambiar la columna.
+     */
+    @Column(name = "role_name", nullable = false, unique = true, length = 50)
     @Enumerated(EnumType.STRING)
+    @JdbcTypeCode(SqlTypes.VARCHAR)
     private RoleEnum roleEnum;
 
     
     @ManyToMany(fetch = FetchType.EAGER, cascade = CascadeType.ALL)
     @JoinTable(name = "role_permissions", joinColumns = @JoinColumn(name = "role_id"), inverseJoinColumns = @JoinColumn(name = "permission_id"))
     private Set<PermissionEntity> permissionList = new HashSet<>();
+
+    /**
+     * Roles de los que este rol hereda los permisos (tabla role_inheritance). Las autoridades efectivas las precalcula RoleHierarchy.
+     */
+    @Builder.Default
+    @ManyToMany(fetch = FetchType.LAZY)
+    @JoinTable(name = "role_inheritance", joinColumns = @JoinColumn(name = "role_id"), inverseJoinColumns = @JoinColumn(name = "parent_role_id"))
+    private Set<RoleEntity> parentRoles = new HashSet<>();
 }
@@ -2,7 +2,9 @@ package com.universe.persistence.entity;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.CreationTimestamp;
 
+import java.time.Instant;
 import java.util.HashSet;
 import java.util.Set;
 
@@ -15,8 +17,13 @@ import java.util.Set;
 @Table(name = "users")
 public class UserEntity {
 
+    /**
+     * Con IDENTITY Hibernate tiene que ejecutar cada INSERT para conocer el id y no puede agruparlos en lotes JDBC.
+     * Con una secuencia reserva allocationSize ids por consulta y la importación masiva inserta por lotes (hibernate.jdbc.batch_size).
+     */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "users_seq")
+    @SequenceGenerator(name = "users_seq", sequenceName = "users_seq", allocationSize = 50)
     private Long id;
 
     @Column(unique = true)
@@ -32,6 +39,16 @@ public class UserEntity {
     @Column(name = "account_No_Locked")
     private boolean accountNoLocked;
 
+    /**
+     * Fin del bloqueo temporal puesto por LoginAttemptService. Si la cuenta está bloqueada y es null, el bloqueo es manual y no expira.
+     */
+    @Column(name = "locked_until")
+    private Instant lockedUntil;
+
+    @CreationTimestamp
+    @Column(name = "created_at", updatable = false)
+    private Instant createdAt;
+
     @Column(name = "credential_No_Expired")
     private boolean credentialNoExpired;
 
@@ -0,0 +1,15 @@
+package com.universe.persistence.projection;
+
+import com.universe.persistence.entity.RoleEnum;
+
+/**
+ * Proyección de una fila de role_inheritance: el rol y uno de los roles de los que hereda. La usa RoleHierarchy.
+ * @author Jose Navarro
+ * @version 1.0.0
+ */
+public interface RoleInheritanceView {
+
+    RoleEnum getRoleEnum();
+
+    RoleEnum getParentRoleEnum();
+}
@@ -0,0 +1,28 @@
+package com.universe.persistence.projection;
+
+import com.universe.persistence.entity.RoleEnum;
+
+/**
+ * Proyección plana de un usuario con uno de sus roles.
+ * UserRepository.findUserAuthoritiesByUsername devuelve una fila por cada rol del usuario
+ * (o una sola fila con el rol nulo si el usuario no tiene roles), todas con los mismos datos de la cuenta.
+ * Los permisos del rol se obtienen de RoleHierarchy.
+ * @author Jose Navarro
+ * @version 1.0.0
+ */
+public interface UserAuthorityView {
+
+    String getUsername();
+
+    String getPassword();
+
+    boolean isEnabled();
+
+    boolean isAccountNoExpired();
+
+    boolean isAccountNoLocked();
+
+    boolean isCredentialNoExpired();
+
+    RoleEnum getRoleEnum();
+}
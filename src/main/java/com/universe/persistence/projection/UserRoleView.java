@@ -0,0 +1,15 @@
+package com.universe.persistence.projection;
+
+import com.universe.persistence.entity.RoleEnum;
+
+/**
+ * Proyección de un par usuario/rol, usada para construir RoleMembershipIndex sin cargar las entidades.
+ * @author Jose Navarro
+ * @version 1.0.0
+ */
+public interface UserRoleView {
+
+    String getUsername();
+
+    RoleEnum getRoleEnum();
+}
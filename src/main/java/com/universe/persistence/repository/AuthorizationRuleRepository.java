@@ -0,0 +1,9 @@
+package com.universe.persistence.repository;
+
+import com.universe.persistence.entity.AuthorizationRuleEntity;
+import org.springframework.data.repository.CrudRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface AuthorizationRuleRepository extends CrudRepository<AuthorizationRuleEntity, Long> {
+}
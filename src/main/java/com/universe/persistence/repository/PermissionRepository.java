@@ -0,0 +1,13 @@
+package com.universe.persistence.repository;
+
+import com.universe.persistence.entity.PermissionEntity;
+import org.springframework.data.repository.CrudRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface PermissionRepository extends CrudRepository<PermissionEntity, Long> {
+
+    List<PermissionEntity> findPermissionEntitiesByNameIn(List<String> permissionNames);
+}
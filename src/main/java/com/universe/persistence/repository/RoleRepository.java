@@ -1,14 +1,38 @@
 package com.universe.persistence.repository;
 
 import com.universe.persistence.entity.RoleEntity;
+import com.universe.persistence.entity.RoleEnum;
+import com.universe.persistence.projection.RoleInheritanceView;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.CrudRepository;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface RoleRepository extends CrudRepository<RoleEntity, Long> {
 
     List<RoleEntity> findRoleEntitiesByRoleEnumIn(List<String> roleNames);
+
+    Optional<RoleEntity> findRoleEntityByRoleEnum(RoleEnum roleEnum);
+
+    @Query("select r.roleEnum as roleEnum, p.roleEnum as parentRoleEnum from RoleEntity r join r.parentRoles p")
+    List<RoleInheritanceView> findRoleInheritance();
+
+    /**
+     * Todos los roles con sus permisos en una sola consulta (permissionList es EAGER, así que findAll haría una consulta por rol).
+     */
+    @Query("select distinct r from RoleEntity r left join fetch r.permissionList")
+    List<RoleEntity> findAllWithPermissions();
+
+    /**
+     * Bloquea todas las filas de roles (SELECT ... FOR UPDATE) hasta el final de la transacción, siempre en el mismo orden.
+     * Serializa los cambios de la jerarquía entre peticiones y entre nodos.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select r from RoleEntity r order by r.id")
+    List<RoleEntity> findAllForUpdate();
 }
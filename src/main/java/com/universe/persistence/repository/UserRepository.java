@@ -1,9 +1,18 @@
 package com.universe.persistence.repository;
 
 import com.universe.persistence.entity.UserEntity;
+import com.universe.persistence.projection.UserAuthorityView;
+import com.universe.persistence.projection.UserRoleView;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 
@@ -12,4 +21,56 @@ public interface UserRepository extends CrudRepository<UserEntity, Long> {
 
     Optional<UserEntity> findUserEntityByUsername(String username);
 
+    /**
+     * Obtiene en una sola sentencia SQL los datos de la cuenta y los roles del usuario,
+     * sin cargar las entidades UserEntity y RoleEntity ni sus relaciones EAGER.
+     * Los permisos no se leen: los de cada rol, heredados incluidos, están ya calculados en RoleHierarchy.
+     */
+    @Query("""
+            select u.username as username, u.password as password, u.isEnabled as enabled,
+                   u.accountNoExpired as accountNoExpired, u.accountNoLocked as accountNoLocked,
+                   u.credentialNoExpired as credentialNoExpired,
+                   r.roleEnum as roleEnum
+            from UserEntity u
+            left join u.roles r
+            where u.username = :username
+            """)
+    List<UserAuthorityView> findUserAuthoritiesByUsername(@Param("username") String username);
+
+    @Query("select max(u.id) from UserEntity u")
+    Long findMaxId();
+
+    @Query("select u.username from UserEntity u where u.id > :afterId and u.id <= :upToId")
+    List<String> findUsernamesByIdRange(@Param("afterId") long afterId, @Param("upToId") long upToId);
+
+    @Query("select u.username from UserEntity u where u.createdAt > :since")
+    List<String> findUsernamesCreatedAfter(@Param("since") Instant since);
+
+    @Query("select u.username as username, r.roleEnum as roleEnum from UserEntity u join u.roles r")
+    List<UserRoleView> findUserRoles();
+
+    @Query("select u.username as username, r.roleEnum as roleEnum from UserEntity u join u.roles r where u.createdAt > :since")
+    List<UserRoleView> findUserRolesCreatedAfter(@Param("since") Instant since);
+
+    @Query("select u.username from UserEntity u where u.username in :usernames")
+    List<String> findExistingUsernames(@Param("usernames") Collection<String> usernames);
+
+    @Transactional
+    @Modifying
+    @Query("update UserEntity u set u.password = :password where u.username = :username")
+    int updatePassword(@Param("username") String username, @Param("password") String password);
+
+    @Transactional
+    @Modifying
+    @Query("update UserEntity u set u.accountNoLocked = false, u.lockedUntil = :lockedUntil where u.username = :username and u.accountNoLocked = true")
+    int lockAccount(@Param("username") String username, @Param("lockedUntil") Instant lockedUntil);
+
+    @Query("select u.username from UserEntity u where u.accountNoLocked = false and u.lockedUntil <= :now")
+    List<String> findUsernamesLockedUntilBefore(@Param("now") Instant now);
+
+    @Transactional
+    @Modifying
+    @Query("update UserEntity u set u.accountNoLocked = true, u.lockedUntil = null where u.accountNoLocked = false and u.lockedUntil <= :now")
+    int unlockAccountsLockedUntilBefore(@Param("now") Instant now);
+
 }
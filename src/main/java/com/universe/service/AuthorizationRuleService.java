@@ -0,0 +1,90 @@
+package com.universe.service;
+
+import com.universe.config.security.EndpointAuthorizationRules.EndpointRule;
+import com.universe.config.security.authorization.AuthorizationRuleTable;
+import com.universe.config.security.authorization.RuleTableAuthorizationManager;
+import com.universe.controller.dto.AuthorizationRuleRequest;
+import com.universe.controller.dto.AuthorizationRuleResponse;
+import com.universe.persistence.entity.AuthorizationRuleEntity;
+import com.universe.persistence.repository.AuthorizationRuleRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpMethod;
+import org.springframework.stereotype.Service;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.stream.StreamSupport;
+
+/**
+ * Este servicio administra las reglas de autorización guardadas en la tabla authorization_rules.
+ * Después de cada cambio recarga RuleTableAuthorizationManager, así que la regla se aplica desde la siguiente petición
+ * sin reiniciar la aplicación ni reconstruir la cadena de filtros.
+ * (1) Toda regla exige una autoridad: las rutas públicas solo se declaran en EndpointAuthorizationRules.
+ * (2) El método es uno de HttpMethod o ANY (cualquier método).
+ * (3) Se rechazan las reglas cuyo patrón ya cubre una regla de configuración, porque esta tiene prioridad y la nueva no se aplicaría:
+ *     así el API de administración no puede abrir ni cambiar las rutas protegidas por la configuración.
+ * @author Jose Navarro
+ * @version 1.0.0
+ */
+@Service
+public class AuthorizationRuleService {
+
+    @Autowired
+    private AuthorizationRuleRepository authorizationRuleRepository;
+
+    @Autowired
+    private RuleTableAuthorizationManager ruleTableAuthorizationManager;
+
+    public List<AuthorizationRuleResponse> findRules() {
+        return StreamSupport.stream(authorizationRuleRepository.findAll().spliterator(), false)
+                .map(AuthorizationRuleService::toResponse)
+                .toList();
+    }
+
+    public AuthorizationRuleResponse createRule(AuthorizationRuleRequest authorizationRuleRequest) {
+        String httpMethod = toHttpMethod(authorizationRuleRequest.httpMethod());
+        String pathPattern = authorizationRuleRequest.pathPattern();
+        String authority = authorizationRuleRequest.authority();
+        if (authority == null || authority.isBlank()) {
+            throw new IllegalArgumentException("The authority is required.");
+        }
+        AuthorizationRuleTable.validatePattern(pathPattern);
+
+        EndpointRule configuredRule = ruleTableAuthorizationManager.configuredRule(httpMethod, pathPattern);
+        if (configuredRule != null) {
+            throw new IllegalArgumentException("The rule " + httpMethod + " " + pathPattern + " would override the configuration rule "
+                    + configuredRule.method().name() + " " + configuredRule.pattern() + ".");
+        }
+
+        AuthorizationRuleEntity ruleSaved = authorizationRuleRepository.save(AuthorizationRuleEntity.builder()
+                .httpMethod(httpMethod)
+                .pathPattern(pathPattern)
+                .authority(authority.strip())
+                .build());
+        ruleTableAuthorizationManager.reload();
+        return toResponse(ruleSaved);
+    }
+
+    public void deleteRule(Long id) {
+        if (!authorizationRuleRepository.existsById(id)) {
+            throw new IllegalArgumentException("The authorization rule " + id + " does not exist.");
+        }
+        authorizationRuleRepository.deleteById(id);
+        ruleTableAuthorizationManager.reload();
+    }
+
+    private static String toHttpMethod(String httpMethod) {
+        String method = httpMethod.strip().toUpperCase(Locale.ROOT);
+        boolean known = AuthorizationRuleTable.ANY_METHOD.equals(method)
+                || Arrays.stream(HttpMethod.values()).anyMatch(value -> value.name().equals(method));
+        if (!known) {
+            throw new IllegalArgumentException("The HTTP method " + httpMethod + " is not supported.");
+        }
+        return method;
+    }
+
+    private static AuthorizationRuleResponse toResponse(AuthorizationRuleEntity ruleEntity) {
+        return new AuthorizationRuleResponse(ruleEntity.getId(), ruleEntity.getHttpMethod(), ruleEntity.getPathPattern(), ruleEntity.getAuthority());
+    }
+}
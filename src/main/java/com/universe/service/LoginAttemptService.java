@@ -0,0 +1,149 @@
+package com.universe.service;
+
+import com.universe.config.security.metrics.AuthenticationMetrics;
+import com.universe.config.security.metrics.AuthenticationMetrics.RejectionReason;
+import com.universe.persistence.repository.UserRepository;
+import com.universe.service.cache.UsernameNegativeCache;
+import com.universe.service.exception.LoginRateLimitedException;
+import com.universe.service.store.SharedSecurityStore;
+import com.universe.service.store.UserStateSynchronizer;
+import com.universe.util.StripedTokenBucket;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Este servicio limita los intentos de login y bloquea temporalmente las cuentas que acumulan contraseñas incorrectas.
+ * (1) checkAllowed se llama antes de buscar el usuario: consume una ficha del bucket de la dirección IP y otra del bucket del usuario
+ *     (StripedTokenBucket). Si alguno está vacío lanza LoginRateLimitedException, sin consultar la base de datos ni ejecutar BCrypt,
+ *     así que un ataque de fuerza bruta no puede usar /auth/log-in para consumir CPU. El límite por IP frena los ataques contra
+ *     muchos usuarios desde una dirección y el límite por usuario los ataques contra un usuario desde muchas direcciones.
+ * (2) loginFailed cuenta el fallo en SharedSecurityStore, común a todos los nodos, en una ventana de security.login.lockout.failure-window
+ *     que empieza en el primer fallo. Al superar security.login.lockout.max-failures marca la cuenta como bloqueada (accountNoLocked = false)
+ *     hasta ahora + security.login.lockout.duration. Un login correcto pone el contador a cero. Los fallos de usuarios que no existen
+ *     (según UsernameNegativeCache) no se cuentan, porque no hay cuenta que bloquear.
+ * (3) La tarea periódica desbloquea las cuentas cuyo bloqueo ha expirado. Los bloqueos sin lockedUntil son manuales y no se tocan.
+ * Los buckets del límite de intentos están en memoria para no añadir una llamada de red a cada login: con varios nodos cada uno
+ * aplica su propio límite. El contador de fallos y el bloqueo (en la base de datos) son comunes.
+ * Detrás de un proxy hay que configurar server.forward-headers-strategy para que la dirección sea la del cliente.
+ * @author Jose Navarro
+ * @version 1.0.0
+ */
+@Service
+public class LoginAttemptService {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(LoginAttemptService.class);
+
+    @Value("${security.login.rate-limit.enabled:true}")
+    private boolean rateLimitEnabled;
+
+    @Value("${security.login.rate-limit.stripes:65536}")
+    private int stripes;
+
+    @Value("${security.login.rate-limit.ip.capacity:50}")
+    private int ipCapacity;
+
+    @Value("${security.login.rate-limit.ip.refill-period:PT1M}")
+    private Duration ipRefillPeriod;
+
+    @Value("${security.login.rate-limit.username.capacity:5}")
+    private int usernameCapacity;
+
+    @Value("${security.login.rate-limit.username.refill-period:PT1M}")
+    private Duration usernameRefillPeriod;
+
+    @Value("${security.login.lockout.enabled:true}")
+    private boolean lockoutEnabled;
+
+    @Value("${security.login.lockout.max-failures:10}")
+    private int maxFailures;
+
+    @Value("${security.login.lockout.failure-window:PT15M}")
+    private Duration failureWindow;
+
+    @Value("${security.login.lockout.duration:PT15M}")
+    private Duration lockoutDuration;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private UsernameNegativeCache usernameNegativeCache;
+
+    @Autowired
+    private SharedSecurityStore sharedSecurityStore;
+
+    @Autowired
+    private UserStateSynchronizer userStateSynchronizer;
+
+    @Autowired
+    private AuthenticationMetrics authenticationMetrics;
+
+    private StripedTokenBucket ipBuckets;
+
+    private StripedTokenBucket usernameBuckets;
+
+    @PostConstruct
+    public void init() {
+        this.ipBuckets = new StripedTokenBucket(this.stripes, this.ipCapacity, this.ipRefillPeriod);
+        this.usernameBuckets = new StripedTokenBucket(this.stripes, this.usernameCapacity, this.usernameRefillPeriod);
+    }
+
+    public void checkAllowed(String username, String clientAddress) {
+        if (!this.rateLimitEnabled) {
+            return;
+        }
+        if (clientAddress != null) {
+            long ipWait = this.ipBuckets.tryAcquire(clientAddress);
+            if (ipWait > 0) {
+                authenticationMetrics.loginRejected(RejectionReason.IP_RATE_LIMIT);
+                throw new LoginRateLimitedException("Too many login attempts from this address, try again later.", Duration.ofNanos(ipWait));
+            }
+        }
+        long usernameWait = this.usernameBuckets.tryAcquire(username);
+        if (usernameWait > 0) {
+            authenticationMetrics.loginRejected(RejectionReason.USERNAME_RATE_LIMIT);
+            throw new LoginRateLimitedException("Too many login attempts for this user, try again later.", Duration.ofNanos(usernameWait));
+        }
+    }
+
+    public void loginSucceeded(String username) {
+        if (this.lockoutEnabled) {
+            sharedSecurityStore.resetLoginFailures(username);
+        }
+    }
+
+    public void loginFailed(String username) {
+        if (!this.lockoutEnabled || usernameNegativeCache.isUnknown(username)
+                || sharedSecurityStore.incrementLoginFailures(username, this.failureWindow) <= this.maxFailures) {
+            return;
+        }
+        Instant lockedUntil = Instant.now().plus(this.lockoutDuration);
+        if (userRepository.lockAccount(username, lockedUntil) > 0) {
+            userStateSynchronizer.userChanged(username);
+            LOGGER.warn("Account {} locked until {} after too many failed logins", username, lockedUntil);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${security.login.lockout.unlock-interval:PT30S}")
+    public void unlockExpired() {
+        Instant now = Instant.now();
+        List<String> usernames = userRepository.findUsernamesLockedUntilBefore(now);
+        if (usernames.isEmpty()) {
+            return;
+        }
+        userRepository.unlockAccountsLockedUntilBefore(now);
+        usernames.forEach(username -> {
+            userStateSynchronizer.userChanged(username);
+            sharedSecurityStore.resetLoginFailures(username);
+        });
+    }
+}
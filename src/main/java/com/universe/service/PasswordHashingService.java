@@ -0,0 +1,133 @@
+package com.universe.service;
+
+import com.universe.service.exception.PasswordHashingOverloadedException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Este servicio ejecuta las operaciones del PasswordEncoder (encode y matches) en un pool de hilos propio,
+ * para que el trabajo de CPU de BCrypt no ocupe los hilos de Tomcat que atienden los endpoints validados con JWT.
+ * (1) El pool tiene security.password.hashing.threads hilos (0 = número de núcleos) y una cola acotada de security.password.hashing.queue-capacity tareas.
+ * (2) Si la cola está llena la tarea se rechaza de inmediato con PasswordHashingOverloadedException en lugar de esperar.
+ * (3) Publica en Micrometer la profundidad de la cola (auth.password.hashing.queue.depth), la duración de cada operación
+ *     (auth.password.hashing, con la etiqueta operation=encode|matches) y las tareas rechazadas (auth.password.hashing.rejected).
+ * (4) matchesDummy compara la contraseña con un hash fijo generado al arrancar con el PasswordEncoder configurado, así que tarda
+ *     lo mismo que una comparación real. Se usa cuando el usuario no existe, para que la respuesta no revele si existe o no.
+ * @author Jose Navarro
+ * @version 1.0.0
+ */
+@Service
+public class PasswordHashingService {
+
+    @Value("${security.password.hashing.threads:0}")
+    private int threads;
+
+    @Value("${security.password.hashing.queue-capacity:64}")
+    private int queueCapacity;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private ThreadPoolExecutor executor;
+
+    private Timer encodeTimer;
+
+    private Timer matchesTimer;
+
+    private Counter rejectedCounter;
+
+    private String dummyHash;
+
+    @PostConstruct
+    public void init() {
+        int poolSize = this.threads > 0 ? this.threads : Runtime.getRuntime().availableProcessors();
+
+        this.executor = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(this.queueCapacity), new HashingThreadFactory(), new ThreadPoolExecutor.AbortPolicy());
+
+        Gauge.builder("auth.password.hashing.queue.depth", this.executor, pool -> pool.getQueue().size())
+                .description("Password hashing tasks waiting for a thread")
+                .register(this.meterRegistry);
+        Gauge.builder("auth.password.hashing.active", this.executor, ThreadPoolExecutor::getActiveCount)
+                .description("Password hashing tasks currently running")
+                .register(this.meterRegistry);
+
+        this.encodeTimer = this.hashingTimer("encode");
+        this.matchesTimer = this.hashingTimer("matches");
+        this.rejectedCounter = Counter.builder("auth.password.hashing.rejected")
+                .description("Password hashing tasks rejected because the queue was full")
+                .register(this.meterRegistry);
+        this.dummyHash = this.passwordEncoder.encode(UUID.randomUUID().toString());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        this.executor.shutdown();
+    }
+
+    public CompletableFuture<String> encode(CharSequence rawPassword) {
+        return this.submit(this.encodeTimer, () -> this.passwordEncoder.encode(rawPassword));
+    }
+
+    public CompletableFuture<Boolean> matches(CharSequence rawPassword, String encodedPassword) {
+        return this.submit(this.matchesTimer, () -> this.passwordEncoder.matches(rawPassword, encodedPassword));
+    }
+
+    public CompletableFuture<Boolean> matchesDummy(CharSequence rawPassword) {
+        return this.matches(rawPassword, this.dummyHash);
+    }
+
+    public boolean upgradeEncoding(String encodedPassword) {
+        return this.passwordEncoder.upgradeEncoding(encodedPassword);
+    }
+
+    private <T> CompletableFuture<T> submit(Timer timer, Supplier<T> task) {
+        try {
+            return CompletableFuture.supplyAsync(() -> timer.record(task), this.executor);
+        } catch (RejectedExecutionException exception) {
+            this.rejectedCounter.increment();
+            throw new PasswordHashingOverloadedException("Too many concurrent authentication requests, try again later.", exception);
+        }
+    }
+
+    private Timer hashingTimer(String operation) {
+        return Timer.builder("auth.password.hashing")
+                .description("Time spent in the PasswordEncoder")
+                .tag("operation", operation)
+                .publishPercentileHistogram()
+                .register(this.meterRegistry);
+    }
+
+    private static final class HashingThreadFactory implements ThreadFactory {
+
+        private final AtomicInteger threadNumber = new AtomicInteger(1);
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, "password-hashing-" + this.threadNumber.getAndIncrement());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package com.universe.service;
+
+import com.universe.config.security.authority.AuthorityOverrides;
+import com.universe.config.security.authority.AuthoritySet;
+import com.universe.config.security.authority.RoleHierarchy;
+import com.universe.config.security.cache.VerifiedTokenCache;
+import com.universe.service.cache.RoleMembershipIndex;
+import com.universe.service.cache.UserDetailsCache;
+import com.universe.service.event.RolePermissionsChangedEvent;
+import com.universe.service.store.SecurityStateEvent;
+import com.universe.service.store.SharedSecurityStore;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Aplica los cambios de permisos o de herencia de un rol a los usuarios que ya tienen sesión, sin esperar a que vuelvan a iniciar sesión
+ * y sin consultar la base de datos en cada petición.
+ * (1) Recibe el RolePermissionsChangedEvent de RoleService cuando se confirma la transacción, lo aplica en este nodo y lo publica
+ *     en SharedSecurityStore como ROLE_PERMISSIONS_CHANGED; los demás nodos lo aplican al recibirlo.
+ * (2) Primero se recalcula RoleHierarchy. Los usuarios afectados son los que tienen el rol o un rol que hereda de él, según
+ *     RoleMembershipIndex (rol -> usuarios), y sus autoridades salen de los cierres ya calculados de sus roles,
+ *     así que los usuarios con los mismos roles comparten el mismo AuthoritySet.
+ * (3) Las autoridades se guardan en AuthorityOverrides, que JwtAuthenticationResolver usa para los tokens emitidos antes del cambio,
+ *     y se invalidan en bloque los UserDetails y las entradas de VerifiedTokenCache de esos usuarios. El resto de usuarios no se toca.
+ * @author Jose Navarro
+ * @version 1.0.0
+ */
+@Service
+public class PermissionChangeService {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(PermissionChangeService.class);
+
+    @Autowired
+    private RoleHierarchy roleHierarchy;
+
+    @Autowired
+    private RoleMembershipIndex roleMembershipIndex;
+
+    @Autowired
+    private AuthorityOverrides authorityOverrides;
+
+    @Autowired
+    private UserDetailsCache userDetailsCache;
+
+    @Autowired
+    private VerifiedTokenCache verifiedTokenCache;
+
+    @Autowired
+    private SharedSecurityStore sharedSecurityStore;
+
+    @PostConstruct
+    public void init() {
+        sharedSecurityStore.subscribe(event -> {
+            if (event.type() == SecurityStateEvent.Type.ROLE_PERMISSIONS_CHANGED) {
+                this.apply(event.key());
+            }
+        });
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void rolePermissionsChanged(RolePermissionsChangedEvent event) {
+        this.apply(event.roleName());
+        sharedSecurityStore.publish(SecurityStateEvent.rolePermissionsChanged(event.roleName()));
+    }
+
+    private void apply(String roleName) {
+        roleHierarchy.reload();
+
+        Set<String> usernames = new HashSet<>();
+        roleHierarchy.rolesInheriting(roleName).forEach(role -> usernames.addAll(roleMembershipIndex.usersWithRole(role)));
+        if (usernames.isEmpty()) {
+            return;
+        }
+
+        Map<String, AuthoritySet> authoritiesByUser = new HashMap<>(usernames.size() * 2);
+        usernames.forEach(username -> authoritiesByUser.put(username, roleHierarchy.authoritiesOf(roleMembershipIndex.rolesOf(username))));
+
+        authorityOverrides.override(authoritiesByUser);
+        usernames.forEach(userDetailsCache::invalidate);
+        verifiedTokenCache.invalidateUsers(usernames);
+        LOGGER.info("Permissions of role {} changed, authorities of {} users updated", roleName, usernames.size());
+    }
+}
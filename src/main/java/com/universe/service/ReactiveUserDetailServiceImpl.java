@@ -0,0 +1,71 @@
+package com.universe.service;
+
+import com.universe.controller.dto.AuthCreateUserRequest;
+import com.universe.controller.dto.AuthLoginRequest;
+import com.universe.controller.dto.AuthLogoutRequest;
+import com.universe.controller.dto.AuthRefreshRequest;
+import com.universe.controller.dto.AuthResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.security.authentication.AuthenticationCredentialsNotFoundException;
+import org.springframework.security.core.context.ReactiveSecurityContextHolder;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.userdetails.ReactiveUserDetailsService;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * Versión no bloqueante de UserDetailServiceImpl para la variante reactiva de la aplicación.
+ * La lógica es la de UserDetailServiceImpl; lo que cambia es dónde se ejecuta:
+ * (1) Las llamadas a JPA (UserRepository, RefreshTokenRepository...) son bloqueantes, así que se ejecutan en Schedulers.boundedElastic()
+ *     y nunca en un hilo del event loop.
+ * (2) La comparación de contraseñas sigue en el pool de PasswordHashingService; loginUser encadena su CompletableFuture con Mono.fromFuture.
+ * (3) findByUsername devuelve un Mono vacío si el usuario no existe, como espera ReactiveUserDetailsService.
+ * La caché de UserDetails es la misma, así que los usuarios en caché no llegan a usar boundedElastic.
+ * @author Jose Navarro
+ * @version 1.0.0
+ */
+@Service
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveUserDetailServiceImpl implements ReactiveUserDetailsService {
+
+    private final Scheduler blockingScheduler = Schedulers.boundedElastic();
+
+    @Autowired
+    private UserDetailServiceImpl userDetailService;
+
+    @Override
+    public Mono<UserDetails> findByUsername(String username) {
+        return Mono.fromCallable(() -> userDetailService.loadUserByUsername(username))
+                .subscribeOn(this.blockingScheduler)
+                .onErrorResume(UsernameNotFoundException.class, exception -> Mono.empty());
+    }
+
+    public Mono<AuthResponse> createUser(AuthCreateUserRequest authCreateUserRequest) {
+        return Mono.fromCallable(() -> userDetailService.createUser(authCreateUserRequest))
+                .subscribeOn(this.blockingScheduler);
+    }
+
+    public Mono<AuthResponse> loginUser(AuthLoginRequest authLoginRequest, String clientAddress) {
+        return Mono.fromCallable(() -> userDetailService.loginUser(authLoginRequest, clientAddress))
+                .subscribeOn(this.blockingScheduler)
+                .flatMap(Mono::fromFuture);
+    }
+
+    public Mono<AuthResponse> refreshToken(AuthRefreshRequest authRefreshRequest) {
+        return Mono.fromCallable(() -> userDetailService.refreshToken(authRefreshRequest))
+                .subscribeOn(this.blockingScheduler);
+    }
+
+    public Mono<AuthResponse> logoutUser(AuthLogoutRequest authLogoutRequest) {
+        return ReactiveSecurityContextHolder.getContext()
+                .map(SecurityContext::getAuthentication)
+                .switchIfEmpty(Mono.error(() -> new AuthenticationCredentialsNotFoundException("A valid access token is required to log out")))
+                .publishOn(this.blockingScheduler)
+                .map(authentication -> userDetailService.logoutUser(authentication, authLogoutRequest));
+    }
+}
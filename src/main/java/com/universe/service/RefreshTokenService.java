@@ -0,0 +1,121 @@
+package com.universe.service;
+
+import com.universe.persistence.entity.RefreshTokenEntity;
+import com.universe.persistence.repository.RefreshTokenRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.core.AuthenticationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.UUID;
+
+/**
+ * Este servicio emite y rota los refresh tokens, para que los clientes obtengan un token de acceso nuevo
+ * sin volver a enviar la contraseña (y sin pagar otra vez la búsqueda del usuario y BCrypt).
+ * (1) issue(username): Crea un refresh token aleatorio de 256 bits, de una familia nueva, válido durante security.jwt.refresh-token.ttl.
+ * (2) rotate(refreshToken): Consume el refresh token y devuelve otro de la misma familia. Cada token se puede usar una sola vez.
+ *     Si se presenta un token ya usado o revocado se revoca toda su familia, de modo que tanto el atacante como el cliente legítimo
+ *     tienen que volver a iniciar sesión.
+ * (3) Los tokens expirados se eliminan periódicamente (security.jwt.refresh-token.cleanup-interval).
+ * @author Jose Navarro
+ * @version 1.0.0
+ */
+@Service
+public class RefreshTokenService {
+
+    private static final int TOKEN_BYTES = 32;
+
+    @Value("${security.jwt.refresh-token.ttl:P14D}")
+    private Duration refreshTokenTtl;
+
+    @Autowired
+    private RefreshTokenRepository refreshTokenRepository;
+
+    private final SecureRandom secureRandom = new SecureRandom();
+
+    @Transactional
+    public String issue(String username) {
+        return this.issue(username, UUID.randomUUID().toString());
+    }
+
+    @Transactional(noRollbackFor = AuthenticationException.class)
+    public Rotation rotate(String refreshToken) {
+        RefreshTokenEntity refreshTokenEntity = refreshTokenRepository.findByTokenHash(hash(refreshToken))
+                .orElseThrow(() -> new BadCredentialsException("Invalid refresh token"));
+
+        if (refreshTokenEntity.isRevoked() || refreshTokenEntity.isUsed() || refreshTokenRepository.markUsed(refreshTokenEntity.getId()) == 0) {
+            refreshTokenRepository.revokeFamily(refreshTokenEntity.getFamilyId());
+            throw new BadCredentialsException("Refresh token reuse detected, please log in again");
+        }
+
+        if (refreshTokenEntity.getExpiresAt().isBefore(Instant.now())) {
+            throw new BadCredentialsException("Refresh token expired");
+        }
+
+        String username = refreshTokenEntity.getUsername();
+        return new Rotation(username, this.issue(username, refreshTokenEntity.getFamilyId()));
+    }
+
+    /**
+     * Revoca la familia del refresh token, siempre que pertenezca al usuario indicado.
+     */
+    @Transactional
+    public void revoke(String refreshToken, String username) {
+        refreshTokenRepository.findByTokenHash(hash(refreshToken))
+                .filter(refreshTokenEntity -> refreshTokenEntity.getUsername().equals(username))
+                .ifPresent(refreshTokenEntity -> refreshTokenRepository.revokeFamily(refreshTokenEntity.getFamilyId()));
+    }
+
+    @Transactional
+    public void revokeAll(String username) {
+        refreshTokenRepository.revokeAllByUsername(username);
+    }
+
+    @Scheduled(fixedDelayString = "${security.jwt.refresh-token.cleanup-interval:PT1H}")
+    @Transactional
+    public void deleteExpired() {
+        refreshTokenRepository.deleteExpired(Instant.now());
+    }
+
+    private String issue(String username, String familyId) {
+        byte[] tokenBytes = new byte[TOKEN_BYTES];
+        this.secureRandom.nextBytes(tokenBytes);
+        String refreshToken = Base64.getUrlEncoder().withoutPadding().encodeToString(tokenBytes);
+
+        Instant now = Instant.now();
+        refreshTokenRepository.save(RefreshTokenEntity.builder()
+                .tokenHash(hash(refreshToken))
+                .username(username)
+                .familyId(familyId)
+                .createdAt(now)
+                .expiresAt(now.plus(this.refreshTokenTtl))
+                .build());
+        return refreshToken;
+    }
+
+    private static String hash(String refreshToken) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(refreshToken.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException exception) {
+            throw new IllegalStateException("SHA-256 is not available", exception);
+        }
+    }
+
+    /**
+     * Resultado de una rotación: el usuario dueño del token y el nuevo refresh token.
+     */
+    public record Rotation(String username, String refreshToken) {
+    }
+}
@@ -0,0 +1,110 @@
+package com.universe.service;
+
+import com.universe.config.security.authority.RoleHierarchy;
+import com.universe.controller.dto.RoleResponse;
+import com.universe.controller.dto.RoleUpdateParentsRequest;
+import com.universe.controller.dto.RoleUpdatePermissionsRequest;
+import com.universe.persistence.entity.PermissionEntity;
+import com.universe.persistence.entity.RoleEntity;
+import com.universe.persistence.entity.RoleEnum;
+import com.universe.persistence.repository.PermissionRepository;
+import com.universe.persistence.repository.RoleRepository;
+import com.universe.service.event.RolePermissionsChangedEvent;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Servicio para administrar los permisos de los roles y los roles de los que heredan.
+ * Cuando cambian los permisos o los padres de un rol se publica un RolePermissionsChangedEvent; PermissionChangeService recalcula
+ * RoleHierarchy y actualiza las autoridades de los usuarios con ese rol o con un rol que herede de él, en todos los nodos.
+ * El evento se procesa cuando se confirma la transacción,
+ * para que una lectura concurrente no vuelva a llenar las cachés con los permisos anteriores.
+ * Para cambiar los padres se bloquean primero todos los roles (RoleRepository.findAllForUpdate), así que dos cambios de la jerarquía
+ * a la vez, en este nodo o en otro, se ejecutan uno detrás de otro. Después, dentro de la misma transacción, RoleHierarchy.checkParents
+ * comprueba que la jerarquía guardada con los padres nuevos no tenga ciclos.
+ * @author Jose Navarro
+ * @version 1.0.0
+ */
+@Service
+public class RoleService {
+
+    @Autowired
+    private RoleRepository roleRepository;
+
+    @Autowired
+    private PermissionRepository permissionRepository;
+
+    @Autowired
+    private RoleHierarchy roleHierarchy;
+
+    @Autowired
+    private ApplicationEventPublisher applicationEventPublisher;
+
+    @Transactional
+    public RoleResponse updatePermissions(String roleName, RoleUpdatePermissionsRequest updateRequest) {
+
+        RoleEntity roleEntity = this.findRole(roleName);
+
+        List<String> permissionsRequest = updateRequest.permissionListName();
+        Set<PermissionEntity> permissionEntityList = new HashSet<>(permissionRepository.findPermissionEntitiesByNameIn(permissionsRequest));
+
+        if (permissionEntityList.size() != new HashSet<>(permissionsRequest).size()) {
+            throw new IllegalArgumentException("The permissions specified does not exist.");
+        }
+
+        roleEntity.setPermissionList(permissionEntityList);
+        RoleEntity roleSaved = roleRepository.save(roleEntity);
+
+        applicationEventPublisher.publishEvent(new RolePermissionsChangedEvent(roleSaved.getRoleEnum().name()));
+
+        return toResponse(roleSaved);
+    }
+
+    @Transactional
+    public RoleResponse updateParents(String roleName, RoleUpdateParentsRequest updateRequest) {
+
+        roleRepository.findAllForUpdate();
+        RoleEntity roleEntity = this.findRole(roleName);
+
+        List<String> parentsRequest = updateRequest.parentRoleListName().stream().map(parentName -> toRoleEnum(parentName).name()).distinct().toList();
+        Set<RoleEntity> parentEntityList = new HashSet<>(roleRepository.findRoleEntitiesByRoleEnumIn(parentsRequest));
+
+        if (parentEntityList.size() != parentsRequest.size()) {
+            throw new IllegalArgumentException("The roles specified does not exist.");
+        }
+
+        roleHierarchy.checkParents(roleEntity.getRoleEnum().name(), parentsRequest);
+
+        roleEntity.setParentRoles(parentEntityList);
+        RoleEntity roleSaved = roleRepository.save(roleEntity);
+
+        applicationEventPublisher.publishEvent(new RolePermissionsChangedEvent(roleSaved.getRoleEnum().name()));
+
+        return toResponse(roleSaved);
+    }
+
+    private RoleEntity findRole(String roleName) {
+        RoleEnum roleEnum = toRoleEnum(roleName);
+        return roleRepository.findRoleEntityByRoleEnum(roleEnum).orElseThrow(() -> new IllegalArgumentException("The role " + roleName + " does not exist."));
+    }
+
+    private static RoleEnum toRoleEnum(String roleName) {
+        try {
+            return RoleEnum.valueOf(roleName.toUpperCase());
+        } catch (IllegalArgumentException exception) {
+            throw new IllegalArgumentException("The role " + roleName + " does not exist.");
+        }
+    }
+
+    private static RoleResponse toResponse(RoleEntity roleEntity) {
+        List<String> permissionNames = roleEntity.getPermissionList().stream().map(PermissionEntity::getName).sorted().toList();
+        List<String> parentRoleNames = roleEntity.getParentRoles().stream().map(parentRole -> parentRole.getRoleEnum().name()).sorted().toList();
+        return new RoleResponse(roleEntity.getRoleEnum().name(), permissionNames, parentRoleNames);
+    }
+}
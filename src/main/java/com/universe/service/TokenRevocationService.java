@@ -0,0 +1,182 @@
+package com.universe.service;
+
+import com.universe.persistence.entity.RevokedTokenEntity;
+import com.universe.controller.dto.TokenRevokeRequest;
+import com.universe.persistence.repository.RevokedTokenRepository;
+import com.universe.service.store.SecurityStateEvent;
+import com.universe.service.store.SharedSecurityStore;
+import com.universe.util.BloomFilter;
+import com.universe.util.JwtUtils;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Este servicio permite revocar tokens de acceso antes de su expiración a partir de su jti.
+ * (1) Las revocaciones se guardan en la tabla revoked_tokens (RevokedTokenRepository) para que sobrevivan a un reinicio
+ *     y lleguen al resto de nodos, que las cargan cada security.jwt.revocation.sync-interval.
+ * (2) En memoria se mantiene una lista exacta (jti -> expiración) y, delante de ella, un BloomFilter.
+ *     isRevoked se llama en cada petición: para un token no revocado el filtro casi siempre responde "no está"
+ *     sin consultar el mapa ni la base de datos; solo los positivos (reales o falsos) se confirman contra el mapa.
+ * (3) El filtro no permite borrar, así que la tarea periódica elimina las revocaciones expiradas y lo reconstruye.
+ *     La actualización en memoria de revoke y la reconstrucción comparten un ReentrantLock (son poco frecuentes); isRevoked no usa bloqueos.
+ *     revoke escribe en la base de datos sin el bloqueo, así que un logout no espera a la base de datos de otro.
+ *     Se usa ReentrantLock y no synchronized porque la reconstrucción lee la base de datos con el bloqueo tomado,
+ *     y con hilos virtuales un bloque synchronized fija el hilo portador durante toda la operación.
+ * (4) revoke(TokenRevokeRequest): Revocación de un administrador a partir del jti. Como no se conoce la expiración del token,
+ *     se guarda hasta ahora + security.jwt.access-token.ttl, que es la vida máxima de cualquier token emitido.
+ * (5) Cada revocación se publica en SharedSecurityStore y los demás nodos la añaden a su lista al recibirla, sin esperar a la
+ *     sincronización periódica, que queda como respaldo si se pierde algún evento.
+ *     Dentro de una transacción la lista local y la publicación esperan a que se confirme (TransactionSynchronization.afterCommit),
+ *     como en UserStateSynchronizer: si la transacción se deshace el token no queda revocado en ningún nodo.
+ * @author Jose Navarro
+ * @version 1.0.0
+ */
+@Service
+public class TokenRevocationService {
+
+    @Value("${security.jwt.revocation.expected-revocations:10000}")
+    private int expectedRevocations;
+
+    @Value("${security.jwt.revocation.false-positive-rate:0.01}")
+    private double falsePositiveRate;
+
+    @Autowired
+    private RevokedTokenRepository revokedTokenRepository;
+
+    @Autowired
+    private RefreshTokenService refreshTokenService;
+
+    @Autowired
+    private JwtUtils jwtUtils;
+
+    @Autowired
+    private SharedSecurityStore sharedSecurityStore;
+
+    private final Map<String, Instant> denylist = new ConcurrentHashMap<>();
+
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private volatile BloomFilter bloomFilter;
+
+    @PostConstruct
+    public void init() {
+        this.reload(Instant.now());
+        sharedSecurityStore.subscribe(event -> {
+            if (event.type() == SecurityStateEvent.Type.TOKEN_REVOKED) {
+                this.remember(event.key(), event.expiresAt());
+            }
+        });
+    }
+
+    public boolean isRevoked(String jti) {
+        if (jti == null || !this.bloomFilter.mightContain(jti)) {
+            return false;
+        }
+        return this.denylist.containsKey(jti);
+    }
+
+    @Transactional
+    public void revoke(String jti, String username, Instant expiresAt) {
+        if (jti == null || expiresAt.isBefore(Instant.now())) {
+            return;
+        }
+        revokedTokenRepository.save(RevokedTokenEntity.builder()
+                .jti(jti)
+                .username(username)
+                .revokedAt(Instant.now())
+                .expiresAt(expiresAt)
+                .build());
+        this.afterCommit(() -> {
+            this.remember(jti, expiresAt);
+            sharedSecurityStore.publish(SecurityStateEvent.tokenRevoked(jti, expiresAt));
+        });
+    }
+
+    private void afterCommit(Runnable change) {
+        if (TransactionSynchronizationManager.isActualTransactionActive() && TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    change.run();
+                }
+            });
+        } else {
+            change.run();
+        }
+    }
+
+    /**
+     * Añade a la lista una revocación ya guardada en la base de datos, por este nodo o por otro.
+     */
+    private void remember(String jti, Instant expiresAt) {
+        if (jti == null || expiresAt == null || expiresAt.isBefore(Instant.now())) {
+            return;
+        }
+        this.lock.lock();
+        try {
+            this.denylist.put(jti, expiresAt);
+            this.bloomFilter.put(jti);
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    @Transactional
+    public void revoke(TokenRevokeRequest tokenRevokeRequest) {
+        this.revoke(tokenRevokeRequest.jti(), tokenRevokeRequest.username(), Instant.now().plus(jwtUtils.getAccessTokenTtl()));
+        if (tokenRevokeRequest.username() != null) {
+            refreshTokenService.revokeAll(tokenRevokeRequest.username());
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${security.jwt.revocation.sync-interval:PT30S}")
+    @Transactional
+    public void synchronize() {
+        Instant now = Instant.now();
+        revokedTokenRepository.deleteExpired(now);
+        this.reload(now);
+    }
+
+    public int size() {
+        return this.denylist.size();
+    }
+
+    private void reload(Instant now) {
+        this.lock.lock();
+        try {
+            this.rebuild(now);
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    private void rebuild(Instant now) {
+        Map<String, Instant> revokedTokens = new ConcurrentHashMap<>();
+        revokedTokenRepository.findByExpiresAtAfter(now)
+                .forEach(revokedToken -> revokedTokens.put(revokedToken.getJti(), revokedToken.getExpiresAt()));
+        // Las revocaciones de este nodo que aún no se leen de la base de datos (otra transacción) se conservan.
+        this.denylist.forEach((jti, expiresAt) -> {
+            if (expiresAt.isAfter(now)) {
+                revokedTokens.putIfAbsent(jti, expiresAt);
+            }
+        });
+
+        BloomFilter rebuilt = new BloomFilter(Math.max(this.expectedRevocations, revokedTokens.size() * 2), this.falsePositiveRate);
+        revokedTokens.keySet().forEach(rebuilt::put);
+
+        this.bloomFilter = rebuilt;
+        this.denylist.keySet().retainAll(revokedTokens.keySet());
+        this.denylist.putAll(revokedTokens);
+    }
+}
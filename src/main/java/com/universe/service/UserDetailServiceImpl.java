@@ -2,38 +2,66 @@ package com.universe.service;
 
 import com.universe.controller.dto.AuthCreateUserRequest;
 import com.universe.controller.dto.AuthLoginRequest;
+import com.universe.controller.dto.AuthLogoutRequest;
+import com.universe.controller.dto.AuthRefreshRequest;
 import com.universe.controller.dto.AuthResponse;
+import com.universe.config.security.authority.AuthoritySet;
+import com.universe.config.security.authority.JwtAuthentication;
+import com.universe.config.security.authority.RoleHierarchy;
+import com.universe.config.security.metrics.AuthenticationMetrics;
+import com.universe.config.security.metrics.AuthenticationMetrics.RejectionReason;
+import com.universe.config.security.metrics.AuthenticationMetrics.Stage;
 import com.universe.persistence.entity.RoleEntity;
 import com.universe.persistence.entity.UserEntity;
+import com.universe.persistence.projection.UserAuthorityView;
 import com.universe.persistence.repository.RoleRepository;
 import com.universe.persistence.repository.UserRepository;
+import com.universe.service.cache.UserDetailsCache;
+import com.universe.service.cache.UsernameNegativeCache;
+import com.universe.service.exception.PasswordHashingOverloadedException;
+import com.universe.service.store.UserStateSynchronizer;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import com.universe.util.JwtUtils;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.security.authentication.AuthenticationCredentialsNotFoundException;
 import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.LockedException;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
-import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContext;
 import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.authentication.AccountStatusUserDetailsChecker;
 import org.springframework.security.core.userdetails.User;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
-import java.util.ArrayList;
+import org.springframework.transaction.annotation.Transactional;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
 import java.util.stream.Collectors;
 
 @Service
-public class UserDetailServiceImpl implements UserDetailsService {
+public class UserDetailServiceImpl implements UserDetailsService, UserDetailsPasswordService {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(UserDetailServiceImpl.class);
+
+    private static final String INVALID_CREDENTIALS_MESSAGE = "Invalid username or password";
 
     @Autowired
     private JwtUtils jwtUtils;
 
     @Autowired
-    private PasswordEncoder passwordEncoder;
+    private PasswordHashingService passwordHashingService;
 
     @Autowired
     private UserRepository userRepository;
@@ -41,19 +69,82 @@ public class UserDetailServiceImpl implements UserDetailsService {
     @Autowired
     private RoleRepository roleRepository;
 
+    @Autowired
+    private RoleHierarchy roleHierarchy;
+
+    @Autowired
+    private UserDetailsCache userDetailsCache;
+
+    @Autowired
+    private UsernameNegativeCache usernameNegativeCache;
+
+    @Autowired
+    private UserStateSynchronizer userStateSynchronizer;
+
+    @Autowired
+    private RefreshTokenService refreshTokenService;
+
+    @Autowired
+    private TokenRevocationService tokenRevocationService;
+
+    @Autowired
+    private LoginAttemptService loginAttemptService;
+
+    @Autowired
+    private AuthenticationMetrics authenticationMetrics;
+
+    /**
+     * Executor de Spring Boot para el trabajo bloqueante que sigue a la comparación de la contraseña (JDBC, SharedSecurityStore),
+     * para no ocupar los hilos del pool de hashing, que son tantos como núcleos. Con hilos virtuales usa uno por tarea.
+     */
+    @Autowired
+    @Qualifier(TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME)
+    private Executor taskExecutor;
+
+    private final AccountStatusUserDetailsChecker accountStatusChecker = new AccountStatusUserDetailsChecker();
+
+    /**
+     * Busca el usuario en UserDetailsCache o en la base de datos. El tiempo se mide en auth.stage con stage=user_lookup.
+     * Si UsernameNegativeCache sabe que el usuario no existe, lanza UsernameNotFoundException sin consultar la base de datos.
+     */
     @Override
     public UserDetails loadUserByUsername(String username) {
+        return authenticationMetrics.timer(Stage.USER_LOOKUP).record(() -> this.findUserDetails(username));
+    }
 
-        UserEntity userEntity = userRepository.findUserEntityByUsername(username).orElseThrow(() -> new UsernameNotFoundException("El usuario " + username + " no existe."));
+    private UserDetails findUserDetails(String username) {
+
+        UserDetails cachedUserDetails = userDetailsCache.get(username);
+        if (cachedUserDetails != null) {
+            return cachedUserDetails;
+        }
+
+        if (usernameNegativeCache.isUnknown(username)) {
+            throw new UsernameNotFoundException("El usuario " + username + " no existe.");
+        }
+
+        List<UserAuthorityView> userAuthorities = userRepository.findUserAuthoritiesByUsername(username);
+
+        if (userAuthorities.isEmpty()) {
+            usernameNegativeCache.recordMiss(username);
+            throw new UsernameNotFoundException("El usuario " + username + " no existe.");
+        }
 
-        List<SimpleGrantedAuthority> authorityList = new ArrayList<>();
+        Set<String> roleNames = new LinkedHashSet<>();
 
-        userEntity.getRoles().forEach(role -> authorityList.add(new SimpleGrantedAuthority("ROLE_".concat(role.getRoleEnum().name()))));
+        userAuthorities.forEach(userAuthority -> {
+            if (userAuthority.getRoleEnum() != null) {
+                roleNames.add(userAuthority.getRoleEnum().name());
+            }
+        });
 
-        userEntity.getRoles().stream().flatMap(role -> role.getPermissionList().stream()).forEach(permission -> authorityList.add(new SimpleGrantedAuthority(permission.getName())));
+        AuthoritySet authorities = roleHierarchy.authoritiesOf(roleNames);
 
+        UserAuthorityView userAccount = userAuthorities.get(0);
 
-        return new User(userEntity.getUsername(), userEntity.getPassword(), userEntity.isEnabled(), userEntity.isAccountNoExpired(), userEntity.isCredentialNoExpired(), userEntity.isAccountNoLocked(), authorityList);
+        UserDetails userDetails = new User(userAccount.getUsername(), userAccount.getPassword(), userAccount.isEnabled(), userAccount.isAccountNoExpired(), userAccount.isCredentialNoExpired(), userAccount.isAccountNoLocked(), authorities);
+        userDetailsCache.put(userDetails);
+        return userDetails;
     }
 
     public AuthResponse createUser(AuthCreateUserRequest createRoleRequest) {
@@ -68,49 +159,191 @@ public class UserDetailServiceImpl implements UserDetailsService {
             throw new IllegalArgumentException("The roles specified does not exist.");
         }
 
-        UserEntity userEntity = UserEntity.builder().username(username).password(passwordEncoder.encode(password)).roles(roleEntityList).isEnabled(true).accountNoLocked(true).accountNoExpired(true).credentialNoExpired(true).build();
+        String encodedPassword = this.await(passwordHashingService.encode(password));
 
-        UserEntity userSaved = userRepository.save(userEntity);
-
-        ArrayList<SimpleGrantedAuthority> authorities = new ArrayList<>();
+        UserEntity userEntity = UserEntity.builder().username(username).password(encodedPassword).roles(roleEntityList).isEnabled(true).accountNoLocked(true).accountNoExpired(true).credentialNoExpired(true).build();
 
-        userSaved.getRoles().forEach(role -> authorities.add(new SimpleGrantedAuthority("ROLE_".concat(role.getRoleEnum().name()))));
+        UserEntity userSaved = userRepository.save(userEntity);
+        List<String> roleNames = userSaved.getRoles().stream().map(role -> role.getRoleEnum().name()).toList();
+        userStateSynchronizer.userCreated(userSaved.getUsername(), roleNames);
 
-        userSaved.getRoles().stream().flatMap(role -> role.getPermissionList().stream()).forEach(permission -> authorities.add(new SimpleGrantedAuthority(permission.getName())));
+        AuthoritySet authorities = roleHierarchy.authoritiesOf(roleNames);
 
         SecurityContext securityContextHolder = SecurityContextHolder.getContext();
-        Authentication authentication = new UsernamePasswordAuthenticationToken(userSaved, null, authorities);
+        Authentication authentication = new UsernamePasswordAuthenticationToken(userSaved.getUsername(), null, authorities);
 
         String accessToken = jwtUtils.createToken(authentication);
+        String refreshToken = refreshTokenService.issue(userSaved.getUsername());
 
-        AuthResponse authResponse = new AuthResponse(username, "User created successfully", accessToken, true);
+        AuthResponse authResponse = new AuthResponse(username, "User created successfully", accessToken, refreshToken, true);
         return authResponse;
     }
 
-    public AuthResponse loginUser(AuthLoginRequest authLoginRequest) {
+    /**
+     * Borra el usuario y revoca sus refresh tokens. Se quitan antes sus roles para que el CascadeType.ALL de la relación
+     * no borre también los roles. Los tokens de acceso ya emitidos siguen siendo válidos hasta que expiran.
+     * UserStateSynchronizer aplica y publica el borrado cuando se confirma la transacción.
+     */
+    @Transactional
+    public void deleteUser(String username) {
+        UserEntity userEntity = userRepository.findUserEntityByUsername(username)
+                .orElseThrow(() -> new IllegalArgumentException("The user " + username + " does not exist."));
+
+        userEntity.getRoles().clear();
+        userRepository.delete(userEntity);
+        refreshTokenService.revokeAll(username);
+
+        userStateSynchronizer.userDeleted(username);
+    }
+
+    /**
+     * El login se resuelve de forma asíncrona: la búsqueda del usuario se hace en el hilo de la petición
+     * y la comparación de la contraseña en el pool de PasswordHashingService, de modo que el hilo de Tomcat
+     * queda libre mientras BCrypt trabaja.
+     * Antes de nada LoginAttemptService aplica los límites por dirección IP y por usuario, y al terminar
+     * se le informa del resultado para que bloquee la cuenta si se acumulan contraseñas incorrectas.
+     * Lo que sigue a BCrypt (el resultado para LoginAttemptService, el token y el INSERT del refresh token) se ejecuta en taskExecutor:
+     * en el pool de hashing una consulta lenta retrasaría las comprobaciones de contraseña del resto de logins.
+     */
+    public CompletableFuture<AuthResponse> loginUser(AuthLoginRequest authLoginRequest, String clientAddress) {
 
         String username = authLoginRequest.username();
         String password = authLoginRequest.password();
 
-        Authentication authentication = this.authenticate(username, password);
-        SecurityContextHolder.getContext().setAuthentication(authentication);
+        loginAttemptService.checkAllowed(username, clientAddress);
+
+        return this.authenticateAsync(username, password).whenCompleteAsync((authentication, exception) -> {
+            Throwable cause = exception instanceof CompletionException ? exception.getCause() : exception;
+            if (cause == null) {
+                loginAttemptService.loginSucceeded(username);
+            } else if (cause instanceof BadCredentialsException) {
+                loginAttemptService.loginFailed(username);
+            }
+        }, this.taskExecutor).thenApplyAsync(authentication -> {
+            String accessToken = jwtUtils.createToken(authentication);
+            String refreshToken = refreshTokenService.issue(username);
+            return new AuthResponse(username, "User loged succesfully", accessToken, refreshToken, true);
+        }, this.taskExecutor);
+    }
+
+    /**
+     * Cambia un refresh token por un token de acceso nuevo y el siguiente refresh token de la familia.
+     * Las autoridades se leen de nuevo (desde UserDetailsCache o la base de datos), así que el token nuevo refleja
+     * los cambios de roles y permisos, y un usuario bloqueado o deshabilitado ya no puede renovar su sesión.
+     */
+    public AuthResponse refreshToken(AuthRefreshRequest authRefreshRequest) {
+
+        RefreshTokenService.Rotation rotation = refreshTokenService.rotate(authRefreshRequest.refreshToken());
 
+        UserDetails userDetails = this.loadUserByUsername(rotation.username());
+        accountStatusChecker.check(userDetails);
+
+        Authentication authentication = new UsernamePasswordAuthenticationToken(userDetails.getUsername(), null, userDetails.getAuthorities());
         String accessToken = jwtUtils.createToken(authentication);
-        AuthResponse authResponse = new AuthResponse(username, "User loged succesfully", accessToken, true);
-        return authResponse;
+
+        return new AuthResponse(userDetails.getUsername(), "Token refreshed successfully", accessToken, rotation.refreshToken(), true);
+    }
+
+    /**
+     * Cierra la sesión del token con el que se hace la petición: revoca su jti hasta que expire
+     * y, si se envía el refresh token, toda su familia.
+     */
+    public AuthResponse logoutUser(Authentication authentication, AuthLogoutRequest authLogoutRequest) {
+
+        if (!(authentication instanceof JwtAuthentication jwtAuthentication)) {
+            throw new AuthenticationCredentialsNotFoundException("A valid access token is required to log out");
+        }
+
+        String username = jwtAuthentication.getName();
+        tokenRevocationService.revoke(jwtAuthentication.getTokenId(), username, jwtAuthentication.getExpiresAt());
+
+        if (authLogoutRequest != null && authLogoutRequest.refreshToken() != null) {
+            refreshTokenService.revoke(authLogoutRequest.refreshToken(), username);
+        }
+
+        return new AuthResponse(username, "User logged out successfully", null, null, true);
     }
 
     public Authentication authenticate(String username, String password) {
-        UserDetails userDetails = this.loadUserByUsername(username);
+        return this.await(this.authenticateAsync(username, password));
+    }
+
+    /**
+     * Si el usuario no existe o su cuenta está bloqueada se compara la contraseña con el hash fijo de PasswordHashingService
+     * antes de rechazarla, así que la respuesta tarda lo mismo y tiene el mismo mensaje que una contraseña incorrecta.
+     * El intento sobre una cuenta bloqueada lanza LockedException y no BadCredentialsException, así que no alarga el bloqueo.
+     */
+    public CompletableFuture<Authentication> authenticateAsync(String username, String password) {
+        UserDetails userDetails;
+        try {
+            userDetails = this.loadUserByUsername(username);
+        } catch (UsernameNotFoundException exception) {
+            return passwordHashingService.matchesDummy(password).thenApply(matches -> {
+                throw new BadCredentialsException(INVALID_CREDENTIALS_MESSAGE);
+            });
+        }
 
-        if (userDetails == null) {
-            throw new BadCredentialsException(String.format("Invalid username or password"));
+        // Una cuenta bloqueada también pasa por el hash fijo y responde con el mensaje genérico: si no, bastaría con
+        // bloquear una cuenta a base de intentos fallidos para saber, por el mensaje o por el tiempo, que el usuario existe.
+        if (!userDetails.isAccountNonLocked()) {
+            authenticationMetrics.loginRejected(RejectionReason.ACCOUNT_LOCKED);
+            return passwordHashingService.matchesDummy(password).thenApply(matches -> {
+                throw new LockedException(INVALID_CREDENTIALS_MESSAGE);
+            });
         }
+        accountStatusChecker.check(userDetails);
+
+        Timer.Sample passwordMatchSample = authenticationMetrics.startSample();
+        return passwordHashingService.matches(password, userDetails.getPassword())
+                .whenComplete((matches, exception) -> passwordMatchSample.stop(authenticationMetrics.timer(Stage.PASSWORD_MATCH)))
+                .thenApply(matches -> {
+                    if (!matches) {
+                        throw new BadCredentialsException(INVALID_CREDENTIALS_MESSAGE);
+                    }
+                    this.upgradePasswordEncoding(userDetails, password);
+                    return new UsernamePasswordAuthenticationToken(username, password, userDetails.getAuthorities());
+                });
+    }
+
+    /**
+     * Guarda la nueva contraseña codificada cuando el PasswordEncoder la vuelve a codificar con el algoritmo o coste configurado.
+     */
+    @Override
+    public UserDetails updatePassword(UserDetails user, String newPassword) {
+        userRepository.updatePassword(user.getUsername(), newPassword);
+        userStateSynchronizer.userChanged(user.getUsername());
+        return User.withUserDetails(user).password(newPassword).build();
+    }
 
-        if (!passwordEncoder.matches(password, userDetails.getPassword())) {
-            throw new BadCredentialsException("Incorrect Password");
+    /**
+     * Si la contraseña guardada usa un algoritmo o un coste distinto al configurado, la vuelve a codificar en segundo plano
+     * con la contraseña que el usuario acaba de enviar. El login no espera a que termine, y si el pool de hashing está lleno
+     * simplemente se intentará en el siguiente login.
+     */
+    private void upgradePasswordEncoding(UserDetails userDetails, String password) {
+        if (!passwordHashingService.upgradeEncoding(userDetails.getPassword())) {
+            return;
         }
+        try {
+            passwordHashingService.encode(password)
+                    .thenAcceptAsync(encodedPassword -> this.updatePassword(userDetails, encodedPassword), this.taskExecutor)
+                    .exceptionally(exception -> {
+                        LOGGER.warn("Could not upgrade the password encoding of user {}", userDetails.getUsername(), exception);
+                        return null;
+                    });
+        } catch (PasswordHashingOverloadedException exception) {
+            LOGGER.debug("Skipping password encoding upgrade of user {}, hashing pool is full", userDetails.getUsername());
+        }
+    }
 
-        return new UsernamePasswordAuthenticationToken(username, password, userDetails.getAuthorities());
+    private <T> T await(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException exception) {
+            if (exception.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw exception;
+        }
     }
 }
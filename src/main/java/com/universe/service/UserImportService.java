@@ -0,0 +1,307 @@
+package com.universe.service;
+
+import com.universe.controller.dto.UserImportError;
+import com.universe.controller.dto.UserImportRequest;
+import com.universe.controller.dto.UserImportResponse;
+import com.universe.persistence.entity.RoleEntity;
+import com.universe.persistence.entity.UserEntity;
+import com.universe.persistence.repository.RoleRepository;
+import com.universe.persistence.repository.UserRepository;
+import com.universe.service.store.UserStateSynchronizer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.PersistenceException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.dao.DataAccessException;
+import org.springframework.orm.jpa.EntityManagerFactoryUtils;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Este servicio crea usuarios de forma masiva a partir de un array JSON o de un CSV leído en streaming.
+ * (1) Los roles se resuelven una sola vez por importación (nombre -> id); cada lote los referencia con EntityManager.getReference, sin consultas.
+ * (2) Las filas se procesan por lotes de security.users.import.batch-size: se validan, se descartan los usuarios que ya existen
+ *     con una sola consulta por lote y las contraseñas se codifican en paralelo en un ForkJoinPool propio de
+ *     security.users.import.parallelism hilos (0 = la mitad de los núcleos), para que una importación no deje sin CPU a los logins.
+ * (3) Cada lote se inserta en su propia transacción con inserciones JDBC por lotes (UserEntity usa una secuencia y
+ *     hibernate.jdbc.batch_size agrupa los INSERT). Después se vacía el contexto de persistencia para que la memoria no crezca con el CSV.
+ * (4) Si el lote falla (por ejemplo, un usuario creado a la vez por otra petición) se reintenta fila a fila, así que un error
+ *     solo afecta a su fila. Los errores de cada fila se devuelven en UserImportResponse; nunca se cancela la importación.
+ * No se emiten tokens: los usuarios importados inician sesión con /auth/log-in.
+ * Es @Lazy: el ForkJoinPool se crea con la primera importación y no retrasa el arranque.
+ * Formato del CSV: username,password,roles con los roles separados por '|'. La primera línea puede ser la cabecera.
+ * La contraseña es todo lo que hay entre la primera y la última coma, así que puede contener comas.
+ * @author Jose Navarro
+ * @version 1.0.0
+ */
+@Service
+@Lazy
+public class UserImportService {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(UserImportService.class);
+
+    private static final String CSV_HEADER = "username,password,roles";
+
+    private static final String CSV_ROLE_SEPARATOR = "\\|";
+
+    @Value("${security.users.import.batch-size:500}")
+    private int batchSize;
+
+    @Value("${security.users.import.parallelism:0}")
+    private int parallelism;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private RoleRepository roleRepository;
+
+    @Autowired
+    private UserStateSynchronizer userStateSynchronizer;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private ForkJoinPool hashingPool;
+
+    @PostConstruct
+    public void init() {
+        int poolSize = this.parallelism > 0 ? this.parallelism : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        this.hashingPool = new ForkJoinPool(poolSize);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        this.hashingPool.shutdown();
+    }
+
+    public UserImportResponse importUsers(List<UserImportRequest> userImportRequests) {
+        Import userImport = new Import(this.resolveRoles());
+        for (int i = 0; i < userImportRequests.size(); i++) {
+            UserImportRequest request = userImportRequests.get(i);
+            userImport.add(request == null ? new Row(i + 1, null, null, List.of()) : new Row(i + 1, request.username(), request.password(), request.roles()));
+        }
+        return userImport.finish();
+    }
+
+    public UserImportResponse importCsv(InputStream csv) throws IOException {
+        Import userImport = new Import(this.resolveRoles());
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(csv, StandardCharsets.UTF_8))) {
+            int lineNumber = 0;
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (line.isBlank() || (lineNumber == 1 && CSV_HEADER.equalsIgnoreCase(line.strip()))) {
+                    continue;
+                }
+                userImport.add(parseCsvLine(lineNumber, line));
+            }
+        }
+        return userImport.finish();
+    }
+
+    private static Row parseCsvLine(int lineNumber, String line) {
+        int firstComma = line.indexOf(',');
+        int lastComma = line.lastIndexOf(',');
+        if (firstComma < 0 || firstComma == lastComma) {
+            return new Row(lineNumber, null, null, List.of());
+        }
+        String roles = line.substring(lastComma + 1).strip();
+        return new Row(lineNumber,
+                line.substring(0, firstComma).strip(),
+                line.substring(firstComma + 1, lastComma),
+                roles.isEmpty() ? List.of() : Arrays.asList(roles.split(CSV_ROLE_SEPARATOR)));
+    }
+
+    private Map<String, Long> resolveRoles() {
+        Map<String, Long> roleIds = new HashMap<>();
+        roleRepository.findAll().forEach(role -> roleIds.put(role.getRoleEnum().name(), role.getId()));
+        return roleIds;
+    }
+
+    /**
+     * Valida un lote, codifica las contraseñas de las filas válidas e inserta los usuarios.
+     */
+    private void importBatch(Import userImport, List<Row> rows) {
+        List<Row> validRows = new ArrayList<>(rows.size());
+        for (Row row : rows) {
+            String error = this.validate(userImport, row);
+            if (error != null) {
+                userImport.fail(row, error);
+            } else {
+                validRows.add(row);
+            }
+        }
+        if (validRows.isEmpty()) {
+            return;
+        }
+
+        Set<String> existingUsernames = new HashSet<>(userRepository.findExistingUsernames(validRows.stream().map(Row::username).toList()));
+        List<Row> newRows = new ArrayList<>(validRows.size());
+        for (Row row : validRows) {
+            if (existingUsernames.contains(row.username())) {
+                userImport.fail(row, "The user already exists.");
+            } else {
+                newRows.add(row);
+            }
+        }
+        if (newRows.isEmpty()) {
+            return;
+        }
+
+        List<EncodedRow> encodedRows = this.hashingPool.submit(() -> newRows.parallelStream()
+                .map(row -> new EncodedRow(row, this.passwordEncoder.encode(row.password())))
+                .toList()).join();
+
+        try {
+            this.insert(userImport, encodedRows);
+            encodedRows.forEach(encodedRow -> userImport.created(encodedRow.row()));
+        } catch (DataAccessException batchException) {
+            LOGGER.debug("Batch insert failed, retrying {} users one by one", encodedRows.size(), batchException);
+            for (EncodedRow encodedRow : encodedRows) {
+                try {
+                    this.insert(userImport, List.of(encodedRow));
+                    userImport.created(encodedRow.row());
+                } catch (DataAccessException rowException) {
+                    userImport.fail(encodedRow.row(), "The user could not be saved.");
+                }
+            }
+        }
+    }
+
+    private String validate(Import userImport, Row row) {
+        if (row.username() == null || row.username().isBlank()) {
+            return "The username is required.";
+        }
+        if (row.password() == null || row.password().isBlank()) {
+            return "The password is required.";
+        }
+        if (row.roles() == null || row.roles().isEmpty()) {
+            return "At least one role is required.";
+        }
+        for (String role : row.roles()) {
+            if (role == null || !userImport.roleIds.containsKey(role.strip().toUpperCase(Locale.ROOT))) {
+                return "The role " + role + " does not exist.";
+            }
+        }
+        if (!userImport.usernames.add(row.username())) {
+            return "The user is repeated in the import.";
+        }
+        return null;
+    }
+
+    private void insert(Import userImport, List<EncodedRow> encodedRows) {
+        this.transactionTemplate.executeWithoutResult(status -> {
+            List<UserEntity> users = new ArrayList<>(encodedRows.size());
+            for (EncodedRow encodedRow : encodedRows) {
+                Set<RoleEntity> roles = new LinkedHashSet<>();
+                encodedRow.row().roles().forEach(role -> roles.add(
+                        this.entityManager.getReference(RoleEntity.class, userImport.roleIds.get(role.strip().toUpperCase(Locale.ROOT)))));
+                users.add(UserEntity.builder()
+                        .username(encodedRow.row().username())
+                        .password(encodedRow.encodedPassword())
+                        .roles(roles)
+                        .isEnabled(true)
+                        .accountNoLocked(true)
+                        .accountNoExpired(true)
+                        .credentialNoExpired(true)
+                        .build());
+            }
+            userRepository.saveAll(users);
+            try {
+                this.entityManager.flush();
+            } catch (PersistenceException persistenceException) {
+                // El EntityManager compartido no traduce las excepciones de Hibernate: sin esto el reintento fila a fila no se ejecuta.
+                DataAccessException dataAccessException = EntityManagerFactoryUtils.convertJpaAccessExceptionIfPossible(persistenceException);
+                throw dataAccessException != null ? dataAccessException : persistenceException;
+            }
+            this.entityManager.clear();
+        });
+    }
+
+    private record Row(int number, String username, String password, List<String> roles) {
+    }
+
+    private record EncodedRow(Row row, String encodedPassword) {
+    }
+
+    /**
+     * Estado de una importación: roles resueltos, usuarios ya vistos (para detectar repetidos), el lote en curso y el resultado.
+     */
+    private final class Import {
+
+        private final Map<String, Long> roleIds;
+
+        private final Set<String> usernames = new HashSet<>();
+
+        private final List<Row> batch = new ArrayList<>(batchSize);
+
+        private final List<UserImportError> errors = new ArrayList<>();
+
+        private int total;
+
+        private int created;
+
+        private Import(Map<String, Long> roleIds) {
+            this.roleIds = roleIds;
+        }
+
+        private void add(Row row) {
+            this.total++;
+            this.batch.add(row);
+            if (this.batch.size() == batchSize) {
+                this.flushBatch();
+            }
+        }
+
+        private void created(Row row) {
+            this.created++;
+            userStateSynchronizer.userCreated(row.username(), row.roles().stream().map(role -> role.strip().toUpperCase(Locale.ROOT)).toList());
+        }
+
+        private void fail(Row row, String message) {
+            this.errors.add(new UserImportError(row.number(), row.username(), message));
+        }
+
+        private UserImportResponse finish() {
+            this.flushBatch();
+            return new UserImportResponse(this.total, this.created, this.errors.size(), List.copyOf(this.errors));
+        }
+
+        private void flushBatch() {
+            if (!this.batch.isEmpty()) {
+                importBatch(this, this.batch);
+                this.batch.clear();
+            }
+        }
+    }
+}
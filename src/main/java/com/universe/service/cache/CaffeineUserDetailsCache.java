@@ -0,0 +1,72 @@
+package com.universe.service.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Implementación de UserDetailsCache basada en Caffeine.
+ * (1) Las entradas expiran security.user-details.cache.ttl después de escribirse y el tamaño se limita con security.user-details.cache.max-size.
+ * (2) Las estadísticas (aciertos, fallos, desalojos y tamaño) se registran en Micrometer con el nombre de caché "userDetails",
+ *     y se pueden consultar en /actuator/metrics/cache.gets?tag=cache:userDetails.
+ * @author Jose Navarro
+ * @version 1.0.0
+ */
+@Component
+@ConditionalOnProperty(name = "security.user-details.cache.type", havingValue = "caffeine", matchIfMissing = true)
+public class CaffeineUserDetailsCache implements UserDetailsCache {
+
+    public static final String CACHE_NAME = "userDetails";
+
+    @Value("${security.user-details.cache.ttl:5m}")
+    private Duration ttl;
+
+    @Value("${security.user-details.cache.max-size:10000}")
+    private long maxSize;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private Cache<String, UserDetails> cache;
+
+    @PostConstruct
+    public void init() {
+        this.cache = Caffeine.newBuilder()
+                .expireAfterWrite(this.ttl)
+                .maximumSize(this.maxSize)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(this.meterRegistry, this.cache, CACHE_NAME);
+    }
+
+    @Override
+    public UserDetails get(String username) {
+        UserDetails userDetails = this.cache.getIfPresent(username);
+        return userDetails == null ? null : User.withUserDetails(userDetails).build();
+    }
+
+    @Override
+    public void put(UserDetails userDetails) {
+        this.cache.put(userDetails.getUsername(), User.withUserDetails(userDetails).build());
+    }
+
+    @Override
+    public void invalidate(String username) {
+        this.cache.invalidate(username);
+    }
+
+    @Override
+    public void invalidateAll() {
+        this.cache.invalidateAll();
+    }
+}
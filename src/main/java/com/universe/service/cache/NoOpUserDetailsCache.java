@@ -0,0 +1,32 @@
+package com.universe.service.cache;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Component;
+
+/**
+ * Implementación de UserDetailsCache que no guarda nada, para desactivar la caché con security.user-details.cache.type=none.
+ * @author Jose Navarro
+ * @version 1.0.0
+ */
+@Component
+@ConditionalOnProperty(name = "security.user-details.cache.type", havingValue = "none")
+public class NoOpUserDetailsCache implements UserDetailsCache {
+
+    @Override
+    public UserDetails get(String username) {
+        return null;
+    }
+
+    @Override
+    public void put(UserDetails userDetails) {
+    }
+
+    @Override
+    public void invalidate(String username) {
+    }
+
+    @Override
+    public void invalidateAll() {
+    }
+}
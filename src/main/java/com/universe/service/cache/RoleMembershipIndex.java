@@ -0,0 +1,99 @@
+package com.universe.service.cache;
+
+import com.universe.persistence.projection.UserRoleView;
+import com.universe.persistence.repository.UserRepository;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Índice invertido en memoria rol -> usuarios (y usuario -> roles), para saber a quién afecta un cambio de permisos de un rol
+ * sin consultar la base de datos. Lo usa PermissionChangeService.
+ * (1) Se carga completo al arrancar y se reconstruye cada security.user-details.negative-cache.rebuild-interval.
+ * (2) Los usuarios creados en este nodo se añaden al momento (UserStateSynchronizer); los creados en otros nodos se recogen
+ *     cada security.user-details.negative-cache.sync-interval por su created_at, como en UsernameNegativeCache.
+ * (3) Los usuarios borrados se quitan al recibir el evento USER_DELETED.
+ * @author Jose Navarro
+ * @version 1.0.0
+ */
+@Component
+public class RoleMembershipIndex {
+
+    private static final Duration SYNC_OVERLAP = Duration.ofMinutes(1);
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private volatile Map<String, Set<String>> usersByRole = new ConcurrentHashMap<>();
+
+    private volatile Map<String, Set<String>> rolesByUser = new ConcurrentHashMap<>();
+
+    private Instant synchronizedAt;
+
+    @PostConstruct
+    public void init() {
+        this.rebuild();
+    }
+
+    public Set<String> usersWithRole(String roleName) {
+        return Set.copyOf(this.usersByRole.getOrDefault(roleName, Set.of()));
+    }
+
+    public Set<String> rolesOf(String username) {
+        return Set.copyOf(this.rolesByUser.getOrDefault(username, Set.of()));
+    }
+
+    public void add(String username, Collection<String> roleNames) {
+        roleNames.forEach(roleName -> add(this.usersByRole, this.rolesByUser, username, roleName));
+    }
+
+    public void remove(String username) {
+        Set<String> roleNames = this.rolesByUser.remove(username);
+        if (roleNames != null) {
+            roleNames.forEach(roleName -> {
+                Set<String> usernames = this.usersByRole.get(roleName);
+                if (usernames != null) {
+                    usernames.remove(username);
+                }
+            });
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${security.user-details.negative-cache.sync-interval:PT10S}")
+    public synchronized void synchronize() {
+        Instant now = Instant.now();
+        userRepository.findUserRolesCreatedAfter(this.synchronizedAt.minus(SYNC_OVERLAP))
+                .forEach(userRole -> add(this.usersByRole, this.rolesByUser, userRole.getUsername(), userRole.getRoleEnum().name()));
+        this.synchronizedAt = now;
+    }
+
+    @Scheduled(fixedDelayString = "${security.user-details.negative-cache.rebuild-interval:PT1H}",
+            initialDelayString = "${security.user-details.negative-cache.rebuild-interval:PT1H}")
+    public synchronized void rebuild() {
+        Instant now = Instant.now();
+        Map<String, Set<String>> rebuiltUsersByRole = new ConcurrentHashMap<>();
+        Map<String, Set<String>> rebuiltRolesByUser = new ConcurrentHashMap<>();
+        List<UserRoleView> userRoles = userRepository.findUserRoles();
+        userRoles.forEach(userRole -> add(rebuiltUsersByRole, rebuiltRolesByUser, userRole.getUsername(), userRole.getRoleEnum().name()));
+        this.usersByRole = rebuiltUsersByRole;
+        this.rolesByUser = rebuiltRolesByUser;
+        this.synchronizedAt = now;
+    }
+
+    private static void add(Map<String, Set<String>> usersByRole, Map<String, Set<String>> rolesByUser, String username, String roleName) {
+        usersByRole.computeIfAbsent(roleName, role -> ConcurrentHashMap.newKeySet()).add(username);
+        rolesByUser.computeIfAbsent(username, user -> ConcurrentHashMap.newKeySet()).add(roleName);
+    }
+}
@@ -0,0 +1,22 @@
+package com.universe.service.cache;
+
+import org.springframework.security.core.userdetails.UserDetails;
+
+/**
+ * Caché de los UserDetails que construye UserDetailServiceImpl.loadUserByUsername.
+ * La implementación se elige con security.user-details.cache.type (caffeine o none).
+ * get(String) debe devolver siempre una copia: Spring Security borra la contraseña de los UserDetails
+ * después de autenticar y eso no puede afectar a la entrada guardada.
+ * @author Jose Navarro
+ * @version 1.0.0
+ */
+public interface UserDetailsCache {
+
+    UserDetails get(String username);
+
+    void put(UserDetails userDetails);
+
+    void invalidate(String username);
+
+    void invalidateAll();
+}
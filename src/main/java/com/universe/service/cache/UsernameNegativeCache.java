@@ -0,0 +1,150 @@
+package com.universe.service.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.universe.persistence.repository.UserRepository;
+import com.universe.util.BloomFilter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Caché negativa de nombres de usuario: permite a UserDetailServiceImpl.loadUserByUsername responder que un usuario
+ * no existe sin consultar UserRepository, que es el caso habitual en un ataque de credential stuffing.
+ * (1) Un BloomFilter con todos los nombres de usuario existentes. Si el filtro responde que no está, el usuario no existe.
+ * (2) Los falsos positivos del filtro y los usuarios borrados sí lo pasan; cuando la base de datos confirma que no existen
+ *     se guardan en una caché Caffeine de TTL corto (security.user-details.negative-cache.miss-ttl), con el nombre de caché "unknownUsernames".
+ * (3) createUser añade el usuario al filtro y lo quita de la caché de fallos; deleteUser lo añade a la caché de fallos.
+ * (4) Cada security.user-details.negative-cache.sync-interval se añaden los usuarios creados desde la última sincronización
+ *     (con un margen de SYNC_OVERLAP para las transacciones que confirman tarde), para recoger los creados en otros nodos.
+ *     Se usa created_at y no el id porque los ids se reservan por bloques de la secuencia y cada nodo consume el suyo. Hasta entonces un usuario nuevo no puede iniciar sesión en el resto de nodos.
+ *     También se hace con ApplicationReadyEvent, para recoger los usuarios creados en otros nodos mientras este arrancaba.
+ * (5) El filtro no permite borrar, así que cada security.user-details.negative-cache.rebuild-interval se reconstruye desde la base de datos
+ *     (se eliminan los usuarios borrados y se dimensiona para el doble de los usuarios actuales si son más de los esperados). La reconstrucción y las altas
+ *     comparten un ReentrantLock para que un usuario creado durante la reconstrucción no se pierda; isUnknown no usa bloqueos.
+ * @author Jose Navarro
+ * @version 1.0.0
+ */
+@Component
+public class UsernameNegativeCache {
+
+    public static final String CACHE_NAME = "unknownUsernames";
+
+    private static final int PAGE_SIZE = 10000;
+
+    private static final Duration SYNC_OVERLAP = Duration.ofMinutes(1);
+
+    @Value("${security.user-details.negative-cache.expected-users:100000}")
+    private int expectedUsers;
+
+    @Value("${security.user-details.negative-cache.false-positive-rate:0.01}")
+    private double falsePositiveRate;
+
+    @Value("${security.user-details.negative-cache.miss-ttl:30s}")
+    private Duration missTtl;
+
+    @Value("${security.user-details.negative-cache.miss-max-size:100000}")
+    private long missMaxSize;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private Cache<String, Boolean> misses;
+
+    private volatile BloomFilter knownUsernames;
+
+    private Instant synchronizedAt;
+
+    @PostConstruct
+    public void init() {
+        this.misses = Caffeine.newBuilder()
+                .expireAfterWrite(this.missTtl)
+                .maximumSize(this.missMaxSize)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(this.meterRegistry, this.misses, CACHE_NAME);
+        this.rebuild();
+    }
+
+    /**
+     * true si el usuario seguro que no existe (según el filtro o una consulta reciente); false si hay que consultar la base de datos.
+     */
+    public boolean isUnknown(String username) {
+        return !this.knownUsernames.mightContain(username) || this.misses.getIfPresent(username) != null;
+    }
+
+    public void recordMiss(String username) {
+        this.misses.put(username, Boolean.TRUE);
+    }
+
+    public void recordCreated(String username) {
+        this.lock.lock();
+        try {
+            this.knownUsernames.put(username);
+        } finally {
+            this.lock.unlock();
+        }
+        this.misses.invalidate(username);
+    }
+
+    public void recordDeleted(String username) {
+        this.misses.put(username, Boolean.TRUE);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${security.user-details.negative-cache.sync-interval:PT10S}")
+    public void synchronize() {
+        this.lock.lock();
+        try {
+            Instant now = Instant.now();
+            userRepository.findUsernamesCreatedAfter(this.synchronizedAt.minus(SYNC_OVERLAP)).forEach(this.knownUsernames::put);
+            this.synchronizedAt = now;
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${security.user-details.negative-cache.rebuild-interval:PT1H}",
+            initialDelayString = "${security.user-details.negative-cache.rebuild-interval:PT1H}")
+    public void rebuild() {
+        this.lock.lock();
+        try {
+            Instant now = Instant.now();
+            long users = userRepository.count();
+            BloomFilter rebuilt = new BloomFilter((int) Math.min(Integer.MAX_VALUE, Math.max(this.expectedUsers, users * 2)), this.falsePositiveRate);
+            this.load(rebuilt);
+            this.knownUsernames = rebuilt;
+            this.synchronizedAt = now;
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    /**
+     * Añade al filtro todos los usuarios, por páginas de ids para no cargarlos todos a la vez.
+     */
+    private void load(BloomFilter bloomFilter) {
+        Long maxId = userRepository.findMaxId();
+        if (maxId == null) {
+            return;
+        }
+        for (long from = 0; from < maxId; from += PAGE_SIZE) {
+            userRepository.findUsernamesByIdRange(from, Math.min(from + PAGE_SIZE, maxId)).forEach(bloomFilter::put);
+        }
+    }
+}
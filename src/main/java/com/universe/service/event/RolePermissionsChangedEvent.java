@@ -0,0 +1,9 @@
+package com.universe.service.event;
+
+/**
+ * Evento de dominio que publica RoleService cuando cambian los permisos de un rol. Lo procesa PermissionChangeService.
+ * @author Jose Navarro
+ * @version 1.0.0
+ */
+public record RolePermissionsChangedEvent(String roleName) {
+}
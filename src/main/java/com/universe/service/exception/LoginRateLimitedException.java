@@ -0,0 +1,23 @@
+package com.universe.service.exception;
+
+import java.time.Duration;
+
+/**
+ * Se lanza cuando un intento de login supera el límite de su dirección IP o de su usuario.
+ * GlobalExceptionHandler la convierte en una respuesta 429 (Too Many Requests) con la cabecera Retry-After.
+ * @author Jose Navarro
+ * @version 1.0.0
+ */
+public class LoginRateLimitedException extends RuntimeException {
+
+    private final Duration retryAfter;
+
+    public LoginRateLimitedException(String message, Duration retryAfter) {
+        super(message);
+        this.retryAfter = retryAfter;
+    }
+
+    public Duration getRetryAfter() {
+        return retryAfter;
+    }
+}
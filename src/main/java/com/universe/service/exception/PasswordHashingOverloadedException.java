@@ -0,0 +1,14 @@
+package com.universe.service.exception;
+
+/**
+ * Se lanza cuando la cola de PasswordHashingService está llena y la petición no se puede aceptar.
+ * GlobalExceptionHandler la convierte en una respuesta 503 (Service Unavailable) con la cabecera Retry-After.
+ * @author Jose Navarro
+ * @version 1.0.0
+ */
+public class PasswordHashingOverloadedException extends RuntimeException {
+
+    public PasswordHashingOverloadedException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,70 @@
+package com.universe.service.store;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.function.Consumer;
+
+/**
+ * Implementación de SharedSecurityStore para un solo nodo (security.store.type=embedded, la opción por defecto).
+ * No hay otros nodos, así que publish y subscribe no hacen nada. Los contadores de fallos se guardan en una caché Caffeine
+ * en la que cada entrada expire cuando termina su ventana, igual que la clave con PEXPIRE de RedisSharedSecurityStore.
+ * @author Jose Navarro
+ * @version 1.0.0
+ */
+@Component
+@ConditionalOnProperty(name = "security.store.type", havingValue = "embedded", matchIfMissing = true)
+public class EmbeddedSharedSecurityStore implements SharedSecurityStore {
+
+    private final Cache<String, FailureCount> loginFailures = Caffeine.newBuilder()
+            .expireAfter(new FailureWindowExpiry())
+            .build();
+
+    @Override
+    public void publish(SecurityStateEvent event) {
+    }
+
+    @Override
+    public void subscribe(Consumer<SecurityStateEvent> subscriber) {
+    }
+
+    @Override
+    public long incrementLoginFailures(String username, Duration window) {
+        return this.loginFailures.asMap()
+                .compute(username, (key, current) -> current == null ? new FailureCount(1, window) : new FailureCount(current.count() + 1, current.window()))
+                .count();
+    }
+
+    @Override
+    public void resetLoginFailures(String username) {
+        this.loginFailures.invalidate(username);
+    }
+
+    private record FailureCount(long count, Duration window) {
+    }
+
+    /**
+     * La ventana empieza con el primer fallo: al crear la entrada expira en window y las actualizaciones no la alargan.
+     */
+    private static final class FailureWindowExpiry implements Expiry<String, FailureCount> {
+
+        @Override
+        public long expireAfterCreate(String key, FailureCount value, long currentTime) {
+            return value.window().toNanos();
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, FailureCount value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+
+        @Override
+        public long expireAfterRead(String key, FailureCount value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
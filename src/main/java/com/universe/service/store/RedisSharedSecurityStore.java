@@ -0,0 +1,146 @@
+package com.universe.service.store;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * Implementación de SharedSecurityStore sobre Redis (security.store.type=redis), para varios nodos detrás de un balanceador.
+ * Sirve cualquier servidor que hable el protocolo de Redis (Redis, Valkey, KeyDB...); para probarla en local basta uno en localhost:6379
+ * con el perfil "redis" (application-redis.properties).
+ * (1) Los eventos se publican en el canal security.store.redis.channel con el formato nodo|SecurityStateEvent.encode().
+ *     Cada nodo ignora sus propios mensajes, porque ya aplicó el cambio antes de publicarlo.
+ * (2) Los contadores de fallos usan la clave security.store.redis.key-prefix + "login-failures:" + usuario, con un script Lua
+ *     que hace INCR y, en el primer fallo, PEXPIRE con la ventana, en una sola operación atómica.
+ * (3) Si Redis no responde se registra un aviso y se sigue: los contadores devuelven 0 y los eventos se pierden. Las revocaciones
+ *     llegan igualmente con la sincronización periódica de TokenRevocationService y los UserDetails expiran con el TTL de su caché.
+ * @author Jose Navarro
+ * @version 1.0.0
+ */
+@Component
+@ConditionalOnProperty(name = "security.store.type", havingValue = "redis")
+public class RedisSharedSecurityStore implements SharedSecurityStore {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(RedisSharedSecurityStore.class);
+
+    private static final String NODE_SEPARATOR = "|";
+
+    private static final RedisScript<Long> INCREMENT_IN_WINDOW = new DefaultRedisScript<>("""
+            local count = redis.call('INCR', KEYS[1])
+            if count == 1 then
+                redis.call('PEXPIRE', KEYS[1], ARGV[1])
+            end
+            return count
+            """, Long.class);
+
+    @Value("${security.store.redis.channel:security:state}")
+    private String channel;
+
+    @Value("${security.store.redis.key-prefix:security:}")
+    private String keyPrefix;
+
+    @Autowired
+    private StringRedisTemplate redisTemplate;
+
+    @Autowired
+    private RedisConnectionFactory redisConnectionFactory;
+
+    private final String nodeId = UUID.randomUUID().toString();
+
+    private final List<Consumer<SecurityStateEvent>> subscribers = new CopyOnWriteArrayList<>();
+
+    private RedisMessageListenerContainer listenerContainer;
+
+    @PostConstruct
+    public void init() {
+        this.listenerContainer = new RedisMessageListenerContainer();
+        this.listenerContainer.setConnectionFactory(this.redisConnectionFactory);
+        this.listenerContainer.addMessageListener((message, pattern) -> this.receive(new String(message.getBody(), StandardCharsets.UTF_8)),
+                new ChannelTopic(this.channel));
+        this.listenerContainer.afterPropertiesSet();
+        this.listenerContainer.start();
+    }
+
+    @PreDestroy
+    public void shutdown() throws Exception {
+        this.listenerContainer.destroy();
+    }
+
+    @Override
+    public void publish(SecurityStateEvent event) {
+        try {
+            this.redisTemplate.convertAndSend(this.channel, this.nodeId + NODE_SEPARATOR + event.encode());
+        } catch (DataAccessException exception) {
+            LOGGER.warn("Could not publish the security state event {}", event, exception);
+        }
+    }
+
+    @Override
+    public void subscribe(Consumer<SecurityStateEvent> subscriber) {
+        this.subscribers.add(subscriber);
+    }
+
+    @Override
+    public long incrementLoginFailures(String username, Duration window) {
+        try {
+            Long failures = this.redisTemplate.execute(INCREMENT_IN_WINDOW, List.of(this.loginFailuresKey(username)), String.valueOf(window.toMillis()));
+            return failures == null ? 0 : failures;
+        } catch (DataAccessException exception) {
+            LOGGER.warn("Could not count the failed login of user {}", username, exception);
+            return 0;
+        }
+    }
+
+    @Override
+    public void resetLoginFailures(String username) {
+        try {
+            this.redisTemplate.delete(this.loginFailuresKey(username));
+        } catch (DataAccessException exception) {
+            LOGGER.warn("Could not reset the failed logins of user {}", username, exception);
+        }
+    }
+
+    private void receive(String message) {
+        int separator = message.indexOf(NODE_SEPARATOR);
+        if (separator < 0 || this.nodeId.equals(message.substring(0, separator))) {
+            return;
+        }
+        SecurityStateEvent event;
+        try {
+            event = SecurityStateEvent.decode(message.substring(separator + 1));
+        } catch (IllegalArgumentException exception) {
+            LOGGER.warn("Ignoring malformed security state event {}", message, exception);
+            return;
+        }
+        for (Consumer<SecurityStateEvent> subscriber : this.subscribers) {
+            try {
+                subscriber.accept(event);
+            } catch (RuntimeException exception) {
+                LOGGER.warn("Could not apply the security state event {}", event, exception);
+            }
+        }
+    }
+
+    private String loginFailuresKey(String username) {
+        return this.keyPrefix + "login-failures:" + username;
+    }
+}
@@ -0,0 +1,64 @@
+package com.universe.service.store;
+
+import java.time.Instant;
+
+/**
+ * Cambio del estado de seguridad que hay que aplicar en las cachés locales de todos los nodos.
+ * (1) USER_CHANGED: cambiaron la contraseña, el estado o los roles del usuario; se invalida su UserDetails.
+ * (2) ROLE_PERMISSIONS_CHANGED: cambiaron los permisos del rol key; PermissionChangeService recalcula las autoridades de sus usuarios.
+ * (3) USER_CREATED y USER_DELETED: se actualizan UsernameNegativeCache y RoleMembershipIndex (y se invalida el UserDetails del usuario borrado).
+ * (4) TOKEN_REVOKED: key es el jti y expiresAt su expiración; se añade a la lista de TokenRevocationService.
+ * @author Jose Navarro
+ * @version 1.0.0
+ */
+public record SecurityStateEvent(Type type, String key, Instant expiresAt) {
+
+    private static final String SEPARATOR = "|";
+
+    public static SecurityStateEvent userChanged(String username) {
+        return new SecurityStateEvent(Type.USER_CHANGED, username, null);
+    }
+
+    public static SecurityStateEvent rolePermissionsChanged(String roleName) {
+        return new SecurityStateEvent(Type.ROLE_PERMISSIONS_CHANGED, roleName, null);
+    }
+
+    public static SecurityStateEvent userCreated(String username) {
+        return new SecurityStateEvent(Type.USER_CREATED, username, null);
+    }
+
+    public static SecurityStateEvent userDeleted(String username) {
+        return new SecurityStateEvent(Type.USER_DELETED, username, null);
+    }
+
+    public static SecurityStateEvent tokenRevoked(String jti, Instant expiresAt) {
+        return new SecurityStateEvent(Type.TOKEN_REVOKED, jti, expiresAt);
+    }
+
+    /**
+     * Formato de texto para los mensajes: TYPE|expiresAt en milisegundos (vacío si no hay)|key. key va al final porque puede contener '|'.
+     */
+    public String encode() {
+        return this.type.name() + SEPARATOR
+                + (this.expiresAt == null ? "" : String.valueOf(this.expiresAt.toEpochMilli())) + SEPARATOR
+                + (this.key == null ? "" : this.key);
+    }
+
+    public static SecurityStateEvent decode(String message) {
+        String[] parts = message.split("\\|", 3);
+        if (parts.length != 3) {
+            throw new IllegalArgumentException("Malformed security state event: " + message);
+        }
+        return new SecurityStateEvent(Type.valueOf(parts[0]),
+                parts[2].isEmpty() ? null : parts[2],
+                parts[1].isEmpty() ? null : Instant.ofEpochMilli(Long.parseLong(parts[1])));
+    }
+
+    public enum Type {
+        USER_CHANGED,
+        ROLE_PERMISSIONS_CHANGED,
+        USER_CREATED,
+        USER_DELETED,
+        TOKEN_REVOKED
+    }
+}
@@ -0,0 +1,29 @@
+package com.universe.service.store;
+
+import java.time.Duration;
+import java.util.function.Consumer;
+
+/**
+ * Estado de seguridad compartido entre los nodos de la aplicación.
+ * Las lecturas del camino de cada petición (tokens revocados, UserDetails, usuarios inexistentes) se siguen sirviendo desde
+ * las cachés locales de cada nodo (TokenRevocationService, UserDetailsCache, UsernameNegativeCache); este almacén solo
+ * propaga los cambios entre nodos y guarda los contadores que tienen que ser comunes.
+ * (1) publish: envía un evento al resto de nodos. Quien publica ya ha aplicado el cambio en su propia caché,
+ *     así que el evento no se entrega a los suscriptores del mismo nodo.
+ * (2) subscribe: registra un suscriptor para los eventos que llegan de otros nodos.
+ * (3) incrementLoginFailures y resetLoginFailures: contador de contraseñas incorrectas de un usuario en una ventana fija que empieza
+ *     en el primer fallo. Si el almacén no está disponible devuelven 0 y no fallan: el login no debe depender de él.
+ * La implementación se elige con security.store.type: embedded (un solo nodo, en memoria) o redis.
+ * @author Jose Navarro
+ * @version 1.0.0
+ */
+public interface SharedSecurityStore {
+
+    void publish(SecurityStateEvent event);
+
+    void subscribe(Consumer<SecurityStateEvent> subscriber);
+
+    long incrementLoginFailures(String username, Duration window);
+
+    void resetLoginFailures(String username);
+}
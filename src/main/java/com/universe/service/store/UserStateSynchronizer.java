@@ -0,0 +1,99 @@
+package com.universe.service.store;
+
+import com.universe.service.cache.RoleMembershipIndex;
+import com.universe.service.cache.UserDetailsCache;
+import com.universe.service.cache.UsernameNegativeCache;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Mantiene al día las cachés locales de usuarios (UserDetailsCache, UsernameNegativeCache y RoleMembershipIndex) en todos los nodos.
+ * Cada método aplica el cambio en este nodo y lo publica en SharedSecurityStore; los eventos que llegan de otros nodos
+ * se aplican igual pero sin volver a publicarlos. Los servicios que cambian usuarios lo usan en lugar de tocar las cachés.
+ * Los roles de un usuario nuevo solo se añaden al índice en el nodo que lo crea; el resto los recoge con la sincronización periódica del índice.
+ * Si se llama dentro de una transacción (por ejemplo deleteUser), el cambio se aplica y se publica cuando se confirma
+ * (TransactionSynchronization.afterCommit), también los roles del usuario nuevo en el índice:
+ * si la transacción se deshace, ningún nodo llega a ver el cambio.
+ * @author Jose Navarro
+ * @version 1.0.0
+ */
+@Component
+public class UserStateSynchronizer {
+
+    @Autowired
+    private SharedSecurityStore sharedSecurityStore;
+
+    @Autowired
+    private UserDetailsCache userDetailsCache;
+
+    @Autowired
+    private UsernameNegativeCache usernameNegativeCache;
+
+    @Autowired
+    private RoleMembershipIndex roleMembershipIndex;
+
+    @PostConstruct
+    public void init() {
+        sharedSecurityStore.subscribe(this::apply);
+    }
+
+    public void userChanged(String username) {
+        SecurityStateEvent event = SecurityStateEvent.userChanged(username);
+        this.afterCommit(() -> this.applyNowAndPublish(event));
+    }
+
+    public void userCreated(String username, Collection<String> roleNames) {
+        SecurityStateEvent event = SecurityStateEvent.userCreated(username);
+        List<String> roles = List.copyOf(roleNames);
+        this.afterCommit(() -> {
+            roleMembershipIndex.add(username, roles);
+            this.applyNowAndPublish(event);
+        });
+    }
+
+    public void userDeleted(String username) {
+        SecurityStateEvent event = SecurityStateEvent.userDeleted(username);
+        this.afterCommit(() -> this.applyNowAndPublish(event));
+    }
+
+    private void afterCommit(Runnable change) {
+        if (TransactionSynchronizationManager.isActualTransactionActive() && TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    change.run();
+                }
+            });
+        } else {
+            change.run();
+        }
+    }
+
+    private void applyNowAndPublish(SecurityStateEvent event) {
+        this.apply(event);
+        sharedSecurityStore.publish(event);
+    }
+
+    private void apply(SecurityStateEvent event) {
+        switch (event.type()) {
+            case USER_CHANGED -> userDetailsCache.invalidate(event.key());
+            case USER_CREATED -> {
+                userDetailsCache.invalidate(event.key());
+                usernameNegativeCache.recordCreated(event.key());
+            }
+            case USER_DELETED -> {
+                userDetailsCache.invalidate(event.key());
+                usernameNegativeCache.recordDeleted(event.key());
+                roleMembershipIndex.remove(event.key());
+            }
+            default -> {
+            }
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package com.universe.util;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Filtro de Bloom de cadenas, seguro para usar desde varios hilos sin bloqueos.
+ * mightContain(value) devuelve false solo si el valor nunca se añadió, así que sirve para descartar sin más búsquedas
+ * la gran mayoría de consultas negativas; un true solo indica "quizá" y hay que confirmarlo contra la fuente exacta.
+ * (1) El tamaño (bits) y el número de funciones hash se calculan a partir de los elementos esperados y la tasa de falsos positivos.
+ * (2) Las posiciones se obtienen con doble hashing (h1 + i * h2) a partir de un único hash de 64 bits del valor.
+ * (3) Los bits se guardan en un AtomicLongArray y put usa compareAndSet, así que las lecturas no necesitan sincronización.
+ * No permite borrar elementos: para quitar valores se construye un filtro nuevo.
+ * @author Jose Navarro
+ * @version 1.0.0
+ */
+public final class BloomFilter {
+
+    private static final long FNV_OFFSET_BASIS = 0xcbf29ce484222325L;
+
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    private final AtomicLongArray words;
+
+    private final long bitCount;
+
+    private final int hashFunctions;
+
+    public BloomFilter(int expectedInsertions, double falsePositiveRate) {
+        if (expectedInsertions <= 0) {
+            throw new IllegalArgumentException("expectedInsertions must be positive");
+        }
+        if (falsePositiveRate <= 0 || falsePositiveRate >= 1) {
+            throw new IllegalArgumentException("falsePositiveRate must be between 0 and 1");
+        }
+        long bits = (long) Math.ceil(-expectedInsertions * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+        int words = (int) Math.max(1, (bits + Long.SIZE - 1) / Long.SIZE);
+        this.words = new AtomicLongArray(words);
+        this.bitCount = (long) words * Long.SIZE;
+        this.hashFunctions = Math.max(1, (int) Math.round((double) this.bitCount / expectedInsertions * Math.log(2)));
+    }
+
+    public void put(String value) {
+        long hash = hash(value);
+        long h1 = hash;
+        long h2 = mix(hash ^ FNV_PRIME) | 1L;
+        for (int i = 0; i < this.hashFunctions; i++) {
+            long bit = Math.floorMod(h1 + i * h2, this.bitCount);
+            int index = (int) (bit >>> 6);
+            long mask = 1L << bit;
+            long current;
+            do {
+                current = this.words.get(index);
+                if ((current & mask) != 0) {
+                    break;
+                }
+            } while (!this.words.compareAndSet(index, current, current | mask));
+        }
+    }
+
+    public boolean mightContain(String value) {
+        long hash = hash(value);
+        long h1 = hash;
+        long h2 = mix(hash ^ FNV_PRIME) | 1L;
+        for (int i = 0; i < this.hashFunctions; i++) {
+            long bit = Math.floorMod(h1 + i * h2, this.bitCount);
+            if ((this.words.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public long bitCount() {
+        return this.bitCount;
+    }
+
+    public int hashFunctions() {
+        return this.hashFunctions;
+    }
+
+    private static long hash(String value) {
+        long hash = FNV_OFFSET_BASIS;
+        for (byte b : value.getBytes(StandardCharsets.UTF_8)) {
+            hash ^= b & 0xff;
+            hash *= FNV_PRIME;
+        }
+        return mix(hash);
+    }
+
+    /**
+     * Mezclador final de MurmurHash3 (fmix64), reparte los bits del hash FNV por toda la palabra.
+     */
+    private static long mix(long hash) {
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb93e53ca6b1aL;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+}
@@ -1,18 +1,35 @@
 package com.universe.util;
 
 import com.auth0.jwt.JWT;
+import com.auth0.jwt.JWTCreator;
 import com.auth0.jwt.JWTVerifier;
 import com.auth0.jwt.algorithms.Algorithm;
+import com.auth0.jwt.exceptions.JWTDecodeException;
 import com.auth0.jwt.exceptions.JWTVerificationException;
 import com.auth0.jwt.interfaces.Claim;
 import com.auth0.jwt.interfaces.DecodedJWT;
+import com.universe.config.security.authority.AuthorityRegistry;
+import com.universe.config.security.authority.AuthoritySet;
+import com.universe.config.security.authority.CompactAuthorityCodec;
+import com.universe.config.security.metrics.AuthenticationMetrics;
+import com.universe.config.security.metrics.AuthenticationMetrics.FailureReason;
+import com.universe.config.security.metrics.AuthenticationMetrics.Stage;
+import com.universe.util.signing.SigningAlgorithm;
+import com.universe.util.signing.SigningKey;
+import com.universe.util.signing.SigningKeyFactory;
+import com.universe.util.signing.SigningKeyRing;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.stereotype.Component;
 
+import java.time.Duration;
 import java.util.Date;
+import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.UUID;
 import java.util.stream.Collectors;
 
@@ -23,44 +40,148 @@ import java.util.stream.Collectors;
      * Toma un objeto Authentication como argumento, que representa la autenticación del usuario actual.
      * El método utiliza la biblioteca com.auth0.jwt para crear el token.
      * El token incluye varios detalles, como el emisor, el sujeto (el nombre de usuario del usuario autenticado),
-     * las autoridades del usuario (los roles o permisos del usuario), la fecha de emisión, la fecha de expiración, un ID de token y la fecha a partir de la cual el token es válido. El token se firma utilizando un algoritmo HMAC256 y la clave privada proporcionada.
+     * las autoridades del usuario (los roles o permisos del usuario), la fecha de emisión, la fecha de expiración, un ID de token y la fecha a partir de la cual el token es válido. El token se firma con el algoritmo de security.jwt.signing.algorithm (HS256, RS256 o ES256) y la clave privada proporcionada.
  * validateToken(String token): Este método valida un token JWT.
      * Toma el token como argumento y utiliza un verificador JWT para verificar el token.
+     * El verificador se elige por el kid de la cabecera del token, así que los tokens firmados con una clave retirada siguen siendo válidos hasta su expiración.
      * Si el token es válido, el método devuelve un objeto DecodedJWT que representa el token decodificado.
-     * Si el token no es válido, el método lanza una excepción JWTVerificationException.
+     * Si el token no es válido, el método lanza una excepción JWTVerificationException y cuenta el motivo en AuthenticationMetrics (auth.token.failures).
  * extractUsername(DecodedJWT decodedJWT): Este método extrae el nombre de usuario del token JWT decodificado.
      * Toma un objeto DecodedJWT como argumento y devuelve el sujeto del token, que es el nombre de usuario del usuario autenticado.
+ * extractAuthorities(DecodedJWT decodedJWT): Este método obtiene las autoridades del token como un AuthoritySet compartido.
+     * Acepta los dos formatos del claim: el compacto "abits" (versión, huella del catálogo y BitSet en Base64) y el clásico "authorities" separado por comas.
+     * Con security.jwt.authorities.compact=true createToken escribe el formato compacto, salvo que alguna autoridad no pertenezca al catálogo.
+ * createToken, validateToken y extractAuthorities se miden con los timers de AuthenticationMetrics (auth.stage con stage=token_sign, token_verify y authority_parse).
  * getSpecificClaim(DecodedJWT decodedJWT, String claimName): Este método obtiene una reclamación específica del token JWT decodificado. Toma un objeto DecodedJWT y el nombre de la reclamación como argumentos, y devuelve la reclamación del token.
-     * La clase JwtUtils también tiene dos campos que se inyectan desde el entorno de Spring:
+ * reloadKey(String newPrivateKey, String newPublicKey): Este método activa una clave nueva a partir de su configuración.
+     * Las claves se guardan en un SigningKeyRing: la clave activa firma los tokens nuevos (con su kid en la cabecera)
+     * y la clave anterior se conserva solo para verificar hasta que expira el último token que firmó.
+     * El Algorithm y el JWTVerifier de cada clave se construyen una sola vez y se comparten entre peticiones.
+ * rotateKey(): Este método genera una clave nueva del mismo algoritmo y la activa de la misma forma que reloadKey.
+ * publicJwks(): Este método devuelve las claves públicas (activa y retiradas) en formato JWK para /.well-known/jwks.json (lista vacía con HS256).
+     * La clase JwtUtils también tiene estos campos que se inyectan desde el entorno de Spring:
+     * signingAlgorithm: El algoritmo de firma (security.jwt.signing.algorithm), HS256 por defecto.
      * privateKey: Esta es la clave privada utilizada para firmar los tokens JWT. Se inyecta desde las propiedades de la aplicación (security.jwt.key.private).
+     * Con HS256 se usa como secreto compartido; con RS256 se interpreta como una clave RSA en PKCS#1 o PKCS#8; con ES256 como una clave EC en PKCS#8.
+     * publicKey: La clave pública en X.509 (security.jwt.key.public). Es obligatoria con ES256 y opcional con RS256.
      * userGenerator: Este es el emisor de los tokens JWT. Se inyecta desde las propiedades de la aplicación (security.jwt.user.generator).
+     * accessTokenTtl: La vida de los tokens de acceso (security.jwt.access-token.ttl), 30 minutos por defecto. Los clientes renuevan el token con /auth/refresh.
  */
 
 
 @Component
 public class JwtUtils {
 
+    public static final String AUTHORITIES_CLAIM = "authorities";
+
+    public static final String COMPACT_AUTHORITIES_CLAIM = "abits";
+
+    /**
+     * Margen que se añade a la vida de las claves retiradas para tolerar diferencias de reloj entre nodos.
+     */
+    private static final Duration RETIRED_KEY_LEEWAY = Duration.ofMinutes(1);
+
+    private static final String INVALID_TOKEN_MESSAGE = "Token invalid, not Authorized";
+
+    @Value("${security.jwt.signing.algorithm:HS256}")
+    private SigningAlgorithm signingAlgorithm;
+
     @Value("${security.jwt.key.private}")
     private String privateKey;
 
+    @Value("${security.jwt.key.public:}")
+    private String publicKey;
+
     @Value("${security.jwt.user.generator}")
     private String userGenerator;
 
+    @Value("${security.jwt.authorities.compact:false}")
+    private boolean compactAuthorities;
+
+    @Value("${security.jwt.access-token.ttl:PT30M}")
+    private Duration accessTokenTtl;
+
+    @Autowired
+    private AuthorityRegistry authorityRegistry;
+
+    @Autowired
+    private CompactAuthorityCodec compactAuthorityCodec;
+
+    @Autowired
+    private SigningKeyFactory signingKeyFactory;
+
+    @Autowired
+    private AuthenticationMetrics authenticationMetrics;
+
+    private SigningKeyRing signingKeyRing;
+
+    @PostConstruct
+    public void init() {
+        this.signingKeyRing = new SigningKeyRing(this.userGenerator);
+        this.reloadKey(this.privateKey, this.publicKey);
+    }
+
+    public synchronized void reloadKey(String newPrivateKey, String newPublicKey) {
+        SigningKey signingKey = this.signingKeyFactory.fromKeyMaterial(this.signingAlgorithm, newPrivateKey, newPublicKey);
+        this.signingKeyRing.install(signingKey, this.accessTokenTtl.plus(RETIRED_KEY_LEEWAY));
+
+        this.privateKey = newPrivateKey;
+        this.publicKey = newPublicKey;
+    }
+
+    public void rotateKey() {
+        SigningKey signingKey = this.signingKeyFactory.generate(this.signingAlgorithm);
+        this.signingKeyRing.install(signingKey, this.accessTokenTtl.plus(RETIRED_KEY_LEEWAY));
+    }
+
+    public Duration getAccessTokenTtl() {
+        return this.accessTokenTtl;
+    }
+
+    public void purgeRetiredKeys() {
+        this.signingKeyRing.purgeExpired();
+    }
+
+    public List<Map<String, Object>> publicJwks() {
+        return this.signingKeyRing.keys()
+                .stream()
+                .map(SigningKey::toPublicJwk)
+                .filter(Objects::nonNull)
+                .toList();
+    }
+
     public String createToken(Authentication authentication) {
-        Algorithm algorithm = Algorithm.HMAC256(this.privateKey);
+        return this.authenticationMetrics.timer(Stage.TOKEN_SIGN).record(() -> this.signToken(authentication));
+    }
+
+    private String signToken(Authentication authentication) {
+        SigningKey signingKey = this.signingKeyRing.active();
+        Algorithm algorithm = signingKey.algorithm();
 
         String username = authentication.getPrincipal().toString();
-        String authorities = authentication.getAuthorities()
-                .stream()
-                .map(GrantedAuthority::getAuthority)
-                .collect(Collectors.joining(","));
 
-        String jwtToken = JWT.create()
+        JWTCreator.Builder builder = JWT.create()
+                .withKeyId(signingKey.keyId())
                 .withIssuer(this.userGenerator)
-                .withSubject(username)
-                .withClaim("authorities", authorities)
+                .withSubject(username);
+
+        String compactAuthorityClaim = this.compactAuthorities
+                ? this.compactAuthorityCodec.encode(this.authorityRegistry.internGrantedAuthorities(authentication.getAuthorities()))
+                : null;
+
+        if (compactAuthorityClaim != null) {
+            builder.withClaim(COMPACT_AUTHORITIES_CLAIM, compactAuthorityClaim);
+        } else {
+            String authorities = authentication.getAuthorities()
+                    .stream()
+                    .map(GrantedAuthority::getAuthority)
+                    .collect(Collectors.joining(","));
+            builder.withClaim(AUTHORITIES_CLAIM, authorities);
+        }
+
+        String jwtToken = builder
                 .withIssuedAt(new Date())
-                .withExpiresAt(new Date(System.currentTimeMillis() + 1800000))
+                .withExpiresAt(new Date(System.currentTimeMillis() + this.accessTokenTtl.toMillis()))
                 .withJWTId(UUID.randomUUID().toString())
                 .withNotBefore(new Date(System.currentTimeMillis()))
                 .sign(algorithm);
@@ -68,17 +189,29 @@ public class JwtUtils {
     }
 
     public DecodedJWT validateToken(String token) {
+        return this.authenticationMetrics.timer(Stage.TOKEN_VERIFY).record(() -> this.verifyToken(token));
+    }
+
+    private DecodedJWT verifyToken(String token) {
+        DecodedJWT decodedJWT;
         try {
-            Algorithm algorithm = Algorithm.HMAC256(this.privateKey);
+            decodedJWT = JWT.decode(token);
+        } catch (JWTDecodeException exception) {
+            this.authenticationMetrics.tokenFailure(FailureReason.MALFORMED);
+            throw new JWTVerificationException(INVALID_TOKEN_MESSAGE);
+        }
 
-            JWTVerifier verifier = JWT.require(algorithm)
-                    .withIssuer(this.userGenerator)
-                    .build();
+        JWTVerifier verifier = this.signingKeyRing.verifierFor(decodedJWT.getKeyId());
+        if (verifier == null) {
+            this.authenticationMetrics.tokenFailure(FailureReason.BAD_SIGNATURE);
+            throw new JWTVerificationException(INVALID_TOKEN_MESSAGE);
+        }
 
-            DecodedJWT decodedJWT = verifier.verify(token);
-            return decodedJWT;
+        try {
+            return verifier.verify(decodedJWT);
         } catch (JWTVerificationException exception) {
-            throw new JWTVerificationException("Token invalid, not Authorized");
+            this.authenticationMetrics.tokenFailure(exception);
+            throw new JWTVerificationException(INVALID_TOKEN_MESSAGE);
         }
     }
 
@@ -86,6 +219,23 @@ public class JwtUtils {
         return decodedJWT.getSubject().toString();
     }
 
+    public AuthoritySet extractAuthorities(DecodedJWT decodedJWT) {
+        return this.authenticationMetrics.timer(Stage.AUTHORITY_PARSE).record(() -> this.parseAuthorities(decodedJWT));
+    }
+
+    private AuthoritySet parseAuthorities(DecodedJWT decodedJWT) {
+        Claim compactClaim = decodedJWT.getClaim(COMPACT_AUTHORITIES_CLAIM);
+        if (!compactClaim.isMissing()) {
+            try {
+                return this.compactAuthorityCodec.decode(compactClaim.asString());
+            } catch (IllegalArgumentException exception) {
+                this.authenticationMetrics.tokenFailure(FailureReason.MALFORMED);
+                throw new JWTVerificationException(INVALID_TOKEN_MESSAGE);
+            }
+        }
+        return this.authorityRegistry.intern(decodedJWT.getClaim(AUTHORITIES_CLAIM).asString());
+    }
+
     public Claim getSpecificClaim(DecodedJWT decodedJWT, String claimName) {
         return decodedJWT.getClaim(claimName);
     }
@@ -0,0 +1,96 @@
+package com.universe.util;
+
+import com.auth0.jwt.algorithms.Algorithm;
+import com.auth0.jwt.exceptions.SignatureGenerationException;
+import com.auth0.jwt.exceptions.SignatureVerificationException;
+import com.auth0.jwt.interfaces.DecodedJWT;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.util.Base64;
+
+/**
+ * Implementación de {@link Algorithm} para firmas HMAC que parte de un {@link Mac} ya inicializado con la clave.
+ * Algorithm.HMAC256 crea un Mac nuevo (y repite el init con la clave) en cada firma y en cada verificación;
+ * aquí el init se hace una sola vez sobre un Mac prototipo y cada operación trabaja sobre un clon suyo.
+ * No se guarda un Mac por hilo: con hilos virtuales cada petición corre en un hilo nuevo y un ThreadLocal se reconstruiría
+ * en cada una. Clonar cuesta lo mismo que leer el ThreadLocal en un hilo de plataforma y el prototipo nunca se modifica,
+ * así que se comparte entre hilos sin sincronización.
+ * La clave queda fija para la vida de la instancia: para cambiarla se crea un algoritmo nuevo.
+ * @author Jose Navarro
+ * @version 1.0.0
+ */
+public class PrototypeHmacAlgorithm extends Algorithm {
+
+    private static final byte JWT_PART_SEPARATOR = (byte) '.';
+
+    private final Mac prototype;
+
+    public PrototypeHmacAlgorithm(String name, String macAlgorithm, byte[] secret) {
+        super(name, macAlgorithm);
+        if (secret == null || secret.length == 0) {
+            throw new IllegalArgumentException("The Secret cannot be null or empty");
+        }
+        try {
+            this.prototype = Mac.getInstance(macAlgorithm);
+            this.prototype.init(new SecretKeySpec(secret.clone(), macAlgorithm));
+            // Falla en el arranque y no en la primera petición si el proveedor no permite clonar el Mac.
+            this.prototype.clone();
+        } catch (GeneralSecurityException | CloneNotSupportedException e) {
+            throw new IllegalStateException("Unable to initialize " + macAlgorithm, e);
+        }
+    }
+
+    public static PrototypeHmacAlgorithm hmac256(String secret) {
+        return new PrototypeHmacAlgorithm("HS256", "HmacSHA256", secret.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Override
+    public void verify(DecodedJWT jwt) throws SignatureVerificationException {
+        try {
+            byte[] signatureBytes = Base64.getUrlDecoder().decode(jwt.getSignature());
+            Mac mac = this.newMac();
+            mac.update(jwt.getHeader().getBytes(StandardCharsets.UTF_8));
+            mac.update(JWT_PART_SEPARATOR);
+            mac.update(jwt.getPayload().getBytes(StandardCharsets.UTF_8));
+            if (!MessageDigest.isEqual(mac.doFinal(), signatureBytes)) {
+                throw new SignatureVerificationException(this);
+            }
+        } catch (IllegalArgumentException | IllegalStateException e) {
+            throw new SignatureVerificationException(this, e);
+        }
+    }
+
+    @Override
+    public byte[] sign(byte[] headerBytes, byte[] payloadBytes) throws SignatureGenerationException {
+        try {
+            Mac mac = this.newMac();
+            mac.update(headerBytes);
+            mac.update(JWT_PART_SEPARATOR);
+            mac.update(payloadBytes);
+            return mac.doFinal();
+        } catch (IllegalStateException e) {
+            throw new SignatureGenerationException(this, e);
+        }
+    }
+
+    @Override
+    public byte[] sign(byte[] contentBytes) throws SignatureGenerationException {
+        try {
+            return this.newMac().doFinal(contentBytes);
+        } catch (IllegalStateException e) {
+            throw new SignatureGenerationException(this, e);
+        }
+    }
+
+    private Mac newMac() {
+        try {
+            return (Mac) this.prototype.clone();
+        } catch (CloneNotSupportedException e) {
+            throw new IllegalStateException("Unable to clone " + this.prototype.getAlgorithm(), e);
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package com.universe.util;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.LongSupplier;
+
+/**
+ * Token bucket por clave (usuario, dirección IP...) con memoria fija y sin bloqueos.
+ * (1) Las claves se reparten en un número fijo de franjas (stripes) con un hash con semilla aleatoria, así que la memoria
+ *     no crece con el número de claves distintas y no hay que limpiar entradas viejas.
+ * (2) Cada franja guarda un único long con el instante teórico en que el bucket vuelve a estar lleno (algoritmo GCRA,
+ *     equivalente a un token bucket de capacity fichas que se rellena una ficha cada refillPeriod / capacity).
+ *     tryAcquire lo avanza con compareAndSet, así que dos hilos nunca consumen la misma ficha.
+ * (3) Dos claves en la misma franja comparten el bucket: el límite se aplica antes, nunca después.
+ *     La semilla aleatoria impide elegir claves que caigan a propósito en la franja de otra.
+ * El reloj (System.nanoTime por defecto) se puede sustituir en los tests con el constructor de paquete.
+ * @author Jose Navarro
+ * @version 1.0.0
+ */
+public final class StripedTokenBucket {
+
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    private final AtomicLongArray fullAt;
+
+    private final int mask;
+
+    private final long seed = ThreadLocalRandom.current().nextLong();
+
+    private final LongSupplier nanoClock;
+
+    private final long origin;
+
+    private final long emissionInterval;
+
+    private final long burstTolerance;
+
+    public StripedTokenBucket(int stripes, int capacity, Duration refillPeriod) {
+        this(stripes, capacity, refillPeriod, System::nanoTime);
+    }
+
+    StripedTokenBucket(int stripes, int capacity, Duration refillPeriod, LongSupplier nanoClock) {
+        if (stripes <= 0 || Integer.bitCount(stripes) != 1) {
+            throw new IllegalArgumentException("stripes must be a positive power of two");
+        }
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("capacity must be positive");
+        }
+        if (refillPeriod.isNegative() || refillPeriod.isZero()) {
+            throw new IllegalArgumentException("refillPeriod must be positive");
+        }
+        this.nanoClock = nanoClock;
+        this.origin = nanoClock.getAsLong();
+        this.fullAt = new AtomicLongArray(stripes);
+        this.mask = stripes - 1;
+        this.emissionInterval = Math.max(1, refillPeriod.toNanos() / capacity);
+        this.burstTolerance = this.emissionInterval * capacity;
+    }
+
+    /**
+     * Consume una ficha del bucket de la clave.
+     * @return 0 si había ficha, o los nanosegundos que faltan para la siguiente (la ficha no se consume).
+     */
+    public long tryAcquire(String key) {
+        int index = this.index(key);
+        while (true) {
+            long now = this.nanoClock.getAsLong() - this.origin;
+            long current = this.fullAt.get(index);
+            long next = Math.max(current, now) + this.emissionInterval;
+            long excess = next - now - this.burstTolerance;
+            if (excess > 0) {
+                return excess;
+            }
+            if (this.fullAt.compareAndSet(index, current, next)) {
+                return 0;
+            }
+        }
+    }
+
+    /**
+     * Deja lleno el bucket de la clave (y el de las claves que comparten su franja).
+     */
+    public void reset(String key) {
+        this.fullAt.set(this.index(key), 0);
+    }
+
+    int index(String key) {
+        long hash = this.seed;
+        byte[] bytes = key.getBytes(StandardCharsets.UTF_8);
+        for (byte value : bytes) {
+            hash ^= value;
+            hash *= FNV_PRIME;
+        }
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        return (int) hash & this.mask;
+    }
+}
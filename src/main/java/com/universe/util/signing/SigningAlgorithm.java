@@ -0,0 +1,17 @@
+package com.universe.util.signing;
+
+/**
+ * Algoritmos con los que se pueden firmar los tokens JWT, configurados con security.jwt.signing.algorithm.
+ * (1) HS256: HMAC con una clave secreta compartida. Cualquier servicio que verifique los tokens necesita el mismo secreto.
+ * (2) RS256: Firma RSA. Los demás servicios verifican con la clave pública publicada en /.well-known/jwks.json.
+ * (3) ES256: Firma ECDSA con la curva P-256. Igual que RS256 pero con firmas y claves más cortas.
+ */
+public enum SigningAlgorithm {
+    HS256,
+    RS256,
+    ES256;
+
+    public boolean isAsymmetric() {
+        return this != HS256;
+    }
+}
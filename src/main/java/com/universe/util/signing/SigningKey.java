@@ -0,0 +1,68 @@
+package com.universe.util.signing;
+
+import com.auth0.jwt.algorithms.Algorithm;
+
+import java.math.BigInteger;
+import java.security.PublicKey;
+import java.security.interfaces.ECPublicKey;
+import java.security.interfaces.RSAPublicKey;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Clave de firma de tokens JWT.
+ * (1) keyId: Identificador de la clave (kid), derivado del contenido de la clave para que sea igual en todos los nodos que la comparten.
+ * (2) algorithm: Algorithm de java-jwt que firma y verifica con esta clave.
+ * (3) publicKey: Clave pública para RS256 y ES256; es null para HS256, cuyo secreto nunca se publica.
+ * toPublicJwk() devuelve la clave pública en formato JWK (RFC 7517) para /.well-known/jwks.json.
+ */
+public record SigningKey(String keyId, SigningAlgorithm signingAlgorithm, Algorithm algorithm, PublicKey publicKey) {
+
+    private static final int P256_COORDINATE_LENGTH = 32;
+
+    public Map<String, Object> toPublicJwk() {
+        if (this.publicKey == null) {
+            return null;
+        }
+
+        Map<String, Object> jwk = new LinkedHashMap<>();
+        if (this.publicKey instanceof RSAPublicKey rsaPublicKey) {
+            jwk.put("kty", "RSA");
+            jwk.put("n", base64Url(unsignedBytes(rsaPublicKey.getModulus(), 0)));
+            jwk.put("e", base64Url(unsignedBytes(rsaPublicKey.getPublicExponent(), 0)));
+        } else if (this.publicKey instanceof ECPublicKey ecPublicKey) {
+            jwk.put("kty", "EC");
+            jwk.put("crv", "P-256");
+            jwk.put("x", base64Url(unsignedBytes(ecPublicKey.getW().getAffineX(), P256_COORDINATE_LENGTH)));
+            jwk.put("y", base64Url(unsignedBytes(ecPublicKey.getW().getAffineY(), P256_COORDINATE_LENGTH)));
+        } else {
+            throw new IllegalStateException("Unsupported public key type " + this.publicKey.getAlgorithm());
+        }
+        jwk.put("use", "sig");
+        jwk.put("alg", this.signingAlgorithm.name());
+        jwk.put("kid", this.keyId);
+        return jwk;
+    }
+
+    private static String base64Url(byte[] bytes) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+    }
+
+    /**
+     * Representación big-endian sin el byte de signo que añade BigInteger, rellenada con ceros a la izquierda hasta minLength.
+     */
+    private static byte[] unsignedBytes(BigInteger value, int minLength) {
+        byte[] bytes = value.toByteArray();
+        if (bytes.length > 1 && bytes[0] == 0) {
+            bytes = Arrays.copyOfRange(bytes, 1, bytes.length);
+        }
+        if (bytes.length >= minLength) {
+            return bytes;
+        }
+        byte[] padded = new byte[minLength];
+        System.arraycopy(bytes, 0, padded, minLength - bytes.length, bytes.length);
+        return padded;
+    }
+}
@@ -0,0 +1,174 @@
+package com.universe.util.signing;
+
+import com.auth0.jwt.algorithms.Algorithm;
+import com.universe.util.PrototypeHmacAlgorithm;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.KeyFactory;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.MessageDigest;
+import java.security.PublicKey;
+import java.security.SecureRandom;
+import java.security.interfaces.ECPrivateKey;
+import java.security.interfaces.ECPublicKey;
+import java.security.interfaces.RSAPrivateCrtKey;
+import java.security.interfaces.RSAPrivateKey;
+import java.security.interfaces.RSAPublicKey;
+import java.security.spec.ECGenParameterSpec;
+import java.security.spec.InvalidKeySpecException;
+import java.security.spec.PKCS8EncodedKeySpec;
+import java.security.spec.RSAPublicKeySpec;
+import java.security.spec.X509EncodedKeySpec;
+import java.util.Base64;
+
+/**
+ * Esta clase construye las claves de firma (SigningKey) a partir de la configuración o genera claves nuevas.
+ * (1) HS256: el texto de la clave se usa como secreto HMAC, igual que hacía Algorithm.HMAC256.
+ * (2) RS256: la clave privada puede estar en PKCS#8 o en PKCS#1 (el formato de security.jwt.key.private), en Base64 con o sin cabeceras PEM.
+ *     La clave pública se deriva de la privada si no se configura.
+ * (3) ES256: la clave privada debe estar en PKCS#8 y la pública en X.509, ambas de la curva P-256.
+ * El kid de cada clave son los primeros bytes del SHA-256 de su clave pública (o del secreto en HS256) en Base64 URL.
+ * @author Jose Navarro
+ * @version 1.0.0
+ */
+@Component
+public class SigningKeyFactory {
+
+    private static final int HMAC_SECRET_LENGTH = 64;
+
+    private static final int KEY_ID_LENGTH = 12;
+
+    private static final byte[] RSA_ALGORITHM_IDENTIFIER = {
+            0x30, 0x0d, 0x06, 0x09, 0x2a, (byte) 0x86, 0x48, (byte) 0x86, (byte) 0xf7, 0x0d, 0x01, 0x01, 0x01, 0x05, 0x00
+    };
+
+    private final SecureRandom secureRandom = new SecureRandom();
+
+    public SigningKey fromKeyMaterial(SigningAlgorithm signingAlgorithm, String privateKey, String publicKey) {
+        try {
+            return switch (signingAlgorithm) {
+                case HS256 -> this.hmacKey(privateKey.getBytes(StandardCharsets.UTF_8));
+                case RS256 -> this.rsaKey(privateKey, publicKey);
+                case ES256 -> this.ecKey(privateKey, publicKey);
+            };
+        } catch (GeneralSecurityException | IllegalArgumentException exception) {
+            throw new IllegalStateException("Invalid " + signingAlgorithm + " signing key", exception);
+        }
+    }
+
+    public SigningKey generate(SigningAlgorithm signingAlgorithm) {
+        try {
+            return switch (signingAlgorithm) {
+                case HS256 -> {
+                    byte[] secret = new byte[HMAC_SECRET_LENGTH];
+                    this.secureRandom.nextBytes(secret);
+                    yield this.hmacKey(secret);
+                }
+                case RS256 -> {
+                    KeyPairGenerator generator = KeyPairGenerator.getInstance("RSA");
+                    generator.initialize(2048, this.secureRandom);
+                    KeyPair keyPair = generator.generateKeyPair();
+                    yield this.rsaKey((RSAPublicKey) keyPair.getPublic(), (RSAPrivateKey) keyPair.getPrivate());
+                }
+                case ES256 -> {
+                    KeyPairGenerator generator = KeyPairGenerator.getInstance("EC");
+                    generator.initialize(new ECGenParameterSpec("secp256r1"), this.secureRandom);
+                    KeyPair keyPair = generator.generateKeyPair();
+                    yield this.ecKey((ECPublicKey) keyPair.getPublic(), (ECPrivateKey) keyPair.getPrivate());
+                }
+            };
+        } catch (GeneralSecurityException exception) {
+            throw new IllegalStateException("Unable to generate a " + signingAlgorithm + " signing key", exception);
+        }
+    }
+
+    private SigningKey hmacKey(byte[] secret) throws GeneralSecurityException {
+        Algorithm algorithm = new PrototypeHmacAlgorithm("HS256", "HmacSHA256", secret);
+        return new SigningKey(keyId(secret), SigningAlgorithm.HS256, algorithm, null);
+    }
+
+    private SigningKey rsaKey(String privateKey, String publicKey) throws GeneralSecurityException {
+        KeyFactory keyFactory = KeyFactory.getInstance("RSA");
+        byte[] privateKeyBytes = decode(privateKey);
+
+        RSAPrivateKey rsaPrivateKey;
+        try {
+            rsaPrivateKey = (RSAPrivateKey) keyFactory.generatePrivate(new PKCS8EncodedKeySpec(privateKeyBytes));
+        } catch (InvalidKeySpecException exception) {
+            rsaPrivateKey = (RSAPrivateKey) keyFactory.generatePrivate(new PKCS8EncodedKeySpec(pkcs1ToPkcs8(privateKeyBytes)));
+        }
+
+        RSAPublicKey rsaPublicKey;
+        if (StringUtils.hasText(publicKey)) {
+            rsaPublicKey = (RSAPublicKey) keyFactory.generatePublic(new X509EncodedKeySpec(decode(publicKey)));
+        } else if (rsaPrivateKey instanceof RSAPrivateCrtKey crtKey) {
+            rsaPublicKey = (RSAPublicKey) keyFactory.generatePublic(new RSAPublicKeySpec(crtKey.getModulus(), crtKey.getPublicExponent()));
+        } else {
+            throw new IllegalArgumentException("security.jwt.key.public is required when the RSA private key has no public exponent");
+        }
+        return this.rsaKey(rsaPublicKey, rsaPrivateKey);
+    }
+
+    private SigningKey rsaKey(RSAPublicKey publicKey, RSAPrivateKey privateKey) throws GeneralSecurityException {
+        return new SigningKey(keyId(publicKey.getEncoded()), SigningAlgorithm.RS256, Algorithm.RSA256(publicKey, privateKey), publicKey);
+    }
+
+    private SigningKey ecKey(String privateKey, String publicKey) throws GeneralSecurityException {
+        if (!StringUtils.hasText(publicKey)) {
+            throw new IllegalArgumentException("security.jwt.key.public is required for ES256");
+        }
+        KeyFactory keyFactory = KeyFactory.getInstance("EC");
+        ECPrivateKey ecPrivateKey = (ECPrivateKey) keyFactory.generatePrivate(new PKCS8EncodedKeySpec(decode(privateKey)));
+        ECPublicKey ecPublicKey = (ECPublicKey) keyFactory.generatePublic(new X509EncodedKeySpec(decode(publicKey)));
+        return this.ecKey(ecPublicKey, ecPrivateKey);
+    }
+
+    private SigningKey ecKey(ECPublicKey publicKey, ECPrivateKey privateKey) throws GeneralSecurityException {
+        return new SigningKey(keyId(publicKey.getEncoded()), SigningAlgorithm.ES256, Algorithm.ECDSA256(publicKey, privateKey), publicKey);
+    }
+
+    private static String keyId(byte[] keyBytes) throws GeneralSecurityException {
+        byte[] hash = MessageDigest.getInstance("SHA-256").digest(keyBytes);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(hash).substring(0, KEY_ID_LENGTH);
+    }
+
+    private static byte[] decode(String key) {
+        String base64 = key.replaceAll("-----[A-Z ]+-----", "").replaceAll("\\s", "");
+        return Base64.getDecoder().decode(base64);
+    }
+
+    /**
+     * Envuelve una clave RSAPrivateKey (PKCS#1) en una estructura PrivateKeyInfo (PKCS#8), que es la que entiende KeyFactory:
+     * SEQUENCE { INTEGER 0, AlgorithmIdentifier rsaEncryption, OCTET STRING pkcs1 }.
+     */
+    static byte[] pkcs1ToPkcs8(byte[] pkcs1) {
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+        body.writeBytes(new byte[]{0x02, 0x01, 0x00});
+        body.writeBytes(RSA_ALGORITHM_IDENTIFIER);
+        body.writeBytes(derHeader(0x04, pkcs1.length));
+        body.writeBytes(pkcs1);
+
+        ByteArrayOutputStream pkcs8 = new ByteArrayOutputStream();
+        pkcs8.writeBytes(derHeader(0x30, body.size()));
+        pkcs8.writeBytes(body.toByteArray());
+        return pkcs8.toByteArray();
+    }
+
+    private static byte[] derHeader(int tag, int length) {
+        if (length < 0x80) {
+            return new byte[]{(byte) tag, (byte) length};
+        }
+        if (length <= 0xff) {
+            return new byte[]{(byte) tag, (byte) 0x81, (byte) length};
+        }
+        if (length <= 0xffff) {
+            return new byte[]{(byte) tag, (byte) 0x82, (byte) (length >> 8), (byte) length};
+        }
+        return new byte[]{(byte) tag, (byte) 0x83, (byte) (length >> 16), (byte) (length >> 8), (byte) length};
+    }
+}
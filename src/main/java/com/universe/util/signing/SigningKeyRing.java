@@ -0,0 +1,102 @@
+package com.universe.util.signing;
+
+import com.auth0.jwt.JWT;
+import com.auth0.jwt.JWTVerifier;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Conjunto de claves de firma: una clave activa, con la que se firman los tokens nuevos, y las claves retiradas,
+ * que se conservan solo para verificar los tokens que firmaron mientras estaban activas.
+ * (1) Cada clave se busca por su kid en un mapa, así que elegir el verificador de un token es O(1) sin importar cuántas claves haya.
+ * (2) install(...) activa una clave nueva y retira la anterior hasta que expire el último token que pudo firmar (ahora + retainPrevious).
+ * (3) Las claves retiradas cuyo plazo ya pasó se eliminan en cada install(...) y en purgeExpired(); hasta entonces
+ *     verifierFor(...) y keys() ya las ignoran, así que no verifican tokens ni se publican en el JWKS.
+ * (4) El estado completo se publica como una instantánea inmutable en un campo volatile, por lo que las lecturas no necesitan bloqueo.
+ * @author Jose Navarro
+ * @version 1.0.0
+ */
+public class SigningKeyRing {
+
+    private final String issuer;
+
+    private volatile Snapshot snapshot = new Snapshot(null, Map.of(), null);
+
+    public SigningKeyRing(String issuer) {
+        this.issuer = issuer;
+    }
+
+    public synchronized void install(SigningKey signingKey, Duration retainPrevious) {
+        long now = System.currentTimeMillis();
+        Snapshot current = this.snapshot;
+
+        Map<String, RingEntry> entries = new HashMap<>();
+        current.entries().forEach((keyId, entry) -> {
+            if (entry.retiredUntilMillis() > now) {
+                entries.put(keyId, entry);
+            }
+        });
+        if (current.active() != null && !current.active().keyId().equals(signingKey.keyId())) {
+            entries.put(current.active().keyId(), current.entries().get(current.active().keyId()).retire(now + retainPrevious.toMillis()));
+        }
+
+        JWTVerifier verifier = JWT.require(signingKey.algorithm())
+                .withIssuer(this.issuer)
+                .build();
+        entries.put(signingKey.keyId(), new RingEntry(signingKey, verifier, Long.MAX_VALUE));
+
+        String legacyKeyId = current.legacyKeyId() == null ? signingKey.keyId() : current.legacyKeyId();
+        this.snapshot = new Snapshot(signingKey, Map.copyOf(entries), legacyKeyId);
+    }
+
+    public synchronized void purgeExpired() {
+        long now = System.currentTimeMillis();
+        Snapshot current = this.snapshot;
+        Map<String, RingEntry> entries = new HashMap<>(current.entries());
+        if (entries.values().removeIf(entry -> entry.retiredUntilMillis() <= now)) {
+            this.snapshot = new Snapshot(current.active(), Map.copyOf(entries), current.legacyKeyId());
+        }
+    }
+
+    public SigningKey active() {
+        return this.snapshot.active();
+    }
+
+    /**
+     * Devuelve el verificador de la clave con ese kid, o null si la clave no existe o ya expiró.
+     * Los tokens sin kid (emitidos antes de que existiera el anillo de claves) se verifican con la primera clave configurada mientras se conserve.
+     */
+    public JWTVerifier verifierFor(String keyId) {
+        Snapshot current = this.snapshot;
+        RingEntry entry = current.entries().get(keyId == null ? current.legacyKeyId() : keyId);
+        if (entry == null || entry.retiredUntilMillis() <= System.currentTimeMillis()) {
+            return null;
+        }
+        return entry.verifier();
+    }
+
+    public List<SigningKey> keys() {
+        long now = System.currentTimeMillis();
+        List<SigningKey> keys = new ArrayList<>();
+        this.snapshot.entries().values().forEach(entry -> {
+            if (entry.retiredUntilMillis() > now) {
+                keys.add(entry.signingKey());
+            }
+        });
+        return keys;
+    }
+
+    private record RingEntry(SigningKey signingKey, JWTVerifier verifier, long retiredUntilMillis) {
+
+        RingEntry retire(long untilMillis) {
+            return new RingEntry(this.signingKey, this.verifier, untilMillis);
+        }
+    }
+
+    private record Snapshot(SigningKey active, Map<String, RingEntry> entries, String legacyKeyId) {
+    }
+}
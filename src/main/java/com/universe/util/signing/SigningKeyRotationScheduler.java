@@ -0,0 +1,49 @@
+package com.universe.util.signing;
+
+import com.universe.util.JwtUtils;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Rota la clave de firma cada security.jwt.rotation.interval cuando security.jwt.rotation.enabled=true.
+ * Cada rotación genera una clave nueva con SigningKeyFactory; la anterior sigue verificando los tokens que firmó hasta que expiran,
+ * por lo que los clientes no tienen que volver a iniciar sesión todos a la vez.
+ * Las claves generadas existen solo en el nodo que las genera: un token firmado en un nodo llevaría un kid que los demás no conocen
+ * y lo rechazarían con 401. Por eso la rotación automática solo arranca con security.store.type=embedded (un solo nodo);
+ * con varios nodos (security.store.type=redis) la aplicación no arranca y la clave se cambia con reloadKey en todos ellos.
+ * Con RS256/ES256 los demás servicios obtienen las claves nuevas desde /.well-known/jwks.json.
+ * @author Jose Navarro
+ * @version 1.0.0
+ */
+@Component
+@ConditionalOnProperty(name = "security.jwt.rotation.enabled", havingValue = "true")
+public class SigningKeyRotationScheduler {
+
+    @Autowired
+    private JwtUtils jwtUtils;
+
+    @Value("${security.store.type:embedded}")
+    private String storeType;
+
+    @PostConstruct
+    public void checkSingleNode() {
+        if (!"embedded".equals(this.storeType)) {
+            throw new IllegalStateException("security.jwt.rotation.enabled=true generates signing keys that only this node knows; "
+                    + "it requires security.store.type=embedded, but it is " + this.storeType);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${security.jwt.rotation.interval:PT24H}", initialDelayString = "${security.jwt.rotation.interval:PT24H}")
+    public void rotate() {
+        this.jwtUtils.rotateKey();
+    }
+
+    @Scheduled(fixedDelayString = "${security.jwt.rotation.purge-interval:PT5M}")
+    public void purgeRetiredKeys() {
+        this.jwtUtils.purgeRetiredKeys();
+    }
+}
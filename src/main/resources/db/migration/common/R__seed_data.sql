@@ -0,0 +1,54 @@
+-- Datos iniciales: permisos, roles con su herencia (INVITED < USER < ADMIN < DEVELOPER) y los usuarios de ejemplo.
+-- Es una migración repetible: Flyway la vuelve a ejecutar cuando cambia su contenido, así que cada INSERT
+-- solo añade la fila si no existe y nunca modifica ni borra los datos cambiados desde la aplicación.
+-- SQL común a MySQL y H2.
+
+INSERT INTO permissions (name) SELECT 'CREATE' FROM DUAL WHERE NOT EXISTS (SELECT 1 FROM permissions WHERE name = 'CREATE');
+INSERT INTO permissions (name) SELECT 'READ' FROM DUAL WHERE NOT EXISTS (SELECT 1 FROM permissions WHERE name = 'READ');
+INSERT INTO permissions (name) SELECT 'UPDATE' FROM DUAL WHERE NOT EXISTS (SELECT 1 FROM permissions WHERE name = 'UPDATE');
+INSERT INTO permissions (name) SELECT 'DELETE' FROM DUAL WHERE NOT EXISTS (SELECT 1 FROM permissions WHERE name = 'DELETE');
+INSERT INTO permissions (name) SELECT 'REFACTOR' FROM DUAL WHERE NOT EXISTS (SELECT 1 FROM permissions WHERE name = 'REFACTOR');
+
+INSERT INTO roles (role_name) SELECT 'INVITED' FROM DUAL WHERE NOT EXISTS (SELECT 1 FROM roles WHERE role_name = 'INVITED');
+INSERT INTO roles (role_name) SELECT 'USER' FROM DUAL WHERE NOT EXISTS (SELECT 1 FROM roles WHERE role_name = 'USER');
+INSERT INTO roles (role_name) SELECT 'ADMIN' FROM DUAL WHERE NOT EXISTS (SELECT 1 FROM roles WHERE role_name = 'ADMIN');
+INSERT INTO roles (role_name) SELECT 'DEVELOPER' FROM DUAL WHERE NOT EXISTS (SELECT 1 FROM roles WHERE role_name = 'DEVELOPER');
+
+-- Permisos propios de cada rol; los heredados los calcula RoleHierarchy.
+INSERT INTO role_permissions (role_id, permission_id)
+SELECT r.id, p.id FROM roles r, permissions p
+WHERE ((r.role_name = 'INVITED' AND p.name = 'READ')
+    OR (r.role_name = 'USER' AND p.name = 'CREATE')
+    OR (r.role_name = 'ADMIN' AND p.name IN ('UPDATE', 'DELETE'))
+    OR (r.role_name = 'DEVELOPER' AND p.name = 'REFACTOR'))
+  AND NOT EXISTS (SELECT 1 FROM role_permissions rp WHERE rp.role_id = r.id AND rp.permission_id = p.id);
+
+INSERT INTO role_inheritance (role_id, parent_role_id)
+SELECT r.id, parent.id FROM roles r, roles parent
+WHERE ((r.role_name = 'USER' AND parent.role_name = 'INVITED')
+    OR (r.role_name = 'ADMIN' AND parent.role_name = 'USER')
+    OR (r.role_name = 'DEVELOPER' AND parent.role_name = 'ADMIN'))
+  AND NOT EXISTS (SELECT 1 FROM role_inheritance ri WHERE ri.role_id = r.id AND ri.parent_role_id = parent.id);
+
+-- Usuarios de ejemplo, todos con la misma contraseña en BCrypt. Usan los ids 1..4, reservados fuera del rango de users_seq.
+INSERT INTO users (id, username, password, is_enabled, account_no_expired, account_no_locked, credential_no_expired, created_at)
+SELECT 1, 'santiago', '$2a$10$cMY29RPYoIHMJSuwRfoD3eQxU1J5Rww4VnNOUOAEPqCBshkNfrEf6', TRUE, TRUE, TRUE, TRUE, CURRENT_TIMESTAMP FROM DUAL
+WHERE NOT EXISTS (SELECT 1 FROM users WHERE username = 'santiago' OR id = 1);
+INSERT INTO users (id, username, password, is_enabled, account_no_expired, account_no_locked, credential_no_expired, created_at)
+SELECT 2, 'daniel', '$2a$10$cMY29RPYoIHMJSuwRfoD3eQxU1J5Rww4VnNOUOAEPqCBshkNfrEf6', TRUE, TRUE, TRUE, TRUE, CURRENT_TIMESTAMP FROM DUAL
+WHERE NOT EXISTS (SELECT 1 FROM users WHERE username = 'daniel' OR id = 2);
+INSERT INTO users (id, username, password, is_enabled, account_no_expired, account_no_locked, credential_no_expired, created_at)
+SELECT 3, 'andrea', '$2a$10$cMY29RPYoIHMJSuwRfoD3eQxU1J5Rww4VnNOUOAEPqCBshkNfrEf6', TRUE, TRUE, TRUE, TRUE, CURRENT_TIMESTAMP FROM DUAL
+WHERE NOT EXISTS (SELECT 1 FROM users WHERE username = 'andrea' OR id = 3);
+INSERT INTO users (id, username, password, is_enabled, account_no_expired, account_no_locked, credential_no_expired, created_at)
+SELECT 4, 'anyi', '$2a$10$cMY29RPYoIHMJSuwRfoD3eQxU1J5Rww4VnNOUOAEPqCBshkNfrEf6', TRUE, TRUE, TRUE, TRUE, CURRENT_TIMESTAMP FROM DUAL
+WHERE NOT EXISTS (SELECT 1 FROM users WHERE username = 'anyi' OR id = 4);
+
+INSERT INTO user_roles (user_id, role_id)
+SELECT u.id, r.id FROM users u, roles r
+WHERE ((u.username = 'santiago' AND r.role_name = 'ADMIN')
+    OR (u.username = 'daniel' AND r.role_name = 'USER')
+    OR (u.username = 'andrea' AND r.role_name = 'INVITED')
+    OR (u.username = 'anyi' AND r.role_name = 'DEVELOPER'))
+  AND u.id <= 4
+  AND NOT EXISTS (SELECT 1 FROM user_roles ur WHERE ur.user_id = u.id);
@@ -0,0 +1,5 @@
+-- Igual que db/migration/mysql/V2__require_authorization_rule_authority.sql con la sintaxis de H2.
+
+DELETE FROM authorization_rules WHERE authority IS NULL OR TRIM(authority) = '';
+
+ALTER TABLE authorization_rules ALTER COLUMN authority SET NOT NULL;
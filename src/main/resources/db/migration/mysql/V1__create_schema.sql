@@ -0,0 +1,99 @@
+-- Esquema inicial (MySQL 8). Debe coincidir con las entidades: Hibernate solo lo valida (spring.jpa.hibernate.ddl-auto=validate).
+-- MySQL no tiene secuencias: users_seq es la tabla que Hibernate usa en su lugar para UserEntity (next_val, de 50 en 50).
+-- Los ids 1..100 de users quedan para los usuarios de R__seed_data.sql.
+
+CREATE TABLE permissions (
+    id   BIGINT       NOT NULL AUTO_INCREMENT,
+    name VARCHAR(255) NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT uk_permissions_name UNIQUE (name)
+);
+
+CREATE TABLE roles (
+    id        BIGINT      NOT NULL AUTO_INCREMENT,
+    role_name VARCHAR(50) NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT uk_roles_role_name UNIQUE (role_name)
+);
+
+CREATE TABLE role_permissions (
+    role_id       BIGINT NOT NULL,
+    permission_id BIGINT NOT NULL,
+    PRIMARY KEY (role_id, permission_id),
+    CONSTRAINT fk_role_permissions_role FOREIGN KEY (role_id) REFERENCES roles (id),
+    CONSTRAINT fk_role_permissions_permission FOREIGN KEY (permission_id) REFERENCES permissions (id)
+);
+CREATE INDEX idx_role_permissions_permission_id ON role_permissions (permission_id);
+
+CREATE TABLE role_inheritance (
+    role_id        BIGINT NOT NULL,
+    parent_role_id BIGINT NOT NULL,
+    PRIMARY KEY (role_id, parent_role_id),
+    CONSTRAINT fk_role_inheritance_role FOREIGN KEY (role_id) REFERENCES roles (id),
+    CONSTRAINT fk_role_inheritance_parent_role FOREIGN KEY (parent_role_id) REFERENCES roles (id)
+);
+CREATE INDEX idx_role_inheritance_parent_role_id ON role_inheritance (parent_role_id);
+
+CREATE TABLE users (
+    id                    BIGINT       NOT NULL,
+    username              VARCHAR(255) NOT NULL,
+    password              VARCHAR(255),
+    is_enabled            BOOLEAN      NOT NULL,
+    account_no_expired    BOOLEAN      NOT NULL,
+    account_no_locked     BOOLEAN      NOT NULL,
+    credential_no_expired BOOLEAN      NOT NULL,
+    locked_until          DATETIME(6),
+    created_at            DATETIME(6),
+    PRIMARY KEY (id),
+    CONSTRAINT uk_users_username UNIQUE (username)
+);
+CREATE INDEX idx_users_created_at ON users (created_at);
+CREATE INDEX idx_users_locked_until ON users (locked_until);
+
+CREATE TABLE users_seq (
+    next_val BIGINT
+);
+INSERT INTO users_seq (next_val) VALUES (101);
+
+CREATE TABLE user_roles (
+    user_id BIGINT NOT NULL,
+    role_id BIGINT NOT NULL,
+    PRIMARY KEY (user_id, role_id),
+    CONSTRAINT fk_user_roles_user FOREIGN KEY (user_id) REFERENCES users (id),
+    CONSTRAINT fk_user_roles_role FOREIGN KEY (role_id) REFERENCES roles (id)
+);
+CREATE INDEX idx_user_roles_role_id ON user_roles (role_id);
+
+CREATE TABLE refresh_tokens (
+    id         BIGINT       NOT NULL AUTO_INCREMENT,
+    token_hash VARCHAR(64)  NOT NULL,
+    username   VARCHAR(255) NOT NULL,
+    family_id  VARCHAR(36)  NOT NULL,
+    created_at DATETIME(6)  NOT NULL,
+    expires_at DATETIME(6)  NOT NULL,
+    used       BOOLEAN      NOT NULL,
+    revoked    BOOLEAN      NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT uk_refresh_tokens_token_hash UNIQUE (token_hash)
+);
+CREATE INDEX idx_refresh_tokens_username ON refresh_tokens (username);
+CREATE INDEX idx_refresh_tokens_family_id ON refresh_tokens (family_id);
+CREATE INDEX idx_refresh_tokens_expires_at ON refresh_tokens (expires_at);
+
+CREATE TABLE revoked_tokens (
+    jti        VARCHAR(36)  NOT NULL,
+    username   VARCHAR(255),
+    revoked_at DATETIME(6)  NOT NULL,
+    expires_at DATETIME(6)  NOT NULL,
+    PRIMARY KEY (jti)
+);
+CREATE INDEX idx_revoked_tokens_expires_at ON revoked_tokens (expires_at);
+
+CREATE TABLE authorization_rules (
+    id           BIGINT       NOT NULL AUTO_INCREMENT,
+    http_method  VARCHAR(10)  NOT NULL,
+    path_pattern VARCHAR(255) NOT NULL,
+    authority    VARCHAR(255),
+    PRIMARY KEY (id),
+    CONSTRAINT uk_authorization_rules_method_pattern UNIQUE (http_method, path_pattern)
+);
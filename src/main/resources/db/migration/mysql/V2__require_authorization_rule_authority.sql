@@ -0,0 +1,6 @@
+-- Las reglas de authorization_rules exigen una autoridad: las rutas públicas solo se declaran en EndpointAuthorizationRules.
+-- Las reglas sin autoridad creadas antes se eliminan (RuleTableAuthorizationManager las ignora).
+
+DELETE FROM authorization_rules WHERE authority IS NULL OR TRIM(authority) = '';
+
+ALTER TABLE authorization_rules MODIFY authority VARCHAR(255) NOT NULL;
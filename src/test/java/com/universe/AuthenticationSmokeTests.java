@@ -0,0 +1,150 @@
+package com.universe;
+
+import com.universe.controller.dto.AuthCreateRoleRequest;
+import com.universe.controller.dto.AuthCreateUserRequest;
+import com.universe.controller.dto.AuthLoginRequest;
+import com.universe.controller.dto.AuthLogoutRequest;
+import com.universe.controller.dto.AuthRefreshRequest;
+import com.universe.controller.dto.AuthResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+
+/**
+ * Prueba de humo del flujo completo de autenticación sobre HTTP, con un servidor en un puerto aleatorio y H2 en memoria
+ * (esquema y roles de las migraciones de Flyway). Con mvn -PnativeTest test se ejecuta dentro de la imagen nativa,
+ * así que comprueba que los hints de NativeRuntimeHints bastan para JPA, Jackson y Flyway.
+ * (1) signUpLogInAndCallProtectedEndpoint: Registra un usuario con el rol USER, inicia sesión con /auth/log-in
+ *  y llama a GET /method/get con el JWT. USER hereda READ de INVITED, así que la llamada devuelve 200.
+ * (2) protectedEndpointRejectsRequestsWithoutToken: Verifica que GET /method/get sin token se rechaza.
+ * (3) malformedAuthorizationHeadersAreUnauthorized: Una cabecera Authorization que no es "Bearer " seguida de un token válido
+ *  (demasiado corta, de otro esquema o con un token mal formado) responde 401 en lugar de un error del servidor.
+ * (4) loggedOutTokenIsRejected: Después de /auth/log-out el mismo token de acceso responde 401, mientras que otro token
+ *  del mismo usuario, no revocado, sigue funcionando.
+ * (5) reusedRefreshTokenRevokesTheWholeFamily: Cada refresh token sirve una sola vez. Volver a presentar uno ya usado responde 401
+ *  y revoca toda la familia, así que el último refresh token emitido tampoco sirve: la revocación se confirma aunque rotate
+ *  termine con BadCredentialsException (noRollbackFor = AuthenticationException).
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+		"spring.datasource.url=jdbc:h2:mem:smoke;DB_CLOSE_DELAY=-1",
+		"spring.datasource.driver-class-name=org.h2.Driver",
+		"spring.datasource.username=sa",
+		"spring.datasource.password="})
+class AuthenticationSmokeTests {
+
+	@Autowired
+	private TestRestTemplate restTemplate;
+
+	/**
+	 * HttpURLConnection no puede leer un 401 como respuesta a un POST con cuerpo, así que se usa el cliente de java.net.http.
+	 */
+	@BeforeEach
+	void useJdkHttpClient() {
+		restTemplate.getRestTemplate().setRequestFactory(new JdkClientHttpRequestFactory());
+	}
+
+	@Test
+	void signUpLogInAndCallProtectedEndpoint() {
+		ResponseEntity<AuthResponse> signUp = restTemplate.postForEntity("/auth/sign-up",
+				new AuthCreateUserRequest("smoke-user", "smoke-password", new AuthCreateRoleRequest(List.of("USER"))), AuthResponse.class);
+		assertEquals(HttpStatus.CREATED, signUp.getStatusCode());
+
+		ResponseEntity<AuthResponse> logIn = restTemplate.postForEntity("/auth/log-in",
+				new AuthLoginRequest("smoke-user", "smoke-password"), AuthResponse.class);
+		assertEquals(HttpStatus.OK, logIn.getStatusCode());
+		assertNotNull(logIn.getBody());
+		assertNotNull(logIn.getBody().jwt());
+
+		HttpHeaders headers = new HttpHeaders();
+		headers.setBearerAuth(logIn.getBody().jwt());
+		ResponseEntity<String> response = restTemplate.exchange("/method/get", HttpMethod.GET, new HttpEntity<>(headers), String.class);
+		assertEquals(HttpStatus.OK, response.getStatusCode());
+		assertEquals("Method Called With GET", response.getBody());
+	}
+
+	@Test
+	void protectedEndpointRejectsRequestsWithoutToken() {
+		ResponseEntity<String> response = restTemplate.getForEntity("/method/get", String.class);
+		assertTrue(response.getStatusCode().is4xxClientError());
+	}
+
+	@Test
+	void loggedOutTokenIsRejected() {
+		ResponseEntity<AuthResponse> signUp = restTemplate.postForEntity("/auth/sign-up",
+				new AuthCreateUserRequest("logout-user", "logout-password", new AuthCreateRoleRequest(List.of("USER"))), AuthResponse.class);
+		assertEquals(HttpStatus.CREATED, signUp.getStatusCode());
+		String loggedOutToken = this.logIn("logout-user", "logout-password");
+		String otherToken = this.logIn("logout-user", "logout-password");
+		assertEquals(HttpStatus.OK, this.getWithToken("/method/get", loggedOutToken).getStatusCode());
+
+		ResponseEntity<String> logOut = restTemplate.exchange("/auth/log-out", HttpMethod.POST, new HttpEntity<>(new AuthLogoutRequest(null), this.bearer(loggedOutToken)), String.class);
+		assertEquals(HttpStatus.OK, logOut.getStatusCode());
+
+		assertEquals(HttpStatus.UNAUTHORIZED, this.getWithToken("/method/get", loggedOutToken).getStatusCode());
+		assertEquals(HttpStatus.OK, this.getWithToken("/method/get", otherToken).getStatusCode());
+	}
+
+	@Test
+	void reusedRefreshTokenRevokesTheWholeFamily() {
+		restTemplate.postForEntity("/auth/sign-up",
+				new AuthCreateUserRequest("refresh-user", "refresh-password", new AuthCreateRoleRequest(List.of("USER"))), AuthResponse.class);
+		ResponseEntity<AuthResponse> logIn = restTemplate.postForEntity("/auth/log-in",
+				new AuthLoginRequest("refresh-user", "refresh-password"), AuthResponse.class);
+		String firstRefreshToken = logIn.getBody().refreshToken();
+
+		ResponseEntity<AuthResponse> refresh = this.refresh(firstRefreshToken);
+		assertEquals(HttpStatus.OK, refresh.getStatusCode());
+		assertNotNull(refresh.getBody().jwt());
+		String newestRefreshToken = refresh.getBody().refreshToken();
+		assertNotEquals(firstRefreshToken, newestRefreshToken);
+
+		assertEquals(HttpStatus.UNAUTHORIZED, this.refresh(firstRefreshToken).getStatusCode());
+		assertEquals(HttpStatus.UNAUTHORIZED, this.refresh(newestRefreshToken).getStatusCode());
+	}
+
+	@Test
+	void malformedAuthorizationHeadersAreUnauthorized() {
+		for (String authorizationHeader : List.of("Bearer", "Bearer ", "Basic c21va2U6c21va2U=", "abc", "Bearer not-a-jwt")) {
+			HttpHeaders headers = new HttpHeaders();
+			headers.set(HttpHeaders.AUTHORIZATION, authorizationHeader);
+			ResponseEntity<String> response = restTemplate.exchange("/method/get", HttpMethod.GET, new HttpEntity<>(headers), String.class);
+			assertEquals(HttpStatus.UNAUTHORIZED, response.getStatusCode(), authorizationHeader);
+		}
+	}
+
+	private String logIn(String username, String password) {
+		ResponseEntity<AuthResponse> logIn = restTemplate.postForEntity("/auth/log-in", new AuthLoginRequest(username, password), AuthResponse.class);
+		assertEquals(HttpStatus.OK, logIn.getStatusCode());
+		return logIn.getBody().jwt();
+	}
+
+	private ResponseEntity<AuthResponse> refresh(String refreshToken) {
+		return restTemplate.postForEntity("/auth/refresh", new AuthRefreshRequest(refreshToken), AuthResponse.class);
+	}
+
+	private ResponseEntity<String> getWithToken(String path, String token) {
+		return restTemplate.exchange(path, HttpMethod.GET, new HttpEntity<>(this.bearer(token)), String.class);
+	}
+
+	private HttpHeaders bearer(String token) {
+		HttpHeaders headers = new HttpHeaders();
+		headers.setBearerAuth(token);
+		return headers;
+	}
+}
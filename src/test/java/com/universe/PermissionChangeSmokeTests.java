@@ -0,0 +1,105 @@
+package com.universe;
+
+import com.universe.controller.dto.AuthCreateRoleRequest;
+import com.universe.controller.dto.AuthCreateUserRequest;
+import com.universe.controller.dto.AuthLoginRequest;
+import com.universe.controller.dto.AuthResponse;
+import com.universe.controller.dto.RoleUpdateParentsRequest;
+import com.universe.controller.dto.RoleUpdatePermissionsRequest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+
+/**
+ * Prueba de humo de PermissionChangeService sobre HTTP, con su propia base de datos H2 en memoria porque cambia los roles de las migraciones:
+ * INVITED{READ} &lt; USER{CREATE} &lt; ADMIN{UPDATE,DELETE} &lt; DEVELOPER{REFACTOR}.
+ * En los dos casos el token del usuario DEVELOPER se usa antes del cambio, así que ya está en VerifiedTokenCache,
+ * y el siguiente uso del mismo token tiene las autoridades nuevas (AuthorityOverrides) sin volver a iniciar sesión.
+ * Después de cada test se devuelven ADMIN y DEVELOPER a su estado inicial, así que el orden de los tests no importa.
+ * (1) adminPermissionChangeReachesExistingDeveloperTokens: Quitar DELETE a ADMIN se lo quita también a DEVELOPER, que lo hereda de ADMIN.
+ * (2) parentChangeReachesExistingTokens: Si DEVELOPER pasa a heredar solo de INVITED pierde CREATE pero conserva READ.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+		"spring.datasource.url=jdbc:h2:mem:permission-change;DB_CLOSE_DELAY=-1",
+		"spring.datasource.driver-class-name=org.h2.Driver",
+		"spring.datasource.username=sa",
+		"spring.datasource.password="})
+class PermissionChangeSmokeTests {
+
+	private static String adminToken;
+
+	@Autowired
+	private TestRestTemplate restTemplate;
+
+	@AfterEach
+	void restoreRoles() {
+		assertEquals(HttpStatus.OK, this.updateRole("/roles/ADMIN/permissions", new RoleUpdatePermissionsRequest(List.of("UPDATE", "DELETE"))));
+		assertEquals(HttpStatus.OK, this.updateRole("/roles/DEVELOPER/parents", new RoleUpdateParentsRequest(List.of("ADMIN"))));
+	}
+
+	@Test
+	void adminPermissionChangeReachesExistingDeveloperTokens() {
+		String developerToken = this.signUpAndLogIn("developer-permissions", "DEVELOPER");
+		assertEquals(HttpStatus.OK, this.call(HttpMethod.DELETE, "/method/delete", developerToken));
+
+		assertEquals(HttpStatus.OK, this.updateRole("/roles/ADMIN/permissions", new RoleUpdatePermissionsRequest(List.of("UPDATE"))));
+
+		assertEquals(HttpStatus.FORBIDDEN, this.call(HttpMethod.DELETE, "/method/delete", developerToken));
+		assertEquals(HttpStatus.OK, this.call(HttpMethod.PUT, "/method/put", developerToken));
+	}
+
+	@Test
+	void parentChangeReachesExistingTokens() {
+		String developerToken = this.signUpAndLogIn("developer-parents", "DEVELOPER");
+		assertEquals(HttpStatus.OK, this.call(HttpMethod.POST, "/method/post", developerToken));
+
+		assertEquals(HttpStatus.OK, this.updateRole("/roles/DEVELOPER/parents", new RoleUpdateParentsRequest(List.of("INVITED"))));
+
+		assertEquals(HttpStatus.FORBIDDEN, this.call(HttpMethod.POST, "/method/post", developerToken));
+		assertEquals(HttpStatus.OK, this.call(HttpMethod.GET, "/method/get", developerToken));
+	}
+
+	/**
+	 * Los cambios de roles los hace un usuario ADMIN propio, creado la primera vez que se necesita.
+	 * Su token conserva ROLE_ADMIN aunque ADMIN pierda permisos.
+	 */
+	private HttpStatus updateRole(String path, Object updateRequest) {
+		if (adminToken == null) {
+			adminToken = this.signUpAndLogIn("role-admin", "ADMIN");
+		}
+		ResponseEntity<String> response = restTemplate.exchange(path, HttpMethod.PUT, new HttpEntity<>(updateRequest, this.bearer(adminToken)), String.class);
+		return HttpStatus.valueOf(response.getStatusCode().value());
+	}
+
+	private String signUpAndLogIn(String username, String role) {
+		ResponseEntity<AuthResponse> signUp = restTemplate.postForEntity("/auth/sign-up",
+				new AuthCreateUserRequest(username, "permission-password", new AuthCreateRoleRequest(List.of(role))), AuthResponse.class);
+		assertEquals(HttpStatus.CREATED, signUp.getStatusCode());
+		ResponseEntity<AuthResponse> logIn = restTemplate.postForEntity("/auth/log-in",
+				new AuthLoginRequest(username, "permission-password"), AuthResponse.class);
+		assertEquals(HttpStatus.OK, logIn.getStatusCode());
+		return logIn.getBody().jwt();
+	}
+
+	private HttpStatus call(HttpMethod method, String path, String token) {
+		return HttpStatus.valueOf(restTemplate.exchange(path, method, new HttpEntity<>(this.bearer(token)), String.class).getStatusCode().value());
+	}
+
+	private HttpHeaders bearer(String token) {
+		HttpHeaders headers = new HttpHeaders();
+		headers.setBearerAuth(token);
+		return headers;
+	}
+}
@@ -0,0 +1,51 @@
+package com.universe.config.security;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+
+/**
+ * Pruebas unitarias del PasswordEncoder de PasswordEncoderConfig (bcrypt con coste 5), sin contexto de Spring.
+ * (1) sameStrengthIsNotUpgraded: Una contraseña guardada con el coste configurado no se vuelve a codificar.
+ * (2) lowerStrengthIsUpgraded: Una contraseña guardada con un coste menor se vuelve a codificar.
+ * (3) higherStrengthIsUpgraded: Una contraseña guardada con un coste mayor también se vuelve a codificar,
+ *  para que bajar security.password.bcrypt.strength llegue a los usuarios existentes.
+ * (4) hashWithoutPrefixIsUpgraded: Una contraseña sin el prefijo {bcrypt} (usuarios iniciales) se vuelve a codificar.
+ */
+class PasswordEncoderConfigTests {
+
+	private static final String PASSWORD = "1234";
+
+	@Test
+	void sameStrengthIsNotUpgraded() {
+		assertFalse(this.passwordEncoder().upgradeEncoding("{bcrypt}" + new BCryptPasswordEncoder(5).encode(PASSWORD)));
+	}
+
+	@Test
+	void lowerStrengthIsUpgraded() {
+		assertTrue(this.passwordEncoder().upgradeEncoding("{bcrypt}" + new BCryptPasswordEncoder(4).encode(PASSWORD)));
+	}
+
+	@Test
+	void higherStrengthIsUpgraded() {
+		assertTrue(this.passwordEncoder().upgradeEncoding("{bcrypt}" + new BCryptPasswordEncoder(6).encode(PASSWORD)));
+	}
+
+	@Test
+	void hashWithoutPrefixIsUpgraded() {
+		assertTrue(this.passwordEncoder().upgradeEncoding(new BCryptPasswordEncoder(5).encode(PASSWORD)));
+	}
+
+	private PasswordEncoder passwordEncoder() {
+		PasswordEncoderConfig passwordEncoderConfig = new PasswordEncoderConfig();
+		ReflectionTestUtils.setField(passwordEncoderConfig, "encoderId", PasswordEncoderConfig.BCRYPT_ID);
+		ReflectionTestUtils.setField(passwordEncoderConfig, "bcryptStrength", 5);
+		ReflectionTestUtils.setField(passwordEncoderConfig, "pbkdf2Iterations", 1000);
+		return passwordEncoderConfig.passwordEncoder();
+	}
+}
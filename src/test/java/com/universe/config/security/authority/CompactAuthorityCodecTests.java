@@ -0,0 +1,81 @@
+package com.universe.config.security.authority;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+
+/**
+ * Pruebas unitarias de CompactAuthorityCodec con dos nodos simulados, cada uno con su AuthorityRegistry, sin contexto de Spring.
+ * (1) claimsRoundTripOnTheSameCatalog: Un claim codificado con un catálogo se decodifica en el mismo AuthoritySet con un catálogo igual.
+ * (2) differentPermissionOrderIsRejected: Con los mismos permisos en otro orden la huella cambia y el claim se rechaza,
+ *  en lugar de leer los mismos bits como otras autoridades.
+ * (3) differentPermissionsAreRejected: Con otros permisos la huella cambia y el claim se rechaza.
+ * (4) claimsWithoutFingerprintAreRejected: El formato anterior, sin huella ("1.BITS"), ya no se acepta.
+ */
+class CompactAuthorityCodecTests {
+
+	private static final List<String> PERMISSIONS = List.of("CREATE", "READ", "UPDATE", "DELETE", "REFACTOR");
+
+	@Test
+	void claimsRoundTripOnTheSameCatalog() {
+		AuthorityRegistry issuerRegistry = this.registry(PERMISSIONS);
+		AuthoritySet authorities = issuerRegistry.intern("ROLE_ADMIN,CREATE,READ");
+		String claim = this.codec(issuerRegistry).encode(authorities);
+
+		AuthorityRegistry verifierRegistry = this.registry(PERMISSIONS);
+		AuthoritySet decoded = this.codec(verifierRegistry).decode(claim);
+
+		assertTrue(claim.startsWith(CompactAuthorityCodec.VERSION + "-"));
+		assertSame(verifierRegistry.intern("ROLE_ADMIN,CREATE,READ"), decoded);
+	}
+
+	@Test
+	void differentPermissionOrderIsRejected() {
+		AuthorityRegistry issuerRegistry = this.registry(PERMISSIONS);
+		String claim = this.codec(issuerRegistry).encode(issuerRegistry.intern("READ"));
+
+		CompactAuthorityCodec reorderedCodec = this.codec(this.registry(List.of("READ", "CREATE", "UPDATE", "DELETE", "REFACTOR")));
+
+		assertThrows(IllegalArgumentException.class, () -> reorderedCodec.decode(claim));
+	}
+
+	@Test
+	void differentPermissionsAreRejected() {
+		AuthorityRegistry issuerRegistry = this.registry(PERMISSIONS);
+		String claim = this.codec(issuerRegistry).encode(issuerRegistry.intern("READ"));
+
+		CompactAuthorityCodec otherCodec = this.codec(this.registry(List.of("CREATE", "READ", "UPDATE", "DELETE", "AUDIT")));
+
+		assertNotEquals(CompactAuthorityCodec.fingerprint(PERMISSIONS), CompactAuthorityCodec.fingerprint(List.of("CREATE", "READ", "UPDATE", "DELETE", "AUDIT")));
+		assertThrows(IllegalArgumentException.class, () -> otherCodec.decode(claim));
+	}
+
+	@Test
+	void claimsWithoutFingerprintAreRejected() {
+		CompactAuthorityCodec codec = this.codec(this.registry(PERMISSIONS));
+
+		assertThrows(IllegalArgumentException.class, () -> codec.decode(CompactAuthorityCodec.VERSION + ".8Q"));
+	}
+
+	private AuthorityRegistry registry(List<String> permissions) {
+		AuthorityRegistry authorityRegistry = new AuthorityRegistry();
+		ReflectionTestUtils.setField(authorityRegistry, "permissionNames", permissions);
+		ReflectionTestUtils.setField(authorityRegistry, "maxInterned", 1024);
+		authorityRegistry.init();
+		return authorityRegistry;
+	}
+
+	private CompactAuthorityCodec codec(AuthorityRegistry authorityRegistry) {
+		CompactAuthorityCodec codec = new CompactAuthorityCodec();
+		ReflectionTestUtils.setField(codec, "authorityRegistry", authorityRegistry);
+		codec.init();
+		return codec;
+	}
+}
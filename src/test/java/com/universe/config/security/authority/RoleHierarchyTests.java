@@ -0,0 +1,84 @@
+package com.universe.config.security.authority;
+
+import com.universe.persistence.entity.RoleEntity;
+import com.universe.persistence.entity.RoleEnum;
+import com.universe.persistence.repository.RoleRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.security.core.GrantedAuthority;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+
+/**
+ * @DataJpaTest con RoleHierarchy y AuthorityRegistry sobre la jerarquía de las migraciones de Flyway:
+ * INVITED{READ} &lt; USER{CREATE} &lt; ADMIN{UPDATE,DELETE} &lt; DEVELOPER{REFACTOR}.
+ * Los cambios en la base de datos se deshacen al terminar cada test, pero RoleHierarchy se comparte, así que se recarga antes de cada uno.
+ * (1) authoritiesOfIncludesInheritedPermissions: DEVELOPER tiene su ROLE_ y los permisos de todos sus ancestros, pero no sus ROLE_.
+ * (2) checkParentsUsesTheStoredHierarchy: Un cambio guardado por otra transacción que la jerarquía en memoria todavía no conoce
+ *  (DEVELOPER vuelve a heredar de ADMIN) se tiene en cuenta, así que INVITED no puede heredar de DEVELOPER.
+ * (3) checkParentsAcceptsHierarchiesWithoutCycles: Un rol no puede heredar de sí mismo, pero sí de un rol que no hereda de él.
+ */
+@DataJpaTest
+@Import({RoleHierarchy.class, AuthorityRegistry.class})
+class RoleHierarchyTests {
+
+	@Autowired
+	private RoleHierarchy roleHierarchy;
+
+	@Autowired
+	private RoleRepository roleRepository;
+
+	@Autowired
+	private TestEntityManager testEntityManager;
+
+	@BeforeEach
+	void reloadHierarchy() {
+		roleHierarchy.reload();
+	}
+
+	@Test
+	void authoritiesOfIncludesInheritedPermissions() {
+		Set<String> authorities = roleHierarchy.authoritiesOf(List.of("DEVELOPER")).stream()
+				.map(GrantedAuthority::getAuthority)
+				.collect(Collectors.toSet());
+
+		assertEquals(Set.of("ROLE_DEVELOPER", "READ", "CREATE", "UPDATE", "DELETE", "REFACTOR"), authorities);
+	}
+
+	@Test
+	void checkParentsUsesTheStoredHierarchy() {
+		RoleEntity developer = this.role(RoleEnum.DEVELOPER);
+		Set<RoleEntity> developerParents = new HashSet<>(developer.getParentRoles());
+		developer.getParentRoles().clear();
+		testEntityManager.flush();
+		roleHierarchy.reload();
+
+		developer.getParentRoles().addAll(developerParents);
+		testEntityManager.flush();
+
+		assertThrows(IllegalArgumentException.class, () -> roleHierarchy.checkParents("INVITED", List.of("DEVELOPER")));
+	}
+
+	@Test
+	void checkParentsAcceptsHierarchiesWithoutCycles() {
+		assertThrows(IllegalArgumentException.class, () -> roleHierarchy.checkParents("USER", List.of("USER")));
+		assertThrows(IllegalArgumentException.class, () -> roleHierarchy.checkParents("USER", List.of("ADMIN")));
+		assertDoesNotThrow(() -> roleHierarchy.checkParents("DEVELOPER", List.of("INVITED", "USER")));
+	}
+
+	private RoleEntity role(RoleEnum roleEnum) {
+		return roleRepository.findRoleEntityByRoleEnum(roleEnum).orElseThrow();
+	}
+}
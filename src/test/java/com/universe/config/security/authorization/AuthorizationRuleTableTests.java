@@ -0,0 +1,97 @@
+package com.universe.config.security.authorization;
+
+import com.universe.config.security.EndpointAuthorizationRules.EndpointRule;
+import com.universe.config.security.authority.AuthorityRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpMethod;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+
+/**
+ * Pruebas unitarias del trie de AuthorizationRuleTable, sin contexto de Spring.
+ * (1) literalSegmentWinsOverSingleWildcardAndRemainder: Para la misma ruta gana el segmento literal, después "*" (o "{variable}") y por último "**".
+ * (2) remainderMatchesEmptyRemainderAndDeepPaths: "**" cubre también la ruta sin más segmentos y las rutas con varios segmentos más.
+ * (3) methodSpecificRuleWinsOverAnyMethod: Una regla del método de la petición gana a una de ANY aunque sea menos específica,
+ *  y ANY se aplica a los métodos que no tienen regla.
+ * (4) pathsWithoutRuleAreDenied: Sin regla (otra ruta u otro método) lookup devuelve null y la petición se deniega.
+ * (5) ruleChecksItsAuthority: Una regla pública admite peticiones sin autenticar; una con autoridad exige esa autoridad.
+ * (6) remainderOnlyAllowedAsLastSegment: "**" en medio del patrón no es válido.
+ */
+class AuthorizationRuleTableTests {
+
+	private static final EndpointRule LITERAL = new EndpointRule(HttpMethod.GET, "/items/special", "READ");
+
+	private static final EndpointRule SINGLE = new EndpointRule(HttpMethod.GET, "/items/{id}", "READ");
+
+	private static final EndpointRule REMAINDER = new EndpointRule(HttpMethod.GET, "/items/**", "READ");
+
+	private final AuthorityRegistry authorityRegistry = new AuthorityRegistry();
+
+	@Test
+	void literalSegmentWinsOverSingleWildcardAndRemainder() {
+		AuthorizationRuleTable table = this.compile(REMAINDER, SINGLE, LITERAL);
+
+		assertEquals(LITERAL, table.lookup("GET", "/items/special").endpointRule());
+		assertEquals(SINGLE, table.lookup("GET", "/items/42").endpointRule());
+		assertEquals(REMAINDER, table.lookup("GET", "/items/42/parts").endpointRule());
+		assertEquals(REMAINDER, table.lookup("GET", "/items/special/parts").endpointRule());
+	}
+
+	@Test
+	void remainderMatchesEmptyRemainderAndDeepPaths() {
+		AuthorizationRuleTable table = this.compile(REMAINDER);
+
+		assertEquals(REMAINDER, table.lookup("GET", "/items").endpointRule());
+		assertEquals(REMAINDER, table.lookup("GET", "/items/").endpointRule());
+		assertEquals(REMAINDER, table.lookup("GET", "/items/a/b/c").endpointRule());
+	}
+
+	@Test
+	void methodSpecificRuleWinsOverAnyMethod() {
+		EndpointRule anyMethod = new EndpointRule(HttpMethod.valueOf(AuthorizationRuleTable.ANY_METHOD), "/items/special", "ROLE_ADMIN");
+		AuthorizationRuleTable table = this.compile(anyMethod, REMAINDER);
+
+		assertEquals(REMAINDER, table.lookup("GET", "/items/special").endpointRule());
+		assertEquals(anyMethod, table.lookup("DELETE", "/items/special").endpointRule());
+		assertNull(table.lookup("DELETE", "/items/other"));
+	}
+
+	@Test
+	void pathsWithoutRuleAreDenied() {
+		AuthorizationRuleTable table = this.compile(LITERAL, SINGLE);
+
+		assertNull(table.lookup("GET", "/other"));
+		assertNull(table.lookup("GET", "/items/42/parts"));
+		assertNull(table.lookup("POST", "/items/42"));
+		assertNull(this.compile().lookup("GET", "/items/42"));
+	}
+
+	@Test
+	void ruleChecksItsAuthority() {
+		EndpointRule publicRule = new EndpointRule(HttpMethod.POST, "/auth/**", null);
+		AuthorizationRuleTable table = this.compile(publicRule, SINGLE);
+
+		assertTrue(table.lookup("POST", "/auth/log-in").isGranted(null));
+		assertFalse(table.lookup("GET", "/items/42").isGranted(null));
+		assertFalse(table.lookup("GET", "/items/42").isGranted(new TestingAuthenticationToken("daniel", null, "CREATE")));
+		assertTrue(table.lookup("GET", "/items/42").isGranted(new TestingAuthenticationToken("andrea", null, "READ")));
+	}
+
+	@Test
+	void remainderOnlyAllowedAsLastSegment() {
+		assertThrows(IllegalArgumentException.class, () -> AuthorizationRuleTable.validatePattern("/items/**/parts"));
+		assertThrows(IllegalArgumentException.class, () -> this.compile(new EndpointRule(HttpMethod.GET, "/**/items", "READ")));
+	}
+
+	private AuthorizationRuleTable compile(EndpointRule... rules) {
+		return AuthorizationRuleTable.compile(List.of(rules), this.authorityRegistry);
+	}
+}
@@ -0,0 +1,82 @@
+package com.universe.persistence.repository;
+
+import com.universe.persistence.entity.RoleEntity;
+import com.universe.persistence.entity.RoleEnum;
+import com.universe.persistence.entity.UserEntity;
+import com.universe.persistence.projection.UserAuthorityView;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+
+/**
+ * @DataJpaTest: Esta anotación levanta solo la capa JPA sobre una base de datos H2 en memoria, con el esquema y los roles
+ * de las migraciones de Flyway (db/migration/common y db/migration/h2).
+ * (1) findUserAuthoritiesByUsernameUsesASingleStatement: Verifica que obtener la cuenta y los roles de un usuario
+ *  (lo que hace cada login en UserDetailServiceImpl.loadUserByUsername) ejecuta exactamente una sentencia SQL,
+ *  contando las sentencias con las estadísticas de Hibernate, y que devuelve una fila por rol sin multiplicarlas por los permisos.
+ * (2) findUserAuthoritiesByUsernameReturnsNothingForUnknownUsers: Verifica que un usuario inexistente no devuelve filas.
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class UserRepositoryTests {
+
+	@Autowired
+	private UserRepository userRepository;
+
+	@Autowired
+	private RoleRepository roleRepository;
+
+	@Autowired
+	private TestEntityManager entityManager;
+
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+
+	@Test
+	void findUserAuthoritiesByUsernameUsesASingleStatement() {
+		RoleEntity roleAdmin = roleRepository.findRoleEntityByRoleEnum(RoleEnum.ADMIN).orElseThrow();
+		RoleEntity roleUser = roleRepository.findRoleEntityByRoleEnum(RoleEnum.USER).orElseThrow();
+
+		entityManager.persist(UserEntity.builder()
+				.username("projection-user")
+				.password("hash")
+				.isEnabled(true)
+				.accountNoExpired(true)
+				.accountNoLocked(true)
+				.credentialNoExpired(true)
+				.roles(Set.of(roleAdmin, roleUser))
+				.build());
+		entityManager.flush();
+		entityManager.clear();
+
+		Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+		statistics.clear();
+
+		List<UserAuthorityView> userAuthorities = userRepository.findUserAuthoritiesByUsername("projection-user");
+
+		assertEquals(1, statistics.getPrepareStatementCount());
+		assertEquals(0, statistics.getEntityLoadCount());
+
+		assertEquals(Set.of(RoleEnum.ADMIN, RoleEnum.USER),
+				userAuthorities.stream().map(UserAuthorityView::getRoleEnum).collect(Collectors.toSet()));
+		assertEquals(2, userAuthorities.size());
+		assertTrue(userAuthorities.stream().allMatch(userAuthority -> userAuthority.isEnabled() && userAuthority.isAccountNoLocked()));
+	}
+
+	@Test
+	void findUserAuthoritiesByUsernameReturnsNothingForUnknownUsers() {
+		assertTrue(userRepository.findUserAuthoritiesByUsername("unknown-user").isEmpty());
+	}
+
+}
@@ -0,0 +1,68 @@
+package com.universe.service;
+
+import com.universe.controller.dto.UserImportError;
+import com.universe.controller.dto.UserImportRequest;
+import com.universe.controller.dto.UserImportResponse;
+import com.universe.persistence.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+
+/**
+ * Pruebas de UserImportService contra H2 en memoria (esquema y usuarios de las migraciones de Flyway), sin servidor web.
+ * No son transaccionales: cada lote se confirma o se deshace en su propia transacción, como en producción.
+ * (1) rowErrorsDoNotAbortTheImport: Un lote que mezcla filas válidas con un rol inexistente, un usuario repetido en la importación,
+ *  un usuario que ya existe y un nombre de usuario demasiado largo para la columna. Este último hace fallar el INSERT del lote
+ *  (DataAccessException), que se reintenta fila a fila: las filas válidas se crean y cada error queda en su fila de UserImportResponse.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE, properties = {
+		"spring.datasource.url=jdbc:h2:mem:user-import;DB_CLOSE_DELAY=-1",
+		"spring.datasource.driver-class-name=org.h2.Driver",
+		"spring.datasource.username=sa",
+		"spring.datasource.password=",
+		"security.password.bcrypt.strength=4"})
+class UserImportServiceTests {
+
+	private static final String TOO_LONG_USERNAME = "x".repeat(300);
+
+	@Autowired
+	private UserImportService userImportService;
+
+	@Autowired
+	private UserRepository userRepository;
+
+	@Test
+	void rowErrorsDoNotAbortTheImport() {
+		List<UserImportRequest> rows = new ArrayList<>();
+		rows.add(new UserImportRequest("import-andrea", "password-1", List.of("USER")));
+		rows.add(new UserImportRequest("import-daniel", "password-2", List.of("SUPERUSER")));
+		rows.add(new UserImportRequest("import-andrea", "password-3", List.of("INVITED")));
+		rows.add(new UserImportRequest("santiago", "password-4", List.of("ADMIN")));
+		rows.add(new UserImportRequest(TOO_LONG_USERNAME, "password-5", List.of("USER")));
+		rows.add(new UserImportRequest("import-santiago", "password-6", List.of("admin", "DEVELOPER")));
+
+		UserImportResponse response = userImportService.importUsers(rows);
+
+		assertEquals(6, response.total());
+		assertEquals(2, response.created());
+		assertEquals(4, response.failed());
+		assertEquals(List.of(
+				new UserImportError(2, "import-daniel", "The role SUPERUSER does not exist."),
+				new UserImportError(3, "import-andrea", "The user is repeated in the import."),
+				new UserImportError(4, "santiago", "The user already exists."),
+				new UserImportError(5, TOO_LONG_USERNAME, "The user could not be saved.")), response.errors());
+
+		assertTrue(userRepository.findUserEntityByUsername("import-andrea").isPresent());
+		assertTrue(userRepository.findUserEntityByUsername("import-santiago").isPresent());
+		assertFalse(userRepository.findUserEntityByUsername("import-daniel").isPresent());
+		assertFalse(userRepository.findUserEntityByUsername(TOO_LONG_USERNAME).isPresent());
+	}
+}
@@ -0,0 +1,168 @@
+package com.universe.service.store;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.data.redis.RedisAutoConfiguration;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import redis.embedded.RedisServer;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.time.Duration;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+
+/**
+ * Pruebas de RedisSharedSecurityStore contra un servidor Redis real (embedded-redis, en un puerto libre) con dos nodos:
+ * dos instancias del almacén en el mismo contexto, cada una con su propio identificador de nodo.
+ * (1) incrementLoginFailuresCountsWithinTheFirstWindow: El script Lua cuenta los fallos y pone la caducidad solo en el primero,
+ *  así que un fallo posterior con otra ventana no la alarga.
+ * (2) loginFailuresExpireWithTheWindow: Al caducar la clave el contador vuelve a empezar.
+ * (3) resetLoginFailuresStartsAgain: resetLoginFailures borra el contador.
+ * (4) eventsReachTheOtherNodesOnly: Un evento publicado por un nodo llega a los suscriptores del otro y no a los del que lo publica.
+ * (5) malformedMessagesAreIgnored: Un mensaje mal formado en el canal no impide recibir los siguientes.
+ */
+@SpringBootTest(classes = RedisSharedSecurityStoreTests.TwoNodes.class)
+class RedisSharedSecurityStoreTests {
+
+	private static final String CHANNEL = "security:state";
+
+	private static final Duration RECEIVE_TIMEOUT = Duration.ofSeconds(5);
+
+	private static RedisServer redisServer;
+
+	private static int redisPort;
+
+	@Autowired
+	private RedisSharedSecurityStore firstNode;
+
+	@Autowired
+	private RedisSharedSecurityStore secondNode;
+
+	@Autowired
+	private StringRedisTemplate redisTemplate;
+
+	@BeforeAll
+	static void startRedis() throws IOException {
+		try (ServerSocket socket = new ServerSocket(0)) {
+			redisPort = socket.getLocalPort();
+		}
+		redisServer = RedisServer.newRedisServer().port(redisPort).bind("127.0.0.1").build();
+		redisServer.start();
+	}
+
+	@AfterAll
+	static void stopRedis() throws IOException {
+		redisServer.stop();
+	}
+
+	@DynamicPropertySource
+	static void redisProperties(DynamicPropertyRegistry registry) {
+		registry.add("spring.data.redis.host", () -> "127.0.0.1");
+		registry.add("spring.data.redis.port", () -> redisPort);
+	}
+
+	@Test
+	void incrementLoginFailuresCountsWithinTheFirstWindow() {
+		assertEquals(1, firstNode.incrementLoginFailures("santiago", Duration.ofSeconds(10)));
+		assertEquals(2, secondNode.incrementLoginFailures("santiago", Duration.ofHours(1)));
+		assertEquals(3, firstNode.incrementLoginFailures("santiago", Duration.ofHours(1)));
+
+		long ttl = redisTemplate.getExpire("security:login-failures:santiago", TimeUnit.MILLISECONDS);
+		assertTrue(ttl > 0 && ttl <= Duration.ofSeconds(10).toMillis(), "unexpected TTL " + ttl);
+	}
+
+	@Test
+	void loginFailuresExpireWithTheWindow() throws InterruptedException {
+		assertEquals(1, firstNode.incrementLoginFailures("daniel", Duration.ofMillis(100)));
+		assertEquals(2, firstNode.incrementLoginFailures("daniel", Duration.ofMillis(100)));
+
+		long deadline = System.nanoTime() + RECEIVE_TIMEOUT.toNanos();
+		while (Boolean.TRUE.equals(redisTemplate.hasKey("security:login-failures:daniel")) && System.nanoTime() < deadline) {
+			Thread.sleep(20);
+		}
+
+		assertEquals(1, firstNode.incrementLoginFailures("daniel", Duration.ofMillis(100)));
+	}
+
+	@Test
+	void resetLoginFailuresStartsAgain() {
+		firstNode.incrementLoginFailures("andrea", Duration.ofMinutes(1));
+		firstNode.incrementLoginFailures("andrea", Duration.ofMinutes(1));
+
+		secondNode.resetLoginFailures("andrea");
+
+		assertFalse(Boolean.TRUE.equals(redisTemplate.hasKey("security:login-failures:andrea")));
+		assertEquals(1, firstNode.incrementLoginFailures("andrea", Duration.ofMinutes(1)));
+	}
+
+	@Test
+	void eventsReachTheOtherNodesOnly() throws InterruptedException {
+		BlockingQueue<SecurityStateEvent> firstNodeEvents = new LinkedBlockingQueue<>();
+		BlockingQueue<SecurityStateEvent> secondNodeEvents = new LinkedBlockingQueue<>();
+		firstNode.subscribe(firstNodeEvents::add);
+		secondNode.subscribe(secondNodeEvents::add);
+
+		SecurityStateEvent event = SecurityStateEvent.userDeleted("anyi");
+		assertEquals(event, this.publishUntilReceived(event, secondNodeEvents));
+
+		assertNull(firstNodeEvents.poll(200, TimeUnit.MILLISECONDS));
+	}
+
+	@Test
+	void malformedMessagesAreIgnored() throws InterruptedException {
+		BlockingQueue<SecurityStateEvent> secondNodeEvents = new LinkedBlockingQueue<>();
+		secondNode.subscribe(secondNodeEvents::add);
+
+		redisTemplate.convertAndSend(CHANNEL, "another-node|not-an-event");
+		redisTemplate.convertAndSend(CHANNEL, "no-separator");
+
+		SecurityStateEvent event = SecurityStateEvent.userChanged("santiago");
+		assertEquals(event, this.publishUntilReceived(event, secondNodeEvents));
+	}
+
+	/**
+	 * La suscripción al canal se completa en segundo plano al arrancar, así que se vuelve a publicar hasta que el evento llega.
+	 */
+	private SecurityStateEvent publishUntilReceived(SecurityStateEvent event, BlockingQueue<SecurityStateEvent> events) throws InterruptedException {
+		long deadline = System.nanoTime() + RECEIVE_TIMEOUT.toNanos();
+		while (System.nanoTime() < deadline) {
+			firstNode.publish(event);
+			SecurityStateEvent received = events.poll(100, TimeUnit.MILLISECONDS);
+			if (received != null) {
+				return received;
+			}
+		}
+		return null;
+	}
+
+	@Configuration
+	@ImportAutoConfiguration(RedisAutoConfiguration.class)
+	static class TwoNodes {
+
+		@Bean
+		RedisSharedSecurityStore firstNode() {
+			return new RedisSharedSecurityStore();
+		}
+
+		@Bean
+		RedisSharedSecurityStore secondNode() {
+			return new RedisSharedSecurityStore();
+		}
+	}
+}
@@ -0,0 +1,125 @@
+package com.universe.service.store;
+
+import com.universe.service.cache.RoleMembershipIndex;
+import com.universe.service.cache.UserDetailsCache;
+import com.universe.service.cache.UsernameNegativeCache;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+
+/**
+ * Pruebas unitarias de UserStateSynchronizer con las cachés y el SharedSecurityStore simulados con Mockito.
+ * (1) changesOutsideATransactionArePublishedImmediately: Sin transacción el cambio se aplica y se publica en el momento.
+ * (2) changesInsideATransactionWaitForTheCommit: Dentro de una transacción no se aplica ni se publica nada hasta afterCommit.
+ * (3) rolledBackChangesAreNeverPublished: Si la transacción se deshace el cambio no llega a ningún nodo.
+ * (4) createdUserJoinsTheRoleIndexAfterTheCommit: Los roles de un usuario creado dentro de una transacción se añaden al índice
+ *  solo al confirmarla, junto con el evento USER_CREATED.
+ * (5) rolledBackCreationLeavesNoUserInTheRoleIndex: Si la creación se deshace el usuario no aparece en el índice de roles.
+ */
+class UserStateSynchronizerTests {
+
+	private final SharedSecurityStore sharedSecurityStore = mock(SharedSecurityStore.class);
+
+	private final UserDetailsCache userDetailsCache = mock(UserDetailsCache.class);
+
+	private final UsernameNegativeCache usernameNegativeCache = mock(UsernameNegativeCache.class);
+
+	private final RoleMembershipIndex roleMembershipIndex = mock(RoleMembershipIndex.class);
+
+	private final UserStateSynchronizer userStateSynchronizer = new UserStateSynchronizer();
+
+	@BeforeEach
+	void setUp() {
+		ReflectionTestUtils.setField(userStateSynchronizer, "sharedSecurityStore", sharedSecurityStore);
+		ReflectionTestUtils.setField(userStateSynchronizer, "userDetailsCache", userDetailsCache);
+		ReflectionTestUtils.setField(userStateSynchronizer, "usernameNegativeCache", usernameNegativeCache);
+		ReflectionTestUtils.setField(userStateSynchronizer, "roleMembershipIndex", roleMembershipIndex);
+	}
+
+	@AfterEach
+	void clearTransaction() {
+		if (TransactionSynchronizationManager.isSynchronizationActive()) {
+			TransactionSynchronizationManager.clearSynchronization();
+		}
+		TransactionSynchronizationManager.setActualTransactionActive(false);
+	}
+
+	@Test
+	void changesOutsideATransactionArePublishedImmediately() {
+		userStateSynchronizer.userDeleted("anyi");
+
+		verify(usernameNegativeCache).recordDeleted("anyi");
+		verify(sharedSecurityStore).publish(SecurityStateEvent.userDeleted("anyi"));
+	}
+
+	@Test
+	void changesInsideATransactionWaitForTheCommit() {
+		this.beginTransaction();
+
+		userStateSynchronizer.userDeleted("anyi");
+
+		verifyNoInteractions(userDetailsCache, usernameNegativeCache, roleMembershipIndex);
+		verify(sharedSecurityStore, never()).publish(SecurityStateEvent.userDeleted("anyi"));
+
+		TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+
+		verify(usernameNegativeCache).recordDeleted("anyi");
+		verify(roleMembershipIndex).remove("anyi");
+		verify(sharedSecurityStore).publish(SecurityStateEvent.userDeleted("anyi"));
+	}
+
+	@Test
+	void rolledBackChangesAreNeverPublished() {
+		this.beginTransaction();
+
+		userStateSynchronizer.userDeleted("anyi");
+		TransactionSynchronizationManager.getSynchronizations()
+				.forEach(synchronization -> synchronization.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+
+		verifyNoInteractions(userDetailsCache, usernameNegativeCache, roleMembershipIndex);
+		verify(sharedSecurityStore, never()).publish(SecurityStateEvent.userDeleted("anyi"));
+	}
+
+	@Test
+	void createdUserJoinsTheRoleIndexAfterTheCommit() {
+		this.beginTransaction();
+
+		userStateSynchronizer.userCreated("andrea", List.of("USER"));
+
+		verifyNoInteractions(userDetailsCache, usernameNegativeCache, roleMembershipIndex, sharedSecurityStore);
+
+		TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+
+		verify(roleMembershipIndex).add("andrea", List.of("USER"));
+		verify(usernameNegativeCache).recordCreated("andrea");
+		verify(sharedSecurityStore).publish(SecurityStateEvent.userCreated("andrea"));
+	}
+
+	@Test
+	void rolledBackCreationLeavesNoUserInTheRoleIndex() {
+		this.beginTransaction();
+
+		userStateSynchronizer.userCreated("andrea", List.of("USER"));
+		TransactionSynchronizationManager.getSynchronizations()
+				.forEach(synchronization -> synchronization.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+
+		verifyNoInteractions(userDetailsCache, usernameNegativeCache, roleMembershipIndex);
+		verify(sharedSecurityStore, never()).publish(SecurityStateEvent.userCreated("andrea"));
+	}
+
+	private void beginTransaction() {
+		TransactionSynchronizationManager.initSynchronization();
+		TransactionSynchronizationManager.setActualTransactionActive(true);
+	}
+}
@@ -0,0 +1,119 @@
+package com.universe.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+
+/**
+ * Pruebas unitarias de StripedTokenBucket con un reloj controlado (un AtomicLong de nanosegundos que el test avanza a mano).
+ * Todas usan 5 fichas que se rellenan en 5 segundos, así que se recupera una ficha por segundo.
+ * (1) burstAllowsCapacityAcquisitionsThenWaitsOneEmissionInterval: Con el bucket lleno se pueden consumir 5 fichas seguidas;
+ *  la sexta se rechaza con una espera de exactamente un segundo.
+ * (2) refillRestoresOneTokenPerEmissionInterval: Una ficha vuelve al pasar su intervalo, ni un nanosegundo antes,
+ *  y tras un periodo completo sin uso el bucket vuelve a admitir la ráfaga entera, pero no más.
+ * (3) keysInTheSameStripeShareTheBucket: Dos claves de la misma franja consumen el mismo bucket y las de franjas distintas no.
+ * (4) resetRefillsTheBucket: reset deja el bucket lleno de inmediato.
+ * (5) rejectsInvalidConfiguration: El número de franjas debe ser potencia de dos y la capacidad y el periodo positivos.
+ */
+class StripedTokenBucketTests {
+
+	private static final int CAPACITY = 5;
+
+	private static final Duration REFILL_PERIOD = Duration.ofSeconds(5);
+
+	private static final long EMISSION_INTERVAL = Duration.ofSeconds(1).toNanos();
+
+	private final AtomicLong clock = new AtomicLong(1_000_000L);
+
+	@Test
+	void burstAllowsCapacityAcquisitionsThenWaitsOneEmissionInterval() {
+		StripedTokenBucket bucket = this.bucket(1024);
+
+		for (int i = 0; i < CAPACITY; i++) {
+			assertEquals(0, bucket.tryAcquire("santiago"));
+		}
+		assertEquals(EMISSION_INTERVAL, bucket.tryAcquire("santiago"));
+		// Un intento rechazado no consume ficha, así que la espera no crece.
+		assertEquals(EMISSION_INTERVAL, bucket.tryAcquire("santiago"));
+	}
+
+	@Test
+	void refillRestoresOneTokenPerEmissionInterval() {
+		StripedTokenBucket bucket = this.bucket(1024);
+		this.drain(bucket, "santiago");
+
+		this.clock.addAndGet(EMISSION_INTERVAL - 1);
+		assertEquals(1, bucket.tryAcquire("santiago"));
+		this.clock.addAndGet(1);
+		assertEquals(0, bucket.tryAcquire("santiago"));
+		assertEquals(EMISSION_INTERVAL, bucket.tryAcquire("santiago"));
+
+		this.clock.addAndGet(REFILL_PERIOD.toNanos() * 10);
+		for (int i = 0; i < CAPACITY; i++) {
+			assertEquals(0, bucket.tryAcquire("santiago"));
+		}
+		assertTrue(bucket.tryAcquire("santiago") > 0);
+	}
+
+	@Test
+	void keysInTheSameStripeShareTheBucket() {
+		StripedTokenBucket bucket = this.bucket(2);
+		String key = "user-0";
+		String sameStripe = this.findKey(bucket, bucket.index(key), true);
+		String otherStripe = this.findKey(bucket, bucket.index(key), false);
+		assertNotEquals(bucket.index(key), bucket.index(otherStripe));
+
+		this.drain(bucket, key);
+
+		assertTrue(bucket.tryAcquire(sameStripe) > 0);
+		assertEquals(0, bucket.tryAcquire(otherStripe));
+	}
+
+	@Test
+	void resetRefillsTheBucket() {
+		StripedTokenBucket bucket = this.bucket(1024);
+		this.drain(bucket, "santiago");
+
+		bucket.reset("santiago");
+
+		for (int i = 0; i < CAPACITY; i++) {
+			assertEquals(0, bucket.tryAcquire("santiago"));
+		}
+	}
+
+	@Test
+	void rejectsInvalidConfiguration() {
+		assertThrows(IllegalArgumentException.class, () -> new StripedTokenBucket(3, CAPACITY, REFILL_PERIOD, this.clock::get));
+		assertThrows(IllegalArgumentException.class, () -> new StripedTokenBucket(4, 0, REFILL_PERIOD, this.clock::get));
+		assertThrows(IllegalArgumentException.class, () -> new StripedTokenBucket(4, CAPACITY, Duration.ZERO, this.clock::get));
+	}
+
+	private StripedTokenBucket bucket(int stripes) {
+		return new StripedTokenBucket(stripes, CAPACITY, REFILL_PERIOD, this.clock::get);
+	}
+
+	private void drain(StripedTokenBucket bucket, String key) {
+		while (bucket.tryAcquire(key) == 0) {
+			// Consume todas las fichas que queden.
+		}
+	}
+
+	/**
+	 * Busca una clave distinta de "user-0" que caiga (o no) en la franja indicada. Con 2 franjas la encuentra enseguida.
+	 */
+	private String findKey(StripedTokenBucket bucket, int stripe, boolean sameStripe) {
+		for (int i = 1; ; i++) {
+			String candidate = "user-" + i;
+			if ((bucket.index(candidate) == stripe) == sameStripe) {
+				return candidate;
+			}
+		}
+	}
+}